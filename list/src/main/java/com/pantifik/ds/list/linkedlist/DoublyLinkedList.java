@@ -201,7 +201,9 @@ public class DoublyLinkedList<E> extends AbstractList<E>
   @Override
   public void add(int index, E element) {
     ListUtils.checkIndexInclusiveLength(index, size);
-    if (index == 0) {
+    if (isEmpty()) {
+      addTheOnly(element);
+    } else if (index == 0) {
       addFirstElement(element);
     } else if (index == size) {
       addLastElement(element);
@@ -253,6 +255,63 @@ public class DoublyLinkedList<E> extends AbstractList<E>
     return !(e1.hasNext() || e2.hasNext());
   }
 
+  /**
+   * Appends the element, returning the node holding it. The node stays valid until its element
+   * is removed, so the element can be moved or removed later on in constant time.
+   *
+   * @param e
+   *     the element to append.
+   * @return the node holding the element.
+   */
+  public Node<E> addLastNode(E e) {
+    add(e);
+    return tail;
+  }
+
+  /**
+   * Moves the node of this list to the end of it in constant time.
+   *
+   * @param node
+   *     the node to move, which must belong to this list.
+   */
+  public void moveToLast(Node<E> node) {
+    if (node == tail) {
+      return;
+    }
+    if (node == head) {
+      head = node.next;
+      head.prev = null;
+    } else {
+      node.prev.next = node.next;
+      node.next.prev = node.prev;
+    }
+    node.prev = tail;
+    node.next = null;
+    tail.next = node;
+    tail = node;
+  }
+
+  /**
+   * Removes the node of this list in constant time.
+   *
+   * @param node
+   *     the node to remove, which must belong to this list.
+   * @return the element of the node.
+   */
+  public E unlink(Node<E> node) {
+    if (node == head) {
+      return removeFirstElement();
+    } else if (node == tail) {
+      return removeLastElement();
+    }
+    E data = node.data;
+    node.prev.next = node.next;
+    node.next.prev = node.prev;
+    clearNode(node);
+    size--;
+    return data;
+  }
+
   @Override
   public boolean offer(E e) {
     return add(e);
@@ -318,6 +377,11 @@ public class DoublyLinkedList<E> extends AbstractList<E>
     Node<E> node = head;
     E data = node.data;
     head = node.next;
+    if (head == null) {
+      tail = null;
+    } else {
+      head.prev = null;
+    }
     clearNode(node);
     size--;
     return data;
@@ -327,6 +391,11 @@ public class DoublyLinkedList<E> extends AbstractList<E>
     Node<E> node = tail;
     E data = node.data;
     tail = node.prev;
+    if (tail == null) {
+      head = null;
+    } else {
+      tail.next = null;
+    }
     clearNode(node);
     size--;
     return data;
@@ -351,31 +420,42 @@ public class DoublyLinkedList<E> extends AbstractList<E>
 
   private void addFirstElement(E e) {
     head = new Node<>(e, head);
+    head.next.prev = head;
     size++;
   }
 
-  private static class Node<E> {
+  /**
+   * A node of the list, handed out by {@link #addLastNode(Object)}.
+   *
+   * @param <E>
+   *     the type of the element.
+   */
+  public static final class Node<E> {
     private E data;
     private Node<E> prev;
     private Node<E> next;
 
-    public Node(E data) {
+    private Node(E data) {
       this(null, data, null);
     }
 
-    public Node(Node<E> prev, E data) {
+    private Node(Node<E> prev, E data) {
       this(prev, data, null);
     }
 
-    public Node(E data, Node<E> next) {
+    private Node(E data, Node<E> next) {
       this(null, data, next);
     }
 
-    public Node(Node<E> prev, E data, Node<E> next) {
+    private Node(Node<E> prev, E data, Node<E> next) {
       this.data = data;
       this.prev = prev;
       this.next = next;
     }
+
+    public E getData() {
+      return data;
+    }
   }
 
   private class LinkedIterator implements Iterator<E> {
@@ -417,7 +497,7 @@ public class DoublyLinkedList<E> extends AbstractList<E>
     public void remove() {
       checkForConcurrentModification();
       checkHasLast();
-      removeNode(last);
+      unlink(last);
       last = null;
       index--;
       expectedSize--;
@@ -434,19 +514,6 @@ public class DoublyLinkedList<E> extends AbstractList<E>
         throw new ConcurrentModificationException();
       }
     }
-
-    private void removeNode(Node<E> node) {
-      if (node == head) {
-        removeFirstElement();
-      } else if (node == tail) {
-        removeLastElement();
-      } else {
-        node.prev.next = node.next;
-        node.next.prev = node.prev;
-        clearNode(node);
-        size--;
-      }
-    }
   }
 
   private class LinkedListIterator extends LinkedIterator
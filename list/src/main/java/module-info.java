@@ -1,4 +1,5 @@
 module ds.list {
   exports com.pantifik.ds.list;
   exports com.pantifik.ds.list.arraylist;
+  exports com.pantifik.ds.list.linkedlist;
 }
\ No newline at end of file
@@ -21,6 +21,59 @@ class DoublyLinkedListTest extends AbstractListTest {
     assertThrows(UnsupportedOperationException.class, () -> list.subList(1, 4));
   }
 
+  @Test
+  void addAtIndex_whenEmptyAndIndexZero_shouldAddTheOnlyElement() {
+    var linkedList = new DoublyLinkedList<Integer>();
+    linkedList.add(0, 1);
+    linkedList.add(0, 0);
+    linkedList.add(2, 2);
+    assertEquals(List.of(0, 1, 2), List.copyOf(linkedList));
+    assertEquals(2, linkedList.getLast());
+  }
+
+  @Test
+  void moveToLast_whenNodesMoved_shouldReorderElements() {
+    var linkedList = new DoublyLinkedList<Integer>();
+    var first = linkedList.addLastNode(1);
+    var second = linkedList.addLastNode(2);
+    var third = linkedList.addLastNode(3);
+    linkedList.moveToLast(first);
+    linkedList.moveToLast(third);
+    linkedList.moveToLast(third);
+    assertEquals(List.of(2, 1, 3), List.copyOf(linkedList));
+    linkedList.moveToLast(second);
+    assertEquals(List.of(1, 3, 2), List.copyOf(linkedList));
+    assertEquals(2, second.getData());
+  }
+
+  @Test
+  void unlink_whenNodesUnlinked_shouldRemoveElements() {
+    var linkedList = new DoublyLinkedList<Integer>();
+    var first = linkedList.addLastNode(1);
+    var second = linkedList.addLastNode(2);
+    var third = linkedList.addLastNode(3);
+    assertEquals(2, linkedList.unlink(second));
+    assertEquals(List.of(1, 3), List.copyOf(linkedList));
+    assertEquals(3, linkedList.unlink(third));
+    assertEquals(1, linkedList.unlink(first));
+    assertEquals(0, linkedList.size());
+    linkedList.addLastNode(4);
+    assertEquals(List.of(4), List.copyOf(linkedList));
+  }
+
+  @Test
+  void removeLast_whenMoreElementsLeft_shouldNotIterateRemovedElement() {
+    var linkedList = new DoublyLinkedList<Integer>(List.of(1, 2, 3));
+    linkedList.removeLast();
+    linkedList.removeFirst();
+    assertEquals(List.of(2), List.copyOf(linkedList));
+    linkedList.addFirst(1);
+    var descending = linkedList.descendingIterator();
+    assertEquals(2, descending.next());
+    assertEquals(1, descending.next());
+    assertFalse(descending.hasNext());
+  }
+
   @Test
   void constructorWithIterable_whenNull_shouldThrowException() {
     assertThrows(NullPointerException.class,
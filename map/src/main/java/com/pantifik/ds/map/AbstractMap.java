@@ -1,42 +1,67 @@
 package com.pantifik.ds.map;
 
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class AbstractMap<K, V> implements Map<K, V> {
 
   private static final String NULL_STR = "null";
   private static final String KEY_VALUE_DELIMITER = ":";
+  private Set<K> keySet;
+  private Collection<V> values;
+  private Set<Entry<K, V>> entrySet;
 
   /**
-   * Unmodifiable set.
+   * Live view of the keys, backed by the map.
    */
   @Override
   public Set<K> keySet() {
-    return getEntryStream().map(Entry::getKey)
-        .collect(Collectors.toUnmodifiableSet());
+    var view = keySet;
+    if (view == null) {
+      view = new KeySet();
+      keySet = view;
+    }
+    return view;
   }
 
   /**
-   * Unmodifiable list.
+   * Live view of the values, backed by the map.
    */
   @Override
   public Collection<V> values() {
-    return getEntryStream().map(Entry::getValue)
-        .toList();
+    var view = values;
+    if (view == null) {
+      view = new Values();
+      values = view;
+    }
+    return view;
   }
 
   /**
-   * Unmodifiable set.
+   * Live view of the entries, backed by the map.
    */
   @Override
   public Set<Entry<K, V>> entrySet() {
-    return getEntryStream().collect(Collectors.toUnmodifiableSet());
+    var view = entrySet;
+    if (view == null) {
+      view = new EntrySet();
+      entrySet = view;
+    }
+    return view;
   }
 
   @Override
@@ -45,11 +70,76 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
     m.forEach(this::put);
   }
 
+  /**
+   * Performs the action for every entry, in parallel if the map has at least the threshold
+   * number of entries. The map must not be modified while the action runs.
+   *
+   * @param parallelismThreshold
+   *     the size from which the entries are processed in parallel, so {@code Long.MAX_VALUE}
+   *     keeps the processing sequential.
+   * @param action
+   *     the action, which must be safe to run concurrently.
+   */
+  public void forEach(long parallelismThreshold, BiConsumer<? super K, ? super V> action) {
+    Objects.requireNonNull(action);
+    entryStream(parallelismThreshold).forEach(entry -> action.accept(entry.getKey(),
+        entry.getValue()));
+  }
+
+  /**
+   * Transforms every entry and reduces the non null results, in parallel if the map has at least
+   * the threshold number of entries. The map must not be modified while the functions run.
+   *
+   * @param parallelismThreshold
+   *     the size from which the entries are processed in parallel.
+   * @param transformer
+   *     the function transforming an entry, or returning null to skip it.
+   * @param reducer
+   *     the associative function combining two results.
+   * @param <U>
+   *     the type of the result.
+   * @return the reduced result, or null if every entry was skipped.
+   */
+  public <U> U reduce(long parallelismThreshold,
+      BiFunction<? super K, ? super V, ? extends U> transformer,
+      BiFunction<? super U, ? super U, ? extends U> reducer) {
+    Objects.requireNonNull(transformer);
+    Objects.requireNonNull(reducer);
+    return entryStream(parallelismThreshold)
+        .<U>map(entry -> transformer.apply(entry.getKey(), entry.getValue()))
+        .filter(Objects::nonNull)
+        .reduce(reducer::apply)
+        .orElse(null);
+  }
+
+  /**
+   * Returns a non null result of the function applied to the entries, in parallel if the map has
+   * at least the threshold number of entries. The map must not be modified while the function
+   * runs.
+   *
+   * @param parallelismThreshold
+   *     the size from which the entries are searched in parallel.
+   * @param searchFunction
+   *     the function returning the result for a matching entry, otherwise null.
+   * @param <U>
+   *     the type of the result.
+   * @return the result for any of the matching entries, or null if none matches.
+   */
+  public <U> U search(long parallelismThreshold,
+      BiFunction<? super K, ? super V, ? extends U> searchFunction) {
+    Objects.requireNonNull(searchFunction);
+    return entryStream(parallelismThreshold)
+        .<U>map(entry -> searchFunction.apply(entry.getKey(), entry.getValue()))
+        .filter(Objects::nonNull)
+        .findAny()
+        .orElse(null);
+  }
+
   @Override
   public int hashCode() {
     int result = 0;
     for (var entry : entrySet()) {
-      result = 31 * result + Objects.hashCode(entry);
+      result += Objects.hashCode(entry);
     }
     return result;
   }
@@ -83,7 +173,217 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
     return sj.toString();
   }
 
-  protected abstract Stream<Entry<K, V>> getEntryStream();
+  /**
+   * Creates an iterator walking the table of the map, which supports the removal of the last
+   * returned entry and does not copy the entries.
+   *
+   * @return the iterator over the entries.
+   */
+  protected abstract Iterator<Entry<K, V>> entryIterator();
+
+  /**
+   * Creates a spliterator over the entries, which the views of the map and the bulk operations
+   * traverse. It wraps the entry iterator by default, which splits by copying batches of the
+   * entries, so the hash tables override it to split their table by index ranges instead.
+   *
+   * @return the spliterator over the entries.
+   */
+  protected Spliterator<Entry<K, V>> entrySpliterator() {
+    return Spliterators.spliterator(entryIterator(), size(),
+        Spliterator.DISTINCT | Spliterator.NONNULL);
+  }
+
+  private Stream<Entry<K, V>> entryStream(long parallelismThreshold) {
+    return StreamSupport.stream(entrySpliterator(), size() >= parallelismThreshold);
+  }
+
+  private class KeySet extends AbstractSet<K> {
+
+    @Override
+    public int size() {
+      return AbstractMap.this.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (containsKey(o)) {
+        AbstractMap.this.remove(o);
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void clear() {
+      AbstractMap.this.clear();
+    }
+
+    @Override
+    public Spliterator<K> spliterator() {
+      return new MappedSpliterator<>(entrySpliterator(), Entry::getKey, 0);
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+      var entries = entryIterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entries.hasNext();
+        }
+
+        @Override
+        public K next() {
+          return entries.next()
+              .getKey();
+        }
+
+        @Override
+        public void remove() {
+          entries.remove();
+        }
+      };
+    }
+  }
+
+  private class Values extends AbstractCollection<V> {
+
+    @Override
+    public int size() {
+      return AbstractMap.this.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return containsValue(o);
+    }
+
+    @Override
+    public void clear() {
+      AbstractMap.this.clear();
+    }
+
+    @Override
+    public Spliterator<V> spliterator() {
+      return new MappedSpliterator<>(entrySpliterator(), Entry::getValue,
+          Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+      var entries = entryIterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entries.hasNext();
+        }
+
+        @Override
+        public V next() {
+          return entries.next()
+              .getValue();
+        }
+
+        @Override
+        public void remove() {
+          entries.remove();
+        }
+      };
+    }
+  }
+
+  private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+    @Override
+    public int size() {
+      return AbstractMap.this.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (o instanceof Entry<?, ?> entry && entry.getKey() != null) {
+        var value = get(entry.getKey());
+        return Objects.equals(value, entry.getValue()) && (value != null || containsKey(
+            entry.getKey()));
+      }
+      return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (contains(o)) {
+        AbstractMap.this.remove(((Entry<?, ?>) o).getKey());
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void clear() {
+      AbstractMap.this.clear();
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return entryIterator();
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+      return entrySpliterator();
+    }
+  }
+
+  /**
+   * Maps the entries of the source spliterator to their keys or values, splitting along with it.
+   */
+  private static class MappedSpliterator<T, R> implements Spliterator<R> {
+
+    private final Spliterator<T> source;
+    private final Function<? super T, ? extends R> mapper;
+    private final int clearedCharacteristics;
+
+    MappedSpliterator(Spliterator<T> source, Function<? super T, ? extends R> mapper,
+        int clearedCharacteristics) {
+      this.source = source;
+      this.mapper = mapper;
+      this.clearedCharacteristics = clearedCharacteristics;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+      Objects.requireNonNull(action);
+      return source.tryAdvance(element -> action.accept(mapper.apply(element)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+      Objects.requireNonNull(action);
+      source.forEachRemaining(element -> action.accept(mapper.apply(element)));
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+      var prefix = source.trySplit();
+      return prefix == null ? null
+          : new MappedSpliterator<>(prefix, mapper, clearedCharacteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+      return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return source.characteristics() & ~clearedCharacteristics;
+    }
+  }
 
   public static class SimpleEntry<K, V> implements Map.Entry<K, V> {
 
@@ -113,15 +413,19 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
       return oldValue;
     }
 
+    /**
+     * Returns the hash code required by {@link Map.Entry#hashCode()}, so the entries and the maps
+     * hash the same as those of the other map implementations.
+     */
     @Override
     public int hashCode() {
-      return Objects.hash(key, value);
+      return Objects.hashCode(key) ^ Objects.hashCode(value);
     }
 
     @Override
     public boolean equals(Object o) {
       if (this == o) {return true;}
-      if (o instanceof SimpleEntry<?, ?> entry) {
+      if (o instanceof Map.Entry<?, ?> entry) {
         return Objects.equals(key, entry.getKey()) && Objects.equals(value,
             entry.getValue());
       } else {
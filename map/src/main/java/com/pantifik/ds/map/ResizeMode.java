@@ -0,0 +1,16 @@
+package com.pantifik.ds.map;
+
+/**
+ * Defines how a hash map moves its entries into a bigger table.
+ */
+public enum ResizeMode {
+  /**
+   * Rehashes the whole table inside the operation which crossed the threshold.
+   */
+  BLOCKING,
+  /**
+   * Keeps the old table next to the new one and migrates a bounded number of its slots on every
+   * write, so no single operation pays for the whole rehash.
+   */
+  INCREMENTAL
+}
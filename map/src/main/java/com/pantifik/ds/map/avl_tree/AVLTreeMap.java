@@ -0,0 +1,838 @@
+package com.pantifik.ds.map.avl_tree;
+
+import com.pantifik.ds.map.AbstractMap;
+import com.pantifik.ds.tree.binary_search.BinaryNode;
+import com.pantifik.ds.tree.binary_search.avl.AVLTree;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SortedMap;
+
+/**
+ * A sorted map keeping its entries in an {@link AVLTree}, ordered by the natural order of the
+ * keys or by a comparator.
+ * <p>
+ * The lookups and the navigation methods go down a single path of the tree, so they take
+ * logarithmic time. The tree has no parent links, so the iterators keep the path to the next
+ * entry on a stack and walk a range of n entries in O(log size + n) time.
+ * <p>
+ * The range views and the descending view are backed by the map. The entries returned by the
+ * navigation methods are snapshots, while the entries returned by the iterators write their value
+ * through to the map.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class AVLTreeMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+  /**
+   * The height an AVL tree of {@code Integer.MAX_VALUE} entries stays below.
+   */
+  static final int MAX_HEIGHT = 48;
+  private final AVLTree<TreeEntry<K, V>> tree = new AVLTree<>();
+  private final Comparator<? super K> comparator;
+  private final Comparator<? super K> order;
+  private NavigableMap<K, V> descendingMap;
+  private NavigableSet<K> navigableKeySet;
+
+  /**
+   * Creates a map ordered by the natural order of the keys.
+   */
+  public AVLTreeMap() {
+    this(null);
+  }
+
+  /**
+   * Creates a map ordered by the comparator.
+   *
+   * @param comparator
+   *     the comparator of the keys, or null for their natural order.
+   */
+  public AVLTreeMap(Comparator<? super K> comparator) {
+    this.comparator = comparator;
+    this.order = comparator != null ? comparator
+        : (Comparator<? super K>) Comparator.naturalOrder();
+  }
+
+  @Override
+  public int size() {
+    return tree.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return tree.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return getEntry(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (var entry : entrySet()) {
+      if (Objects.equals(entry.getValue(), value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    var entry = getEntry(key);
+    return entry == null ? null : entry.getValue();
+  }
+
+  @Override
+  public V put(K key, V value) {
+    var entry = getEntry(key);
+    if (entry != null) {
+      return entry.setValue(value);
+    }
+    tree.add(new TreeEntry<>(key, value, order));
+    return null;
+  }
+
+  @Override
+  public V remove(Object key) {
+    var entry = getEntry(key);
+    if (entry == null) {
+      return null;
+    }
+    tree.remove(entry);
+    return entry.getValue();
+  }
+
+  @Override
+  public void clear() {
+    tree.clear();
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  @Override
+  public Comparator<? super K> comparator() {
+    return comparator;
+  }
+
+  @Override
+  public Entry<K, V> lowerEntry(K key) {
+    return snapshot(floor(key, false));
+  }
+
+  @Override
+  public K lowerKey(K key) {
+    return keyOrNull(floor(key, false));
+  }
+
+  @Override
+  public Entry<K, V> floorEntry(K key) {
+    return snapshot(floor(key, true));
+  }
+
+  @Override
+  public K floorKey(K key) {
+    return keyOrNull(floor(key, true));
+  }
+
+  @Override
+  public Entry<K, V> ceilingEntry(K key) {
+    return snapshot(ceiling(key, true));
+  }
+
+  @Override
+  public K ceilingKey(K key) {
+    return keyOrNull(ceiling(key, true));
+  }
+
+  @Override
+  public Entry<K, V> higherEntry(K key) {
+    return snapshot(ceiling(key, false));
+  }
+
+  @Override
+  public K higherKey(K key) {
+    return keyOrNull(ceiling(key, false));
+  }
+
+  @Override
+  public Entry<K, V> firstEntry() {
+    return snapshot(lowest());
+  }
+
+  @Override
+  public Entry<K, V> lastEntry() {
+    return snapshot(highest());
+  }
+
+  @Override
+  public Entry<K, V> pollFirstEntry() {
+    return poll(lowest());
+  }
+
+  @Override
+  public Entry<K, V> pollLastEntry() {
+    return poll(highest());
+  }
+
+  @Override
+  public K firstKey() {
+    return key(lowest());
+  }
+
+  @Override
+  public K lastKey() {
+    return key(highest());
+  }
+
+  @Override
+  public NavigableMap<K, V> descendingMap() {
+    var view = descendingMap;
+    if (view == null) {
+      view = new SubMap(true, null, false, true, null, false, true);
+      descendingMap = view;
+    }
+    return view;
+  }
+
+  @Override
+  public NavigableSet<K> navigableKeySet() {
+    var view = navigableKeySet;
+    if (view == null) {
+      view = new KeySet<>(this);
+      navigableKeySet = view;
+    }
+    return view;
+  }
+
+  @Override
+  public NavigableSet<K> descendingKeySet() {
+    return descendingMap().navigableKeySet();
+  }
+
+  @Override
+  public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey,
+      boolean toInclusive) {
+    return new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+  }
+
+  @Override
+  public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+    return new SubMap(true, null, false, false, toKey, inclusive, false);
+  }
+
+  @Override
+  public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+    return new SubMap(false, fromKey, inclusive, true, null, false, false);
+  }
+
+  @Override
+  public SortedMap<K, V> subMap(K fromKey, K toKey) {
+    return subMap(fromKey, true, toKey, false);
+  }
+
+  @Override
+  public SortedMap<K, V> headMap(K toKey) {
+    return headMap(toKey, false);
+  }
+
+  @Override
+  public SortedMap<K, V> tailMap(K fromKey) {
+    return tailMap(fromKey, true);
+  }
+
+  /**
+   * Walks the entries in the ascending order of the keys.
+   */
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator(lowest(), null, false);
+  }
+
+  int getHeight() {
+    var root = tree.getRoot();
+    return root == null ? 0 : root.getHeight();
+  }
+
+  private int compare(Object key1, K key2) {
+    return order.compare((K) key1, key2);
+  }
+
+  private TreeEntry<K, V> getEntry(Object key) {
+    Objects.requireNonNull(key);
+    BinaryNode<TreeEntry<K, V>> current = tree.getRoot();
+    while (current != null) {
+      var entry = current.getData();
+      var compared = compare(key, entry.getKey());
+      if (compared < 0) {
+        current = current.getLeft();
+      } else if (compared > 0) {
+        current = current.getRight();
+      } else {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  private TreeEntry<K, V> lowest() {
+    BinaryNode<TreeEntry<K, V>> current = tree.getRoot();
+    if (current == null) {
+      return null;
+    }
+    while (current.getLeft() != null) {
+      current = current.getLeft();
+    }
+    return current.getData();
+  }
+
+  private TreeEntry<K, V> highest() {
+    BinaryNode<TreeEntry<K, V>> current = tree.getRoot();
+    if (current == null) {
+      return null;
+    }
+    while (current.getRight() != null) {
+      current = current.getRight();
+    }
+    return current.getData();
+  }
+
+  /**
+   * Finds the entry with the least key greater than the key, or equal to it if inclusive.
+   */
+  private TreeEntry<K, V> ceiling(K key, boolean inclusive) {
+    Objects.requireNonNull(key);
+    TreeEntry<K, V> found = null;
+    BinaryNode<TreeEntry<K, V>> current = tree.getRoot();
+    while (current != null) {
+      var compared = compare(key, current.getData()
+          .getKey());
+      if (compared < 0 || compared == 0 && inclusive) {
+        found = current.getData();
+        if (compared == 0) {
+          break;
+        }
+        current = current.getLeft();
+      } else {
+        current = current.getRight();
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Finds the entry with the greatest key less than the key, or equal to it if inclusive.
+   */
+  private TreeEntry<K, V> floor(K key, boolean inclusive) {
+    Objects.requireNonNull(key);
+    TreeEntry<K, V> found = null;
+    BinaryNode<TreeEntry<K, V>> current = tree.getRoot();
+    while (current != null) {
+      var compared = compare(key, current.getData()
+          .getKey());
+      if (compared > 0 || compared == 0 && inclusive) {
+        found = current.getData();
+        if (compared == 0) {
+          break;
+        }
+        current = current.getRight();
+      } else {
+        current = current.getLeft();
+      }
+    }
+    return found;
+  }
+
+  private Entry<K, V> poll(TreeEntry<K, V> entry) {
+    if (entry == null) {
+      return null;
+    }
+    tree.remove(entry);
+    return snapshot(entry);
+  }
+
+  private static <K, V> Entry<K, V> snapshot(Entry<K, V> entry) {
+    return entry == null ? null : new SnapshotEntry<>(entry.getKey(), entry.getValue());
+  }
+
+  private static <K> K keyOrNull(Entry<K, ?> entry) {
+    return entry == null ? null : entry.getKey();
+  }
+
+  private static <K> K key(Entry<K, ?> entry) {
+    if (entry == null) {
+      throw new NoSuchElementException();
+    }
+    return entry.getKey();
+  }
+
+  /**
+   * Holds an entry in the tree, ordered by its key.
+   */
+  static final class TreeEntry<K, V> extends SimpleEntry<K, V>
+      implements Comparable<TreeEntry<K, V>> {
+
+    private final Comparator<? super K> order;
+
+    TreeEntry(K key, V value, Comparator<? super K> order) {
+      super(key, value);
+      this.order = order;
+    }
+
+    @Override
+    public int compareTo(TreeEntry<K, V> other) {
+      return order.compare(getKey(), other.getKey());
+    }
+  }
+
+  private static final class SnapshotEntry<K, V> extends SimpleEntry<K, V> {
+
+    SnapshotEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Walks the entries from the first one, either ascending or descending, until the end of the
+   * range view if there is one. The stack holds the nodes on the path to the next entry whose
+   * entries are still to be returned.
+   */
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private final BinaryNode<TreeEntry<K, V>>[] stack = new BinaryNode[MAX_HEIGHT];
+    private final SubMap range;
+    private final boolean descending;
+    private int depth;
+    private TreeEntry<K, V> next;
+    private TreeEntry<K, V> lastReturned;
+    private int expectedSize;
+
+    EntryIterator(TreeEntry<K, V> first, SubMap range, boolean descending) {
+      this.range = range;
+      this.descending = descending;
+      this.expectedSize = size();
+      this.next = first;
+      if (first != null) {
+        seek(first.getKey());
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (expectedSize != size()) {
+        throw new ConcurrentModificationException();
+      }
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      lastReturned = next;
+      next = pop();
+      if (next != null && range != null && (descending ? range.tooLow(next.getKey())
+          : range.tooHigh(next.getKey()))) {
+        next = null;
+      }
+      return lastReturned;
+    }
+
+    @Override
+    public void remove() {
+      if (lastReturned == null) {
+        throw new IllegalStateException();
+      }
+      if (expectedSize != size()) {
+        throw new ConcurrentModificationException();
+      }
+      AVLTreeMap.this.remove(lastReturned.getKey());
+      lastReturned = null;
+      expectedSize = size();
+      if (next != null) {
+        seek(next.getKey());
+      }
+    }
+
+    /**
+     * Fills the stack with the path to the entry of the key, leaving its node on the top.
+     */
+    private void seek(K key) {
+      depth = 0;
+      BinaryNode<TreeEntry<K, V>> current = tree.getRoot();
+      while (current != null) {
+        var compared = compare(key, current.getData()
+            .getKey());
+        if (compared == 0) {
+          stack[depth++] = current;
+          break;
+        }
+        if (compared < 0 != descending) {
+          stack[depth++] = current;
+        }
+        current = compared < 0 ? current.getLeft() : current.getRight();
+      }
+    }
+
+    /**
+     * Pops the node of the current entry and pushes the path to the entry following it.
+     *
+     * @return the entry following the current one, or null if there is none.
+     */
+    private TreeEntry<K, V> pop() {
+      if (depth == 0) {
+        return null;
+      }
+      var node = stack[--depth];
+      var current = descending ? node.getLeft() : node.getRight();
+      while (current != null) {
+        stack[depth++] = current;
+        current = descending ? current.getRight() : current.getLeft();
+      }
+      return depth == 0 ? null : stack[depth - 1].getData();
+    }
+  }
+
+  /**
+   * A range of the map, either ascending or descending, whose bounds are always given in the
+   * ascending order.
+   */
+  private class SubMap extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+    private final boolean fromStart;
+    private final K low;
+    private final boolean lowInclusive;
+    private final boolean toEnd;
+    private final K high;
+    private final boolean highInclusive;
+    private final boolean descending;
+
+    SubMap(boolean fromStart, K low, boolean lowInclusive, boolean toEnd, K high,
+        boolean highInclusive, boolean descending) {
+      if (!fromStart && !toEnd) {
+        if (compare(low, high) > 0) {
+          throw new IllegalArgumentException("fromKey > toKey");
+        }
+      } else {
+        if (!fromStart) {
+          Objects.requireNonNull(low);
+        }
+        if (!toEnd) {
+          Objects.requireNonNull(high);
+        }
+      }
+      this.fromStart = fromStart;
+      this.low = low;
+      this.lowInclusive = lowInclusive;
+      this.toEnd = toEnd;
+      this.high = high;
+      this.highInclusive = highInclusive;
+      this.descending = descending;
+    }
+
+    @Override
+    public int size() {
+      var size = 0;
+      for (var iterator = entryIterator(); iterator.hasNext(); iterator.next()) {
+        size++;
+      }
+      return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return absLowest() == null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return inRange(key) && AVLTreeMap.this.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+      for (var entry : entrySet()) {
+        if (Objects.equals(entry.getValue(), value)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public V get(Object key) {
+      return inRange(key) ? AVLTreeMap.this.get(key) : null;
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *     if the key is out of the range.
+     */
+    @Override
+    public V put(K key, V value) {
+      if (!inRange(key)) {
+        throw new IllegalArgumentException("key out of range");
+      }
+      return AVLTreeMap.this.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+      return inRange(key) ? AVLTreeMap.this.remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+      for (var iterator = entryIterator(); iterator.hasNext(); ) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return super.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return super.equals(o);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+      return descending ? Collections.reverseOrder(comparator) : comparator;
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+      return snapshot(descending ? absCeiling(key, false) : absFloor(key, false));
+    }
+
+    @Override
+    public K lowerKey(K key) {
+      return keyOrNull(descending ? absCeiling(key, false) : absFloor(key, false));
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+      return snapshot(descending ? absCeiling(key, true) : absFloor(key, true));
+    }
+
+    @Override
+    public K floorKey(K key) {
+      return keyOrNull(descending ? absCeiling(key, true) : absFloor(key, true));
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+      return snapshot(descending ? absFloor(key, true) : absCeiling(key, true));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+      return keyOrNull(descending ? absFloor(key, true) : absCeiling(key, true));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+      return snapshot(descending ? absFloor(key, false) : absCeiling(key, false));
+    }
+
+    @Override
+    public K higherKey(K key) {
+      return keyOrNull(descending ? absFloor(key, false) : absCeiling(key, false));
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+      return snapshot(first());
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+      return snapshot(last());
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+      return poll(first());
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+      return poll(last());
+    }
+
+    @Override
+    public K firstKey() {
+      return key(first());
+    }
+
+    @Override
+    public K lastKey() {
+      return key(last());
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+      return new SubMap(fromStart, low, lowInclusive, toEnd, high, highInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+      return new KeySet<>(this);
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+      return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey,
+        boolean toInclusive) {
+      return descending ? range(toKey, toInclusive, fromKey, fromInclusive)
+          : range(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+      return descending ? tail(toKey, inclusive) : head(toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+      return descending ? head(fromKey, inclusive) : tail(fromKey, inclusive);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+      return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+      return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+      return tailMap(fromKey, true);
+    }
+
+    /**
+     * Walks the entries of the range in the order of the view.
+     */
+    @Override
+    protected Iterator<Entry<K, V>> entryIterator() {
+      return new EntryIterator(first(), this, descending);
+    }
+
+    boolean tooLow(Object key) {
+      if (fromStart) {
+        return false;
+      }
+      var compared = compare(key, low);
+      return compared < 0 || compared == 0 && !lowInclusive;
+    }
+
+    boolean tooHigh(Object key) {
+      if (toEnd) {
+        return false;
+      }
+      var compared = compare(key, high);
+      return compared > 0 || compared == 0 && !highInclusive;
+    }
+
+    private boolean inRange(Object key) {
+      Objects.requireNonNull(key);
+      return !tooLow(key) && !tooHigh(key);
+    }
+
+    /**
+     * Checks that the bound of a narrower range lies within this range, where an exclusive bound
+     * may also be equal to the exclusive bound of this range.
+     */
+    private void checkBound(K key, boolean inclusive) {
+      var inClosedRange = (fromStart || compare(key, low) >= 0) && (toEnd
+          || compare(key, high) <= 0);
+      if (!(inclusive ? inRange(key) : inClosedRange)) {
+        throw new IllegalArgumentException("key out of range");
+      }
+    }
+
+    private SubMap range(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+      checkBound(fromKey, fromInclusive);
+      checkBound(toKey, toInclusive);
+      return new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, descending);
+    }
+
+    private SubMap head(K toKey, boolean inclusive) {
+      checkBound(toKey, inclusive);
+      return new SubMap(fromStart, low, lowInclusive, false, toKey, inclusive, descending);
+    }
+
+    private SubMap tail(K fromKey, boolean inclusive) {
+      checkBound(fromKey, inclusive);
+      return new SubMap(false, fromKey, inclusive, toEnd, high, highInclusive, descending);
+    }
+
+    private TreeEntry<K, V> first() {
+      return descending ? absHighest() : absLowest();
+    }
+
+    private TreeEntry<K, V> last() {
+      return descending ? absLowest() : absHighest();
+    }
+
+    private TreeEntry<K, V> absLowest() {
+      var entry = fromStart ? lowest() : ceiling(low, lowInclusive);
+      return entry == null || tooHigh(entry.getKey()) ? null : entry;
+    }
+
+    private TreeEntry<K, V> absHighest() {
+      var entry = toEnd ? highest() : floor(high, highInclusive);
+      return entry == null || tooLow(entry.getKey()) ? null : entry;
+    }
+
+    private TreeEntry<K, V> absCeiling(K key, boolean inclusive) {
+      if (tooLow(key)) {
+        return absLowest();
+      }
+      var entry = ceiling(key, inclusive);
+      return entry == null || tooHigh(entry.getKey()) ? null : entry;
+    }
+
+    private TreeEntry<K, V> absFloor(K key, boolean inclusive) {
+      if (tooHigh(key)) {
+        return absHighest();
+      }
+      var entry = floor(key, inclusive);
+      return entry == null || tooLow(entry.getKey()) ? null : entry;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.pantifik.ds.map.avl_tree;
+
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+
+/**
+ * A navigable view of the keys of a navigable map, backed by the map.
+ *
+ * @param <K>
+ *     the type of the keys.
+ */
+class KeySet<K> extends AbstractSet<K> implements NavigableSet<K> {
+
+  private final NavigableMap<K, ?> map;
+
+  KeySet(NavigableMap<K, ?> map) {
+    this.map = map;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return map.containsKey(o);
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (map.containsKey(o)) {
+      map.remove(o);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void clear() {
+    map.clear();
+  }
+
+  @Override
+  public Iterator<K> iterator() {
+    return map.keySet()
+        .iterator();
+  }
+
+  @Override
+  public Iterator<K> descendingIterator() {
+    return descendingSet().iterator();
+  }
+
+  @Override
+  public Comparator<? super K> comparator() {
+    return map.comparator();
+  }
+
+  @Override
+  public K lower(K key) {
+    return map.lowerKey(key);
+  }
+
+  @Override
+  public K floor(K key) {
+    return map.floorKey(key);
+  }
+
+  @Override
+  public K ceiling(K key) {
+    return map.ceilingKey(key);
+  }
+
+  @Override
+  public K higher(K key) {
+    return map.higherKey(key);
+  }
+
+  @Override
+  public K first() {
+    return map.firstKey();
+  }
+
+  @Override
+  public K last() {
+    return map.lastKey();
+  }
+
+  @Override
+  public K pollFirst() {
+    return keyOrNull(map.pollFirstEntry());
+  }
+
+  @Override
+  public K pollLast() {
+    return keyOrNull(map.pollLastEntry());
+  }
+
+  @Override
+  public NavigableSet<K> descendingSet() {
+    return new KeySet<>(map.descendingMap());
+  }
+
+  @Override
+  public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement,
+      boolean toInclusive) {
+    return new KeySet<>(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+  }
+
+  @Override
+  public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+    return new KeySet<>(map.headMap(toElement, inclusive));
+  }
+
+  @Override
+  public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+    return new KeySet<>(map.tailMap(fromElement, inclusive));
+  }
+
+  @Override
+  public SortedSet<K> subSet(K fromElement, K toElement) {
+    return subSet(fromElement, true, toElement, false);
+  }
+
+  @Override
+  public SortedSet<K> headSet(K toElement) {
+    return headSet(toElement, false);
+  }
+
+  @Override
+  public SortedSet<K> tailSet(K fromElement) {
+    return tailSet(fromElement, true);
+  }
+
+  private static <K> K keyOrNull(Entry<K, ?> entry) {
+    return entry == null ? null : entry.getKey();
+  }
+}
@@ -0,0 +1,89 @@
+package com.pantifik.ds.map.bloom;
+
+/**
+ * Guards the lookups of a hash table with a {@link BlockedBloomFilter} of the hashes of its keys,
+ * rejecting most of the misses before any bucket is read.
+ * <p>
+ * The table adds the hash of every inserted key and reports every removal. A Bloom filter cannot
+ * forget a hash, so the removed keys stay in the filter as stale hashes, which only raise the
+ * false positive rate. Once they make up over a quarter of the hashes, or the hashes outgrow the
+ * size the filter was built for, the guard asks to be rebuilt: the table resets it and adds the
+ * hashes of its keys again, lazily on its next lookup.
+ */
+public final class BloomFilterGuard {
+
+  static final int BITS_PER_HASH = 10;
+  private static final int STALE_DIVISOR = 4;
+  private BlockedBloomFilter filter;
+  private int expectedSize;
+  private int staleCount;
+  private long lookupCount;
+  private long rejectedCount;
+  private long falsePositiveCount;
+
+  /**
+   * Creates the guard with an empty filter.
+   *
+   * @param expectedSize
+   *     the expected number of keys.
+   */
+  public BloomFilterGuard(int expectedSize) {
+    reset(expectedSize);
+  }
+
+  public void add(int hash) {
+    filter.add(hash);
+  }
+
+  public void recordRemoval() {
+    staleCount++;
+  }
+
+  /**
+   * Tests the hash of a looked up key against the filter, counting the lookup.
+   *
+   * @return false if the key is surely absent, so the lookup can be skipped.
+   */
+  public boolean mightContain(int hash) {
+    lookupCount++;
+    if (filter.mightContain(hash)) {
+      return true;
+    }
+    rejectedCount++;
+    return false;
+  }
+
+  /**
+   * Counts a lookup which passed the filter but did not find the key.
+   */
+  public void recordFalsePositive() {
+    falsePositiveCount++;
+  }
+
+  public boolean needsRebuild() {
+    var hashCount = filter.getCount();
+    return staleCount * STALE_DIVISOR > hashCount || hashCount > expectedSize;
+  }
+
+  /**
+   * Replaces the filter by an empty one sized for given number of keys, keeping the lookup
+   * counters.
+   *
+   * @param expectedSize
+   *     the expected number of keys.
+   */
+  public void reset(int expectedSize) {
+    if (filter != null && expectedSize == this.expectedSize) {
+      filter.clear();
+    } else {
+      filter = new BlockedBloomFilter(expectedSize, BITS_PER_HASH);
+    }
+    this.expectedSize = expectedSize;
+    staleCount = 0;
+  }
+
+  public BloomFilterStats getStats() {
+    return new BloomFilterStats(filter.getBitCount(), filter.getCount(), staleCount,
+        lookupCount, rejectedCount, falsePositiveCount, filter.expectedFalsePositiveRate());
+  }
+}
@@ -0,0 +1,36 @@
+package com.pantifik.ds.map.bloom;
+
+/**
+ * A snapshot of the statistics of the Bloom filter of a {@link BloomFiltered} hash table.
+ * <p>
+ * The lookups of the removed keys pass the filter until it is rebuilt, so they count as false
+ * positives.
+ *
+ * @param bitCount
+ *     the number of bits of the filter.
+ * @param hashCount
+ *     the number of hashes added since the filter was rebuilt, stale ones included.
+ * @param staleCount
+ *     the number of keys removed since the filter was rebuilt.
+ * @param lookupCount
+ *     the number of lookups tested against the filter.
+ * @param rejectedCount
+ *     the number of lookups rejected by the filter.
+ * @param falsePositiveCount
+ *     the number of lookups which passed the filter but did not find the key.
+ * @param expectedFalsePositiveRate
+ *     the false positive rate estimated from the number of hashes.
+ */
+public record BloomFilterStats(long bitCount, int hashCount, int staleCount, long lookupCount,
+                               long rejectedCount, long falsePositiveCount,
+                               double expectedFalsePositiveRate) {
+
+  /**
+   * Returns the ratio of the lookups of absent keys which passed the filter to all the lookups
+   * of absent keys.
+   */
+  public double falsePositiveRate() {
+    var missCount = rejectedCount + falsePositiveCount;
+    return missCount == 0 ? 0 : (double) falsePositiveCount / missCount;
+  }
+}
@@ -0,0 +1,32 @@
+package com.pantifik.ds.map.bloom;
+
+/**
+ * A hash table which can guard its lookups with a Bloom filter of its keys on demand.
+ * <p>
+ * The filter rejects most of the lookups of absent keys with a single block read, before any
+ * bucket or slot is read. It pays off for large tables queried mostly for absent keys, and costs
+ * about 10 bits per key and a few operations per insertion and lookup otherwise. The filter is
+ * disabled by default, in which case the operations only pay for a null check.
+ */
+public interface BloomFiltered {
+
+  /**
+   * Enables or disables the filter. Enabling it builds the filter from the keys of the table and
+   * starts from empty counters.
+   *
+   * @param enabled
+   *     whether the lookups should be guarded by the filter.
+   */
+  void setBloomFilterEnabled(boolean enabled);
+
+  boolean isBloomFilterEnabled();
+
+  /**
+   * Takes a snapshot of the statistics of the filter.
+   *
+   * @return the statistics.
+   * @throws IllegalStateException
+   *     if the filter is disabled.
+   */
+  BloomFilterStats getBloomFilterStats();
+}
@@ -0,0 +1,30 @@
+package com.pantifik.ds.map.capacity;
+
+/**
+ * Defines the capacities a hash table may have and how a hash is reduced to an index of it.
+ */
+public interface CapacityPolicy {
+
+  /**
+   * Finds the smallest capacity supported by the policy which is not less than the given one.
+   *
+   * @param minCapacity
+   *     the minimal capacity.
+   * @return the capacity.
+   *
+   * @throws IllegalArgumentException
+   *     if the minimal capacity is less than 1 or greater than the largest supported capacity.
+   */
+  int nextCapacity(int minCapacity);
+
+  /**
+   * Creates the reducer mapping the hashes to the indices of a table of the given capacity.
+   *
+   * @param capacity
+   *     the capacity of the table.
+   * @return the index reducer.
+   */
+  default IndexReducer createReducer(int capacity) {
+    return IndexReducer.forCapacity(capacity);
+  }
+}
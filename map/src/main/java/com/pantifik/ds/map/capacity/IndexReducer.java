@@ -0,0 +1,70 @@
+package com.pantifik.ds.map.capacity;
+
+import com.pantifik.ds.map.open_addressing.PowerOfTwo;
+
+/**
+ * Reduces the hashes to the indices of a table without an integer division.
+ * <p>
+ * A power of two capacity masks the low bits of the hash. Any other capacity uses the fast
+ * modulo of Lemire, Kaser and Kurz: with the reciprocal {@code M = ceil(2^64 / d)}, the low 64
+ * bits of {@code M * a} hold the fractional part of {@code a / d}, and multiplying it by
+ * {@code d} leaves {@code a mod d} in the high 64 bits of the product. This is exact for every
+ * 32 bit {@code a} and {@code d}.
+ */
+public final class IndexReducer {
+
+  private final int capacity;
+  private final int mask;
+  private final long reciprocal;
+
+  private IndexReducer(int capacity, int mask, long reciprocal) {
+    this.capacity = capacity;
+    this.mask = mask;
+    this.reciprocal = reciprocal;
+  }
+
+  /**
+   * Creates the reducer for the capacity. The reciprocal of a capacity off the prime ladder is
+   * computed here, once per table.
+   *
+   * @param capacity
+   *     the capacity of the table.
+   * @return the index reducer.
+   */
+  public static IndexReducer forCapacity(int capacity) {
+    if (capacity <= 1) {
+      return new IndexReducer(capacity, 0, 0);
+    }
+    if (PowerOfTwo.isPowerOfTwo(capacity)) {
+      return new IndexReducer(capacity, capacity - 1, 0);
+    }
+    var reciprocal = PrimeCapacityPolicy.findReciprocal(capacity);
+    if (reciprocal == 0) {
+      reciprocal = calculateReciprocal(capacity);
+    }
+    return new IndexReducer(capacity, -1, reciprocal);
+  }
+
+  /**
+   * Reduces the hash, ignoring its sign bit, to an index of the table.
+   *
+   * @param hash
+   *     the hash.
+   * @return the index in range [0, capacity).
+   */
+  public int reduce(int hash) {
+    if (mask >= 0) {
+      return hash & mask;
+    }
+    var fraction = reciprocal * (hash & 0x7FFFFFFF);
+    return (int) (Math.multiplyHigh(fraction, capacity) + ((fraction >> 63) & capacity));
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  static long calculateReciprocal(int capacity) {
+    return Long.divideUnsigned(-1L, capacity) + 1;
+  }
+}
@@ -0,0 +1,25 @@
+package com.pantifik.ds.map.capacity;
+
+import com.pantifik.ds.map.open_addressing.PowerOfTwo;
+
+/**
+ * A capacity policy of the powers of two, whose indices are taken by masking the low bits of the
+ * hash. The hashes are expected to be well mixed in their low bits.
+ */
+public class PowerOfTwoCapacityPolicy implements CapacityPolicy {
+
+  /**
+   * Finds the next power of two.
+   *
+   * @param minCapacity
+   *     the minimal capacity.
+   * @return the next power of two.
+   *
+   * @throws IllegalArgumentException
+   *     if the minimal capacity is less than 1 or greater than 2^30.
+   */
+  @Override
+  public int nextCapacity(int minCapacity) {
+    return PowerOfTwo.nextPowerOfTwo(minCapacity);
+  }
+}
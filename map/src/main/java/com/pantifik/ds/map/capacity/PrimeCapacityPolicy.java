@@ -0,0 +1,76 @@
+package com.pantifik.ds.map.capacity;
+
+import com.pantifik.ds.map.utils.MapUtils;
+import java.util.Arrays;
+
+/**
+ * A capacity policy of the primes of a precomputed ladder. The ladder starts with the primes up
+ * to 13, so the smallest tables are not rounded up much, and from 13 on each step is the smallest
+ * prime not less than twice the previous one, so doubling a capacity of at least 13 lands on the
+ * next step of the ladder.
+ * <p>
+ * The ladder comes with the reciprocals the {@link IndexReducer} needs for its division free
+ * modulo, so neither the growth nor the index computation divides.
+ */
+public class PrimeCapacityPolicy implements CapacityPolicy {
+
+  private static final int[] LADDER = {2, 3, 5, 7, 13, 29, 59, 127, 257, 521, 1049, 2099, 4201,
+      8419, 16843, 33703, 67409, 134837, 269683, 539389, 1078787, 2157587, 4315183, 8630387,
+      17260781, 34521589, 69043189, 138086407, 276172823, 552345671, 1104691373};
+  private static final long[] RECIPROCALS = Arrays.stream(LADDER)
+      .mapToLong(IndexReducer::calculateReciprocal)
+      .toArray();
+  private final int[] primes;
+
+  public PrimeCapacityPolicy() {
+    this.primes = LADDER;
+  }
+
+  /**
+   * Creates the policy skipping the primes which divide the given number, so every capacity is
+   * co-prime with it.
+   *
+   * @param number
+   *     the number the capacities must be co-prime with.
+   */
+  public PrimeCapacityPolicy(int number) {
+    this.primes = Arrays.stream(LADDER)
+        .filter(prime -> number % prime != 0)
+        .toArray();
+  }
+
+  /**
+   * Finds the smallest prime of the ladder not less than the given capacity, by a binary search.
+   *
+   * @param minCapacity
+   *     the minimal capacity.
+   * @return the prime.
+   *
+   * @throws IllegalArgumentException
+   *     if the minimal capacity is less than 1 or greater than the largest prime of the ladder.
+   */
+  @Override
+  public int nextCapacity(int minCapacity) {
+    MapUtils.requireGreaterThan(0, minCapacity);
+    var index = Arrays.binarySearch(primes, minCapacity);
+    if (index < 0) {
+      index = ~index;
+    }
+    if (index == primes.length) {
+      throw new IllegalArgumentException(
+          String.format("Value not greater than %s is required, but was %s",
+              primes[primes.length - 1], minCapacity));
+    }
+    return primes[index];
+  }
+
+  /**
+   * Finds the precomputed reciprocal of the capacity.
+   *
+   * @return the reciprocal, or 0 if the capacity is not a prime of the ladder.
+   */
+  static long findReciprocal(int capacity) {
+    var index = Arrays.binarySearch(LADDER, capacity);
+    return index < 0 ? 0 : RECIPROCALS[index];
+  }
+}
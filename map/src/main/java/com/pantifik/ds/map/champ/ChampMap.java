@@ -0,0 +1,743 @@
+package com.pantifik.ds.map.champ;
+
+import com.pantifik.ds.map.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A persistent map on a hash array mapped trie in the CHAMP (compressed hash-array mapped prefix
+ * tree) layout.
+ * <p>
+ * Every node takes 5 bits of the hash of the key and keeps two bitmaps, one of the entries stored
+ * inline and one of the child nodes, with the entries at the start of a compact array and the
+ * child nodes at its end. The keys whose hashes are equal are kept in a collision node past the
+ * last level. A removal moves a single remaining entry back up into its parent, so the trie has
+ * the same shape for the same keys whatever the history of the updates.
+ * <p>
+ * The map itself is immutable: {@link #with(Object, Object)} and {@link #without(Object)} copy
+ * only the O(log32 n) nodes on the path to the key and share all the others with the previous
+ * version. A {@link Builder} batches updates by editing in place the nodes it has already copied.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public final class ChampMap<K, V> extends AbstractMap<K, V> {
+
+  static final int BITS = 5;
+  static final int MAX_DEPTH = 8;
+  private static final Object NOT_FOUND = new Object();
+  private static final ChampMap<?, ?> EMPTY = new ChampMap<>(BitmapNode.EMPTY, 0);
+  private final Node root;
+  private final int size;
+
+  private ChampMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  public static <K, V> ChampMap<K, V> empty() {
+    return (ChampMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Creates a persistent map containing the entries of the map.
+   *
+   * @param map
+   *     the map to copy, whose keys must not be null.
+   * @param <K>
+   *     the type of the keys.
+   * @param <V>
+   *     the type of the values.
+   * @return the persistent map.
+   * @throws NullPointerException
+   *     if the map or any of its keys is null.
+   */
+  public static <K, V> ChampMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    return ChampMap.<K, V>builder()
+        .putAll(map)
+        .build();
+  }
+
+  public static <K, V> Builder<K, V> builder() {
+    return new Builder<>(BitmapNode.EMPTY, 0);
+  }
+
+  /**
+   * Returns a builder starting from the entries of this map, which stays unchanged.
+   *
+   * @return the builder.
+   */
+  public Builder<K, V> toBuilder() {
+    return new Builder<>(root, size);
+  }
+
+  /**
+   * Returns the map associating the value with the key, sharing the unchanged nodes with this
+   * map.
+   *
+   * @param key
+   *     the key.
+   * @param value
+   *     the value.
+   * @return the new map, or this map if the key is already associated with the same value.
+   * @throws NullPointerException
+   *     if the key is null.
+   */
+  public ChampMap<K, V> with(K key, V value) {
+    Objects.requireNonNull(key);
+    var result = new Result();
+    var newRoot = root.put(null, key, value, key.hashCode(), 0, result);
+    if (!result.modified) {
+      return this;
+    }
+    return new ChampMap<>(newRoot, result.replaced ? size : size + 1);
+  }
+
+  /**
+   * Returns the map without the key, sharing the unchanged nodes with this map.
+   *
+   * @param key
+   *     the key.
+   * @return the new map, or this map if the key is not present.
+   * @throws NullPointerException
+   *     if the key is null.
+   */
+  public ChampMap<K, V> without(Object key) {
+    Objects.requireNonNull(key);
+    var result = new Result();
+    var newRoot = root.remove(null, key, key.hashCode(), 0, result);
+    if (!result.modified) {
+      return this;
+    }
+    return size == 1 ? empty() : new ChampMap<>(newRoot, size - 1);
+  }
+
+  /**
+   * Returns the map with all the entries of the map added, sharing the unchanged nodes with this
+   * map.
+   *
+   * @param map
+   *     the entries to add.
+   * @return the new map.
+   * @throws NullPointerException
+   *     if the map or any of its keys is null.
+   */
+  public ChampMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+    return toBuilder().putAll(map)
+        .build();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Objects.requireNonNull(key);
+    return root.find(key, key.hashCode(), 0) != NOT_FOUND;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (var entry : entrySet()) {
+      if (Objects.equals(entry.getValue(), value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    Objects.requireNonNull(key);
+    var value = root.find(key, key.hashCode(), 0);
+    return value == NOT_FOUND ? defaultValue : (V) value;
+  }
+
+  /**
+   * @throws UnsupportedOperationException
+   *     always, as the map is immutable; use {@link #with(Object, Object)} instead.
+   */
+  @Override
+  public V put(K key, V value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @throws UnsupportedOperationException
+   *     always, as the map is immutable; use {@link #without(Object)} instead.
+   */
+  @Override
+  public V remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @throws UnsupportedOperationException
+   *     always, as the map is immutable; use {@link #empty()} instead.
+   */
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  /**
+   * Walks the trie depth first. The iterator does not support the removal.
+   */
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator<>(root);
+  }
+
+  int getDepth() {
+    return root.depth();
+  }
+
+  private static int mask(int hash, int shift) {
+    return (hash >>> shift) & 31;
+  }
+
+  private static int bitpos(int hash, int shift) {
+    return 1 << mask(hash, shift);
+  }
+
+  /**
+   * Creates the node holding the two entries, which are different keys colliding at the previous
+   * level.
+   */
+  private static Node merge(Object owner, Object key0, Object value0, int hash0, Object key1,
+      Object value1, int hash1, int shift) {
+    if (shift >= Integer.SIZE) {
+      return new CollisionNode(owner, hash0, new Object[]{key0, value0, key1, value1});
+    }
+    var mask0 = mask(hash0, shift);
+    var mask1 = mask(hash1, shift);
+    if (mask0 != mask1) {
+      var content = mask0 < mask1 ? new Object[]{key0, value0, key1, value1}
+          : new Object[]{key1, value1, key0, value0};
+      return new BitmapNode(owner, 1 << mask0 | 1 << mask1, 0, content);
+    }
+    var node = merge(owner, key0, value0, hash0, key1, value1, hash1, shift + BITS);
+    return new BitmapNode(owner, 0, 1 << mask0, new Object[]{node});
+  }
+
+  /**
+   * Records the effect of an update on the trie.
+   */
+  private static final class Result {
+
+    boolean modified;
+    boolean replaced;
+  }
+
+  /**
+   * A node of the trie. A node may be edited in place only by the owner it was created by, which
+   * is null for the nodes of the persistent maps.
+   */
+  private abstract static class Node {
+
+    final Object owner;
+
+    Node(Object owner) {
+      this.owner = owner;
+    }
+
+    boolean isEditable(Object owner) {
+      return owner != null && owner == this.owner;
+    }
+
+    /**
+     * Returns the value of the key, or {@link #NOT_FOUND} if the key is not present.
+     */
+    abstract Object find(Object key, int hash, int shift);
+
+    abstract Node put(Object owner, Object key, Object value, int hash, int shift, Result result);
+
+    abstract Node remove(Object owner, Object key, int hash, int shift, Result result);
+
+    abstract int payloadArity();
+
+    abstract Object getKey(int index);
+
+    abstract Object getValue(int index);
+
+    abstract int nodeArity();
+
+    abstract Node getNode(int index);
+
+    boolean isSingleEntry() {
+      return payloadArity() == 1 && nodeArity() == 0;
+    }
+
+    int depth() {
+      var depth = 0;
+      for (int i = 0; i < nodeArity(); i++) {
+        depth = Math.max(depth, getNode(i).depth());
+      }
+      return depth + 1;
+    }
+  }
+
+  private static final class BitmapNode extends Node {
+
+    static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+    private int dataMap;
+    private int nodeMap;
+    /**
+     * Holds the keys and the values of the entries in pairs from the start, and the child nodes
+     * in the reverse order from the end.
+     */
+    private Object[] content;
+
+    BitmapNode(Object owner, int dataMap, int nodeMap, Object[] content) {
+      super(owner);
+      this.dataMap = dataMap;
+      this.nodeMap = nodeMap;
+      this.content = content;
+    }
+
+    @Override
+    Object find(Object key, int hash, int shift) {
+      var bit = bitpos(hash, shift);
+      if ((dataMap & bit) != 0) {
+        var index = 2 * dataIndex(bit);
+        return key.equals(content[index]) ? content[index + 1] : NOT_FOUND;
+      }
+      if ((nodeMap & bit) != 0) {
+        return nodeAt(bit).find(key, hash, shift + BITS);
+      }
+      return NOT_FOUND;
+    }
+
+    @Override
+    Node put(Object owner, Object key, Object value, int hash, int shift, Result result) {
+      var bit = bitpos(hash, shift);
+      if ((dataMap & bit) != 0) {
+        var index = 2 * dataIndex(bit);
+        var currentKey = content[index];
+        if (key.equals(currentKey)) {
+          if (content[index + 1] == value) {
+            return this;
+          }
+          result.modified = true;
+          result.replaced = true;
+          return copyAndSet(owner, index + 1, value);
+        }
+        var currentValue = content[index + 1];
+        var node = merge(owner, currentKey, currentValue, currentKey.hashCode(), key, value, hash,
+            shift + BITS);
+        result.modified = true;
+        return copyAndMigrateFromInlineToNode(owner, bit, node);
+      }
+      if ((nodeMap & bit) != 0) {
+        var node = nodeAt(bit);
+        var newNode = node.put(owner, key, value, hash, shift + BITS, result);
+        if (newNode == node) {
+          return this;
+        }
+        return copyAndSet(owner, content.length - 1 - nodeIndex(bit), newNode);
+      }
+      result.modified = true;
+      return copyAndInsertValue(owner, bit, key, value);
+    }
+
+    @Override
+    Node remove(Object owner, Object key, int hash, int shift, Result result) {
+      var bit = bitpos(hash, shift);
+      if ((dataMap & bit) != 0) {
+        if (!key.equals(content[2 * dataIndex(bit)])) {
+          return this;
+        }
+        result.modified = true;
+        return copyAndRemoveValue(owner, bit);
+      }
+      if ((nodeMap & bit) != 0) {
+        var node = nodeAt(bit);
+        var newNode = node.remove(owner, key, hash, shift + BITS, result);
+        if (!result.modified) {
+          return this;
+        }
+        if (newNode.isSingleEntry()) {
+          return copyAndMigrateFromNodeToInline(owner, bit, newNode.getKey(0),
+              newNode.getValue(0));
+        }
+        if (newNode == node) {
+          return this;
+        }
+        return copyAndSet(owner, content.length - 1 - nodeIndex(bit), newNode);
+      }
+      return this;
+    }
+
+    @Override
+    int payloadArity() {
+      return Integer.bitCount(dataMap);
+    }
+
+    @Override
+    Object getKey(int index) {
+      return content[2 * index];
+    }
+
+    @Override
+    Object getValue(int index) {
+      return content[2 * index + 1];
+    }
+
+    @Override
+    int nodeArity() {
+      return Integer.bitCount(nodeMap);
+    }
+
+    @Override
+    Node getNode(int index) {
+      return (Node) content[content.length - 1 - index];
+    }
+
+    private int dataIndex(int bit) {
+      return Integer.bitCount(dataMap & (bit - 1));
+    }
+
+    private int nodeIndex(int bit) {
+      return Integer.bitCount(nodeMap & (bit - 1));
+    }
+
+    private Node nodeAt(int bit) {
+      return getNode(nodeIndex(bit));
+    }
+
+    private BitmapNode edit(Object owner, int dataMap, int nodeMap, Object[] content) {
+      if (isEditable(owner)) {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.content = content;
+        return this;
+      }
+      return new BitmapNode(owner, dataMap, nodeMap, content);
+    }
+
+    private BitmapNode copyAndSet(Object owner, int index, Object element) {
+      if (isEditable(owner)) {
+        content[index] = element;
+        return this;
+      }
+      var newContent = content.clone();
+      newContent[index] = element;
+      return new BitmapNode(owner, dataMap, nodeMap, newContent);
+    }
+
+    private BitmapNode copyAndInsertValue(Object owner, int bit, Object key, Object value) {
+      var index = 2 * dataIndex(bit);
+      var newContent = new Object[content.length + 2];
+      System.arraycopy(content, 0, newContent, 0, index);
+      newContent[index] = key;
+      newContent[index + 1] = value;
+      System.arraycopy(content, index, newContent, index + 2, content.length - index);
+      return edit(owner, dataMap | bit, nodeMap, newContent);
+    }
+
+    private BitmapNode copyAndRemoveValue(Object owner, int bit) {
+      var index = 2 * dataIndex(bit);
+      var newContent = new Object[content.length - 2];
+      System.arraycopy(content, 0, newContent, 0, index);
+      System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+      return edit(owner, dataMap ^ bit, nodeMap, newContent);
+    }
+
+    private BitmapNode copyAndMigrateFromInlineToNode(Object owner, int bit, Node node) {
+      var oldIndex = 2 * dataIndex(bit);
+      var newIndex = content.length - 2 - nodeIndex(bit);
+      var newContent = new Object[content.length - 1];
+      System.arraycopy(content, 0, newContent, 0, oldIndex);
+      System.arraycopy(content, oldIndex + 2, newContent, oldIndex, newIndex - oldIndex);
+      newContent[newIndex] = node;
+      System.arraycopy(content, newIndex + 2, newContent, newIndex + 1,
+          content.length - newIndex - 2);
+      return edit(owner, dataMap ^ bit, nodeMap | bit, newContent);
+    }
+
+    private BitmapNode copyAndMigrateFromNodeToInline(Object owner, int bit, Object key,
+        Object value) {
+      var oldIndex = content.length - 1 - nodeIndex(bit);
+      var newIndex = 2 * dataIndex(bit);
+      var newContent = new Object[content.length + 1];
+      System.arraycopy(content, 0, newContent, 0, newIndex);
+      newContent[newIndex] = key;
+      newContent[newIndex + 1] = value;
+      System.arraycopy(content, newIndex, newContent, newIndex + 2, oldIndex - newIndex);
+      System.arraycopy(content, oldIndex + 1, newContent, oldIndex + 2,
+          content.length - oldIndex - 1);
+      return edit(owner, dataMap | bit, nodeMap ^ bit, newContent);
+    }
+  }
+
+  /**
+   * Holds the entries whose keys have the same hash, past the last level of the trie.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final int hash;
+    private Object[] content;
+
+    CollisionNode(Object owner, int hash, Object[] content) {
+      super(owner);
+      this.hash = hash;
+      this.content = content;
+    }
+
+    @Override
+    Object find(Object key, int hash, int shift) {
+      var index = indexOf(key);
+      return index < 0 ? NOT_FOUND : content[index + 1];
+    }
+
+    @Override
+    Node put(Object owner, Object key, Object value, int hash, int shift, Result result) {
+      var index = indexOf(key);
+      if (index >= 0) {
+        if (content[index + 1] == value) {
+          return this;
+        }
+        result.modified = true;
+        result.replaced = true;
+        if (isEditable(owner)) {
+          content[index + 1] = value;
+          return this;
+        }
+        var newContent = content.clone();
+        newContent[index + 1] = value;
+        return new CollisionNode(owner, this.hash, newContent);
+      }
+      result.modified = true;
+      var newContent = new Object[content.length + 2];
+      System.arraycopy(content, 0, newContent, 0, content.length);
+      newContent[content.length] = key;
+      newContent[content.length + 1] = value;
+      return edit(owner, newContent);
+    }
+
+    @Override
+    Node remove(Object owner, Object key, int hash, int shift, Result result) {
+      var index = indexOf(key);
+      if (index < 0) {
+        return this;
+      }
+      result.modified = true;
+      var newContent = new Object[content.length - 2];
+      System.arraycopy(content, 0, newContent, 0, index);
+      System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+      return edit(owner, newContent);
+    }
+
+    @Override
+    int payloadArity() {
+      return content.length / 2;
+    }
+
+    @Override
+    Object getKey(int index) {
+      return content[2 * index];
+    }
+
+    @Override
+    Object getValue(int index) {
+      return content[2 * index + 1];
+    }
+
+    @Override
+    int nodeArity() {
+      return 0;
+    }
+
+    @Override
+    Node getNode(int index) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < content.length; i += 2) {
+        if (key.equals(content[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private CollisionNode edit(Object owner, Object[] content) {
+      if (isEditable(owner)) {
+        this.content = content;
+        return this;
+      }
+      return new CollisionNode(owner, hash, content);
+    }
+  }
+
+  /**
+   * Applies a batch of updates without copying a node more than once, as every node it copies
+   * is owned by the builder and edited in place afterwards. Building the map hands the nodes over
+   * to it, so the later updates of the builder copy them again.
+   *
+   * @param <K>
+   *     the type of the keys.
+   * @param <V>
+   *     the type of the values.
+   */
+  public static final class Builder<K, V> {
+
+    private Object owner = new Object();
+    private Node root;
+    private int size;
+
+    private Builder(Node root, int size) {
+      this.root = root;
+      this.size = size;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key
+     *     the key.
+     * @param value
+     *     the value.
+     * @return this builder.
+     * @throws NullPointerException
+     *     if the key is null.
+     */
+    public Builder<K, V> put(K key, V value) {
+      Objects.requireNonNull(key);
+      var result = new Result();
+      root = root.put(owner, key, value, key.hashCode(), 0, result);
+      if (result.modified && !result.replaced) {
+        size++;
+      }
+      return this;
+    }
+
+    /**
+     * Associates the values with the keys of all the entries of the map.
+     *
+     * @param map
+     *     the entries to add.
+     * @return this builder.
+     * @throws NullPointerException
+     *     if the map or any of its keys is null.
+     */
+    public Builder<K, V> putAll(Map<? extends K, ? extends V> map) {
+      for (var entry : map.entrySet()) {
+        put(entry.getKey(), entry.getValue());
+      }
+      return this;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key
+     *     the key.
+     * @return this builder.
+     * @throws NullPointerException
+     *     if the key is null.
+     */
+    public Builder<K, V> remove(Object key) {
+      Objects.requireNonNull(key);
+      var result = new Result();
+      root = root.remove(owner, key, key.hashCode(), 0, result);
+      if (result.modified) {
+        size--;
+      }
+      return this;
+    }
+
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns the map of the entries added so far. The builder can still be used afterwards
+     * without affecting the map.
+     *
+     * @return the persistent map.
+     */
+    public ChampMap<K, V> build() {
+      owner = new Object();
+      return size == 0 ? empty() : new ChampMap<>(root, size);
+    }
+  }
+
+  private static class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+    private final Node[] nodes = new Node[MAX_DEPTH];
+    private final int[] nodeIndexes = new int[MAX_DEPTH];
+    private int depth;
+    private int payloadIndex;
+
+    EntryIterator(Node root) {
+      nodes[0] = root;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (depth >= 0 && payloadIndex >= nodes[depth].payloadArity()) {
+        while (depth >= 0 && nodeIndexes[depth] >= nodes[depth].nodeArity()) {
+          depth--;
+        }
+        if (depth < 0) {
+          return false;
+        }
+        var node = nodes[depth].getNode(nodeIndexes[depth]++);
+        nodes[++depth] = node;
+        nodeIndexes[depth] = 0;
+        payloadIndex = 0;
+      }
+      return depth >= 0;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      var node = nodes[depth];
+      var index = payloadIndex++;
+      return new ImmutableEntry<>((K) node.getKey(index), (V) node.getValue(index));
+    }
+  }
+
+  private static final class ImmutableEntry<K, V> extends SimpleEntry<K, V> {
+
+    ImmutableEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,571 @@
+package com.pantifik.ds.map.cuckoo;
+
+import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
+import static com.pantifik.ds.map.utils.MapUtils.validateCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
+import com.pantifik.ds.map.AbstractMap;
+import com.pantifik.ds.map.open_addressing.PowerOfTwo;
+import com.pantifik.ds.map.stats.Instrumented;
+import com.pantifik.ds.map.stats.MapStats;
+import com.pantifik.ds.map.stats.StatsRecorder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A bucketized cuckoo hash map implementation.
+ * <p>
+ * Every key has two candidate buckets of 4 slots, chosen by two different hash functions, plus a
+ * small stash for the keys which could not be placed. A lookup therefore never inspects more than
+ * two buckets and the stash, which bounds it by a constant. An insertion into two full buckets
+ * kicks a resident out to its alternative bucket, repeatedly, up to a bounded number of times.
+ * <p>
+ * Only keys sharing both buckets in numbers no table size can hold, such as keys with equal hash
+ * codes, make the stash grow past its initial size and the lookups linear.
+ * <p>
+ * The {@link Instrumented statistics} count the occupied slots compared by a lookup in both
+ * buckets and the stash, and the occupied slots of every bucket, with the stash as one more
+ * bucket, as its chains.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class CuckooHashMap<K, V> extends AbstractMap<K, V> implements Instrumented {
+
+  static final int SLOTS_PER_BUCKET = 4;
+  static final int STASH_SIZE = 4;
+  static final int MAX_KICKS = 128;
+  private static final int FIRST_MULTIPLIER = 0x9E3779B9;
+  private static final int SECOND_MULTIPLIER = 0x85EBCA6B;
+  private static final int RESIZE_FACTOR = 2;
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float DEFAULT_LOAD_FACTOR = .9f;
+  private final float loadFactor;
+  private Object[] stashKeys;
+  private Object[] stashValues;
+  private int[] stashHashes;
+  private Object[] keys;
+  private Object[] values;
+  private int[] hashes;
+  private int capacity;
+  private int bucketMask;
+  private int threshold;
+  private int size;
+  private int stashSize;
+  private volatile StatsRecorder stats;
+
+  public CuckooHashMap() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  public CuckooHashMap(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates the hash map with given capacity and load factor.
+   *
+   * @param capacity
+   *     the initial number of slots, rounded up to a power of two of at least one bucket.
+   * @param loadFactor
+   *     the load factor.
+   * @throws IllegalArgumentException
+   *     if capacity is less than 0 or load factor is not in range [0.1, 1].
+   */
+  public CuckooHashMap(int capacity, float loadFactor) {
+    validateCapacity(capacity);
+    validateLoadFactor(loadFactor);
+    this.loadFactor = loadFactor;
+    this.capacity = calculateCapacity(capacity);
+    this.threshold = calculateThreshold(this.capacity, this.loadFactor);
+    allocateTable();
+    allocateStash(STASH_SIZE);
+    this.size = 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Objects.requireNonNull(key);
+    var hash = calculateHash(key);
+    var found = findSlot(key, hash) >= 0 || findStashIndex(key, hash) >= 0;
+    var recorder = stats;
+    if (recorder != null) {
+      recordLookup(recorder, key, hash);
+    }
+    return found;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (int i = 0; i < capacity; i++) {
+      if (keys[i] != null && Objects.equals(values[i], value)) {
+        return true;
+      }
+    }
+    for (int i = 0; i < stashSize; i++) {
+      if (Objects.equals(stashValues[i], value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    Objects.requireNonNull(key);
+    var hash = calculateHash(key);
+    var slot = findSlot(key, hash);
+    var stashIndex = slot < 0 ? findStashIndex(key, hash) : -1;
+    var recorder = stats;
+    if (recorder != null) {
+      recordLookup(recorder, key, hash);
+    }
+    if (slot >= 0) {
+      return (V) values[slot];
+    }
+    return stashIndex < 0 ? null : (V) stashValues[stashIndex];
+  }
+
+  @Override
+  public V put(K key, V value) {
+    Objects.requireNonNull(key);
+    var hash = calculateHash(key);
+    var slot = findSlot(key, hash);
+    if (slot >= 0) {
+      var oldValue = (V) values[slot];
+      values[slot] = value;
+      return oldValue;
+    }
+    var stashIndex = findStashIndex(key, hash);
+    if (stashIndex >= 0) {
+      var oldValue = (V) stashValues[stashIndex];
+      stashValues[stashIndex] = value;
+      return oldValue;
+    }
+    if (size + 1 > threshold) {
+      resizeTable();
+    }
+    insertEntry(key, value, hash);
+    size++;
+    return null;
+  }
+
+  @Override
+  public V remove(Object key) {
+    Objects.requireNonNull(key);
+    var hash = calculateHash(key);
+    var slot = findSlot(key, hash);
+    if (slot >= 0) {
+      var value = (V) values[slot];
+      writeSlot(slot, null, null, 0);
+      size--;
+      drainStash();
+      return value;
+    }
+    var stashIndex = findStashIndex(key, hash);
+    if (stashIndex >= 0) {
+      var value = (V) stashValues[stashIndex];
+      removeFromStash(stashIndex);
+      size--;
+      return value;
+    }
+    return null;
+  }
+
+  @Override
+  public void clear() {
+    capacity = SLOTS_PER_BUCKET;
+    threshold = calculateThreshold(capacity, loadFactor);
+    size = 0;
+    stashSize = 0;
+    allocateTable();
+    allocateStash(STASH_SIZE);
+  }
+
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  @Override
+  public void setStatsEnabled(boolean enabled) {
+    stats = enabled ? new StatsRecorder() : null;
+  }
+
+  @Override
+  public boolean isStatsEnabled() {
+    return stats != null;
+  }
+
+  @Override
+  public MapStats getStats() {
+    var recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    return recorder.snapshot(size, capacity, 0, measureBuckets());
+  }
+
+  @Override
+  public MapStats getRecordedStats() {
+    var recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    return recorder.snapshot(size, capacity, 0, StatsRecorder.newHistogram());
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  int getStashSize() {
+    return stashSize;
+  }
+
+  /**
+   * Looks for the key in its two candidate buckets only.
+   *
+   * @return the slot of the key, or -1 if it is not in the table.
+   */
+  private int findSlot(Object key, int hash) {
+    var slot = findSlotInBucket(key, hash, calculateFirstBucket(hash));
+    if (slot < 0) {
+      slot = findSlotInBucket(key, hash, calculateSecondBucket(hash));
+    }
+    return slot;
+  }
+
+  private int findSlotInBucket(Object key, int hash, int bucket) {
+    var offset = bucket * SLOTS_PER_BUCKET;
+    for (int slot = offset; slot < offset + SLOTS_PER_BUCKET; slot++) {
+      var k = keys[slot];
+      if (k != null && hashes[slot] == hash && (k == key || key.equals(k))) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private int findStashIndex(Object key, int hash) {
+    for (int i = 0; i < stashSize; i++) {
+      var k = stashKeys[i];
+      if (stashHashes[i] == hash && (k == key || key.equals(k))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int findFreeSlotInBucket(int bucket) {
+    var offset = bucket * SLOTS_PER_BUCKET;
+    for (int slot = offset; slot < offset + SLOTS_PER_BUCKET; slot++) {
+      if (keys[slot] == null) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Places the entry into one of its buckets, kicking residents out to their alternative bucket
+   * when both are full. The entry left homeless after the last kick goes to the stash, and when
+   * the stash is full as well the table is grown. A table which is less than half full would not
+   * benefit from growing, so the stash is grown instead.
+   */
+  private void insertEntry(Object key, Object value, int hash) {
+    while (true) {
+      var homeless = tryInsert(key, value, hash);
+      if (homeless == null) {
+        return;
+      }
+      if (stashSize == stashKeys.length && size * RESIZE_FACTOR < capacity) {
+        growStash();
+      }
+      if (stashSize < stashKeys.length) {
+        stashKeys[stashSize] = homeless.key;
+        stashValues[stashSize] = homeless.value;
+        stashHashes[stashSize] = homeless.hash;
+        stashSize++;
+        return;
+      }
+      key = homeless.key;
+      value = homeless.value;
+      hash = homeless.hash;
+      resizeTable();
+    }
+  }
+
+  /**
+   * @return the entry which could not be placed after the maximum number of kicks, or null.
+   */
+  private Homeless tryInsert(Object key, Object value, int hash) {
+    var bucket = calculateFirstBucket(hash);
+    var slot = findFreeSlotInBucket(bucket);
+    if (slot < 0) {
+      bucket = calculateSecondBucket(hash);
+      slot = findFreeSlotInBucket(bucket);
+    }
+    for (int kicks = 0; slot < 0 && kicks < MAX_KICKS; kicks++) {
+      var victim = bucket * SLOTS_PER_BUCKET + ThreadLocalRandom.current()
+          .nextInt(SLOTS_PER_BUCKET);
+      var victimKey = keys[victim];
+      var victimValue = values[victim];
+      var victimHash = hashes[victim];
+      writeSlot(victim, key, value, hash);
+      key = victimKey;
+      value = victimValue;
+      hash = victimHash;
+      bucket = calculateAlternativeBucket(hash, bucket);
+      slot = findFreeSlotInBucket(bucket);
+    }
+    if (slot < 0) {
+      return new Homeless(key, value, hash);
+    }
+    writeSlot(slot, key, value, hash);
+    return null;
+  }
+
+  /**
+   * Moves the stashed entries back to the table when one of their buckets has a free slot.
+   */
+  private void drainStash() {
+    for (int i = stashSize - 1; i >= 0; i--) {
+      var hash = stashHashes[i];
+      var slot = findFreeSlotInBucket(calculateFirstBucket(hash));
+      if (slot < 0) {
+        slot = findFreeSlotInBucket(calculateSecondBucket(hash));
+      }
+      if (slot >= 0) {
+        writeSlot(slot, stashKeys[i], stashValues[i], hash);
+        removeFromStash(i);
+      }
+    }
+  }
+
+  private void removeFromStash(int index) {
+    var last = --stashSize;
+    stashKeys[index] = stashKeys[last];
+    stashValues[index] = stashValues[last];
+    stashHashes[index] = stashHashes[last];
+    stashKeys[last] = null;
+    stashValues[last] = null;
+  }
+
+  private void resizeTable() {
+    var recorder = stats;
+    var start = recorder != null ? System.nanoTime() : 0;
+    capacity *= RESIZE_FACTOR;
+    threshold = calculateThreshold(capacity, loadFactor);
+    var oldKeys = keys;
+    var oldValues = values;
+    var oldHashes = hashes;
+    allocateTable();
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        insertEntry(oldKeys[i], oldValues[i], oldHashes[i]);
+      }
+    }
+    drainStash();
+    if (recorder != null) {
+      recorder.recordResize(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Walks the buckets and the stash the way the lookup does, counting the compared keys.
+   */
+  private void recordLookup(StatsRecorder recorder, Object key, int hash) {
+    var probes = countProbes(key, hash, calculateFirstBucket(hash));
+    if (probes >= 0) {
+      var secondProbes = countProbes(key, hash, calculateSecondBucket(hash));
+      probes = secondProbes < 0 ? secondProbes - probes : secondProbes + probes;
+    }
+    if (probes < 0) {
+      recorder.recordHit(-probes);
+      return;
+    }
+    for (int i = 0; i < stashSize; i++) {
+      probes++;
+      var k = stashKeys[i];
+      if (stashHashes[i] == hash && (k == key || key.equals(k))) {
+        recorder.recordHit(probes);
+        return;
+      }
+    }
+    recorder.recordMiss(probes);
+  }
+
+  /**
+   * Counts the occupied slots of the bucket compared with the key.
+   *
+   * @return the number of the compared slots, negated if the key was found.
+   */
+  private int countProbes(Object key, int hash, int bucket) {
+    var probes = 0;
+    var offset = bucket * SLOTS_PER_BUCKET;
+    for (int slot = offset; slot < offset + SLOTS_PER_BUCKET; slot++) {
+      var k = keys[slot];
+      if (k != null) {
+        probes++;
+        if (hashes[slot] == hash && (k == key || key.equals(k))) {
+          return -probes;
+        }
+      }
+    }
+    return probes;
+  }
+
+  private long[] measureBuckets() {
+    var histogram = StatsRecorder.newHistogram();
+    for (int offset = 0; offset < capacity; offset += SLOTS_PER_BUCKET) {
+      var length = 0;
+      for (int slot = offset; slot < offset + SLOTS_PER_BUCKET; slot++) {
+        if (keys[slot] != null) {
+          length++;
+        }
+      }
+      StatsRecorder.addToHistogram(histogram, length);
+    }
+    StatsRecorder.addToHistogram(histogram, stashSize);
+    return histogram;
+  }
+
+  private void allocateTable() {
+    bucketMask = capacity / SLOTS_PER_BUCKET - 1;
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+  }
+
+  private void allocateStash(int stashCapacity) {
+    stashKeys = new Object[stashCapacity];
+    stashValues = new Object[stashCapacity];
+    stashHashes = new int[stashCapacity];
+  }
+
+  private void growStash() {
+    var oldKeys = stashKeys;
+    var oldValues = stashValues;
+    var oldHashes = stashHashes;
+    allocateStash(oldKeys.length * RESIZE_FACTOR);
+    System.arraycopy(oldKeys, 0, stashKeys, 0, stashSize);
+    System.arraycopy(oldValues, 0, stashValues, 0, stashSize);
+    System.arraycopy(oldHashes, 0, stashHashes, 0, stashSize);
+  }
+
+  private void writeSlot(int slot, Object key, Object value, int hash) {
+    keys[slot] = key;
+    values[slot] = value;
+    hashes[slot] = hash;
+  }
+
+  private int calculateFirstBucket(int hash) {
+    var h = hash * FIRST_MULTIPLIER;
+    return (h ^ (h >>> 16)) & bucketMask;
+  }
+
+  private int calculateSecondBucket(int hash) {
+    var h = hash * SECOND_MULTIPLIER;
+    return (h ^ (h >>> 13)) & bucketMask;
+  }
+
+  private int calculateAlternativeBucket(int hash, int bucket) {
+    var first = calculateFirstBucket(hash);
+    return bucket == first ? calculateSecondBucket(hash) : first;
+  }
+
+  private int calculateCapacity(int capacity) {
+    return Math.max(SLOTS_PER_BUCKET, PowerOfTwo.nextPowerOfTwo(Math.max(1, capacity)));
+  }
+
+  private int calculateHash(Object key) {
+    return Objects.hashCode(key);
+  }
+
+  /**
+   * Walks the slots of the table and then the stash backward. A removal through the iterator does
+   * not drain the stash, which would move the stashed entries into the walked slots, and the stash
+   * fills a removed stash index with its last entry, which is already walked when going backward.
+   */
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private int slot;
+    private int remaining = size;
+    private int lastSlot = -1;
+    private int lastStashIndex = -1;
+    private int expectedSize = size;
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      checkForConcurrentModification();
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      while (slot < capacity && keys[slot] == null) {
+        slot++;
+      }
+      remaining--;
+      if (slot < capacity) {
+        lastSlot = slot++;
+        return new TableEntry((K) keys[lastSlot], (V) values[lastSlot]);
+      }
+      lastStashIndex = remaining;
+      return new TableEntry((K) stashKeys[lastStashIndex], (V) stashValues[lastStashIndex]);
+    }
+
+    @Override
+    public void remove() {
+      if (lastSlot == -1 && lastStashIndex == -1) {
+        throw new IllegalStateException();
+      }
+      checkForConcurrentModification();
+      if (lastStashIndex >= 0) {
+        removeFromStash(lastStashIndex);
+      } else {
+        writeSlot(lastSlot, null, null, 0);
+      }
+      size--;
+      lastSlot = -1;
+      lastStashIndex = -1;
+      expectedSize--;
+    }
+
+    private void checkForConcurrentModification() {
+      if (expectedSize != size) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  private record Homeless(Object key, Object value, int hash) {}
+
+  /**
+   * An entry detached from the table which writes its value changes through to the map.
+   */
+  private class TableEntry extends SimpleEntry<K, V> {
+
+    TableEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
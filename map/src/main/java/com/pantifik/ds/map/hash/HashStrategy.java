@@ -0,0 +1,16 @@
+package com.pantifik.ds.map.hash;
+
+/**
+ * Defines how the hash code of a key is turned into the hash a table is indexed by.
+ */
+public interface HashStrategy {
+
+  /**
+   * Calculates the hash of the key.
+   *
+   * @param key
+   *     the key, may be null.
+   * @return the hash.
+   */
+  int hash(Object key);
+}
@@ -0,0 +1,15 @@
+package com.pantifik.ds.map.hash;
+
+import java.util.Objects;
+
+/**
+ * A hash strategy using the hash code of the key unchanged. It is the cheapest one, and the one
+ * to pick for keys whose hash codes are already well distributed.
+ */
+public class IdentityHashStrategy implements HashStrategy {
+
+  @Override
+  public int hash(Object key) {
+    return Objects.hashCode(key);
+  }
+}
@@ -0,0 +1,33 @@
+package com.pantifik.ds.map.hash;
+
+import java.util.Objects;
+
+/**
+ * A hash strategy spreading the hash code of the key with the 32 bit finalizer of MurmurHash3.
+ * <p>
+ * Every bit of the hash code affects every bit of the hash, so the sequential or shared prefix
+ * hash codes stop clustering, in the low bits a power of two table is indexed by too. The
+ * finalizer is a bijection, so distinct hash codes never start colliding.
+ */
+public class Murmur3HashStrategy implements HashStrategy {
+
+  @Override
+  public int hash(Object key) {
+    return mix(Objects.hashCode(key));
+  }
+
+  /**
+   * Applies the fmix32 finalizer of MurmurHash3.
+   *
+   * @param hash
+   *     the hash to mix.
+   * @return the mixed hash.
+   */
+  static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    return hash ^ (hash >>> 16);
+  }
+}
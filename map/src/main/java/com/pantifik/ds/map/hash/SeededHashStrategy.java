@@ -0,0 +1,38 @@
+package com.pantifik.ds.map.hash;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A hash strategy mixing the hash code of the key with a seed of its own before spreading it with
+ * the MurmurHash3 finalizer.
+ * <p>
+ * Without the seed the slot of a key is known in advance, which lets an attacker pick keys piling
+ * up in the same buckets. A random seed per instance makes that unpredictable. The keys sharing
+ * the very same hash code still collide, as the strategy only sees the hash code.
+ */
+public class SeededHashStrategy implements HashStrategy {
+
+  private final int seed;
+
+  /**
+   * Creates the strategy with a random seed.
+   */
+  public SeededHashStrategy() {
+    this(ThreadLocalRandom.current()
+        .nextInt());
+  }
+
+  public SeededHashStrategy(int seed) {
+    this.seed = seed;
+  }
+
+  @Override
+  public int hash(Object key) {
+    return Murmur3HashStrategy.mix(Objects.hashCode(key) ^ seed);
+  }
+
+  int getSeed() {
+    return seed;
+  }
+}
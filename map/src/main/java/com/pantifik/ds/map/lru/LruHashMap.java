@@ -0,0 +1,214 @@
+package com.pantifik.ds.map.lru;
+
+import static com.pantifik.ds.map.utils.MapUtils.requireGreaterThan;
+import com.pantifik.ds.list.linkedlist.DoublyLinkedList;
+import com.pantifik.ds.list.linkedlist.DoublyLinkedList.Node;
+import com.pantifik.ds.map.AbstractMap;
+import com.pantifik.ds.map.separate_chaining.SeparateChainingHashMap;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A bounded hash map which evicts its least recently used entry once it holds more entries than
+ * its maximum size.
+ * <p>
+ * The entries are kept in a doubly linked list ordered from the least to the most recently used
+ * one, and the hash index maps every key to its node of the list. An access moves the node to
+ * the end of the list and an eviction unlinks the head of it, both in constant time and without
+ * allocating anything. Since a lookup reorders the entries, the iteration order is the access
+ * order and a lookup during an iteration is a modification of the map, which the iterator
+ * detects.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class LruHashMap<K, V> extends AbstractMap<K, V> {
+
+  private final int maxSize;
+  private final BiConsumer<? super K, ? super V> evictionListener;
+  private final SeparateChainingHashMap<K, Node<SimpleEntry<K, V>>> index;
+  private DoublyLinkedList<SimpleEntry<K, V>> entries;
+  /**
+   * Counts the changes of the list, including the reorders of the lookups.
+   */
+  private int modCount;
+
+  public LruHashMap(int maxSize) {
+    this(maxSize, (key, value) -> {});
+  }
+
+  /**
+   * Creates the map with given maximum size and eviction listener.
+   *
+   * @param maxSize
+   *     the maximum number of entries the map holds.
+   * @param evictionListener
+   *     the listener called with the key and the value of every evicted entry.
+   * @throws IllegalArgumentException
+   *     if the max size is less than 1.
+   */
+  public LruHashMap(int maxSize, BiConsumer<? super K, ? super V> evictionListener) {
+    requireGreaterThan(0, maxSize);
+    this.maxSize = maxSize;
+    this.evictionListener = Objects.requireNonNull(evictionListener);
+    this.index = new SeparateChainingHashMap<>();
+    this.entries = new DoublyLinkedList<>();
+  }
+
+  @Override
+  public int size() {
+    return index.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return index.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (var entry : entries) {
+      if (Objects.equals(entry.getValue(), value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the value of the key and marks its entry as the most recently used one.
+   */
+  @Override
+  public V get(Object key) {
+    var node = index.get(key);
+    if (node == null) {
+      return null;
+    }
+    moveToLast(node);
+    return node.getData().getValue();
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    var node = index.get(key);
+    if (node == null) {
+      return defaultValue;
+    }
+    moveToLast(node);
+    return node.getData().getValue();
+  }
+
+  /**
+   * Maps the key to the value and marks its entry as the most recently used one. If a new key
+   * makes the map exceed its maximum size, the least recently used entry is evicted.
+   */
+  @Override
+  public V put(K key, V value) {
+    Objects.requireNonNull(key);
+    var node = index.get(key);
+    if (node != null) {
+      moveToLast(node);
+      return node.getData().setValue(value);
+    }
+    index.put(key, entries.addLastNode(new SimpleEntry<>(key, value)));
+    modCount++;
+    if (size() > maxSize) {
+      evictEldest();
+    }
+    return null;
+  }
+
+  @Override
+  public V remove(Object key) {
+    var node = index.remove(key);
+    if (node == null) {
+      return null;
+    }
+    modCount++;
+    return entries.unlink(node).getValue();
+  }
+
+  @Override
+  public void clear() {
+    index.clear();
+    entries = new DoublyLinkedList<>();
+    modCount++;
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Walks the entries from the least to the most recently used one. The returned entries are the
+   * ones held by the list, so setting their value writes it through without reordering them.
+   */
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  private void moveToLast(Node<SimpleEntry<K, V>> node) {
+    entries.moveToLast(node);
+    modCount++;
+  }
+
+  private void evictEldest() {
+    var eldest = entries.removeFirst();
+    index.remove(eldest.getKey());
+    evictionListener.accept(eldest.getKey(), eldest.getValue());
+  }
+
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private final Iterator<SimpleEntry<K, V>> iterator = entries.iterator();
+    private SimpleEntry<K, V> last;
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      checkForConcurrentModification();
+      last = iterator.next();
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      checkForConcurrentModification();
+      iterator.remove();
+      index.remove(last.getKey());
+      last = null;
+      expectedModCount = ++modCount;
+    }
+
+    private void checkForConcurrentModification() {
+      if (expectedModCount != modCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+}
@@ -0,0 +1,455 @@
+package com.pantifik.ds.map.off_heap;
+
+import static com.pantifik.ds.map.utils.MapUtils.calculateMinCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
+import static com.pantifik.ds.map.utils.MapUtils.requireGreaterThan;
+import static com.pantifik.ds.map.utils.MapUtils.validateCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
+import com.pantifik.ds.map.capacity.IndexReducer;
+import com.pantifik.ds.map.open_addressing.Probing;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * The base of the open addressing hash maps from fixed width byte keys to fixed width byte values,
+ * whose table lives in buffers outside the Java heap.
+ * <p>
+ * A slot holds a state byte followed by the bytes of the key and of the value. An insertion
+ * writes the key and the value before the state byte and the counts, so a slot is never occupied
+ * by a partially written key, even if the process dies in the middle of it. The slots are
+ * spread over segments of a power of two number of slots, so the table may outgrow the 2 GiB limit
+ * of a single buffer. The subclasses decide where the segments live: they allocate the table of a
+ * rebuild, swap it for the previous one once it is filled and release it on close.
+ */
+abstract class AbstractOffHeapHashMap implements AutoCloseable {
+
+  static final int DEFAULT_CAPACITY = 13;
+  static final float DEFAULT_LOAD_FACTOR = .75f;
+  static final int MAX_SEGMENT_BYTES = 1 << 30;
+  static final byte EMPTY = 0;
+  static final byte OCCUPIED = 1;
+  static final byte DELETED = 2;
+  private static final int RESIZE_FACTOR = 2;
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+  private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+      ByteOrder.nativeOrder());
+  final int keySize;
+  final int valueSize;
+  final int slotWidth;
+  final float loadFactor;
+  final Probing probing;
+  private final int segmentShift;
+  private final int segmentMask;
+  private ByteBuffer[] segments;
+  private int capacity;
+  private IndexReducer reducer;
+  private int threshold;
+  int size;
+  int deleted;
+
+  /**
+   * Sets up the layout of the table, which the subclass then sets with
+   * {@link #setTable(ByteBuffer[], int)}.
+   *
+   * @throws IllegalArgumentException
+   *     if the key size is less than 1, the value size is less than 0, a slot does not fit into a
+   *     segment, capacity is less than 0, load factor is not in range [0.1, 1] or the probing keeps
+   *     the entries ordered by distance.
+   */
+  AbstractOffHeapHashMap(int keySize, int valueSize, int capacity, float loadFactor,
+      ProbingType probingType, int maxSegmentBytes) {
+    requireGreaterThan(0, keySize);
+    requireGreaterThan(-1, valueSize);
+    validateCapacity(capacity);
+    validateLoadFactor(loadFactor);
+    this.keySize = keySize;
+    this.valueSize = valueSize;
+    this.slotWidth = 1 + keySize + valueSize;
+    requireGreaterThan(slotWidth - 1, maxSegmentBytes);
+    this.segmentShift = 31 - Integer.numberOfLeadingZeros(maxSegmentBytes / slotWidth);
+    this.segmentMask = (1 << segmentShift) - 1;
+    this.loadFactor = loadFactor;
+    this.probing = Objects.requireNonNull(probingType)
+        .createProbingInstance(capacity);
+    if (probing.isDistanceOrdered()) {
+      throw new IllegalArgumentException("The distance ordered probing is not supported");
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int getKeySize() {
+    return keySize;
+  }
+
+  public int getValueSize() {
+    return valueSize;
+  }
+
+  /**
+   * Gets the number of bytes the table of slots takes outside the heap.
+   *
+   * @return the number of bytes.
+   */
+  public long getOffHeapBytes() {
+    return (long) capacity * slotWidth;
+  }
+
+  public boolean containsKey(byte[] key) {
+    return findSlot(key) >= 0;
+  }
+
+  /**
+   * Copies the value of the key into the array.
+   *
+   * @param key
+   *     the key.
+   * @param value
+   *     the array of the value size to copy the value into.
+   * @return true if the key was found, otherwise - false, leaving the array untouched.
+   * @throws IllegalArgumentException
+   *     if the key or the array have a different size.
+   */
+  public boolean get(byte[] key, byte[] value) {
+    requireSize(value, valueSize);
+    var slot = findSlot(key);
+    if (slot < 0) {
+      return false;
+    }
+    segment(slot).get(offset(slot) + 1 + keySize, value, 0, valueSize);
+    return true;
+  }
+
+  /**
+   * Puts the value of the key, replacing the previous one.
+   *
+   * @param key
+   *     the key.
+   * @param value
+   *     the value.
+   * @return true if the key was not in the map, otherwise - false.
+   * @throws IllegalArgumentException
+   *     if the key or the value have a different size.
+   */
+  public boolean put(byte[] key, byte[] value) {
+    requireSize(value, valueSize);
+    var slot = findSlot(key);
+    if (slot >= 0) {
+      segment(slot).put(offset(slot) + 1 + keySize, value, 0, valueSize);
+      return false;
+    }
+    slot = insertSlot(~slot, key);
+    var segment = segment(slot);
+    var offset = offset(slot);
+    var wasDeleted = segment.get(offset) == DELETED;
+    segment.put(offset + 1, key, 0, keySize);
+    segment.put(offset + 1 + keySize, value, 0, valueSize);
+    VarHandle.releaseFence();
+    segment.put(offset, OCCUPIED);
+    if (wasDeleted) {
+      deleted--;
+    }
+    size++;
+    countsChanged();
+    return true;
+  }
+
+  /**
+   * Removes the key.
+   *
+   * @param key
+   *     the key.
+   * @return true if the key was in the map, otherwise - false.
+   * @throws IllegalArgumentException
+   *     if the key has a different size.
+   */
+  public boolean remove(byte[] key) {
+    var slot = findSlot(key);
+    if (slot < 0) {
+      return false;
+    }
+    segment(slot).put(offset(slot), DELETED);
+    deleted++;
+    size--;
+    countsChanged();
+    return true;
+  }
+
+  public void clear() {
+    var oldSegments = requireOpen();
+    var newCapacity = probing.nextValidCapacity(Math.max(2, calculateMinCapacity(1, loadFactor)));
+    var newSegments = allocateTable(newCapacity);
+    size = 0;
+    deleted = 0;
+    setTable(newSegments, newCapacity);
+    threshold = 1;
+    replaceTable(oldSegments);
+  }
+
+  /**
+   * Performs the action for every entry of the map. The arrays passed to the action are reused
+   * for every entry, so the action must copy them to keep them.
+   *
+   * @param action
+   *     the action.
+   */
+  public void forEach(EntryConsumer action) {
+    Objects.requireNonNull(action);
+    requireOpen();
+    var key = new byte[keySize];
+    var value = new byte[valueSize];
+    for (int slot = 0; slot < capacity; slot++) {
+      var segment = segment(slot);
+      var offset = offset(slot);
+      if (segment.get(offset) == OCCUPIED) {
+        segment.get(offset + 1, key, 0, keySize);
+        segment.get(offset + 1 + keySize, value, 0, valueSize);
+        action.accept(key, value);
+      }
+    }
+  }
+
+  /**
+   * Releases the table and drops the references of the map to its buffers. The memory of the
+   * buffers is freed once the garbage collector collects them, not by the time this method
+   * returns. The map cannot be used afterwards, except for closing it again, which does nothing.
+   */
+  @Override
+  public void close() {
+    if (segments != null) {
+      var oldSegments = segments;
+      segments = null;
+      releaseTable(oldSegments);
+    }
+  }
+
+  public boolean isClosed() {
+    return segments == null;
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  int getSegmentCount() {
+    return segments.length;
+  }
+
+  final ByteBuffer[] getSegments() {
+    return segments;
+  }
+
+  /**
+   * Allocates the zeroed segments of a table of the capacity.
+   *
+   * @param capacity
+   *     the number of slots.
+   * @return the segments.
+   */
+  abstract ByteBuffer[] allocateTable(int capacity);
+
+  /**
+   * Takes over the table which has just been filled, releasing the previous one.
+   *
+   * @param oldSegments
+   *     the segments of the previous table.
+   */
+  abstract void replaceTable(ByteBuffer[] oldSegments);
+
+  /**
+   * Releases the table when the map is closed.
+   *
+   * @param segments
+   *     the segments of the table.
+   */
+  abstract void releaseTable(ByteBuffer[] segments);
+
+  /**
+   * Called whenever the size or the number of deleted marks change.
+   */
+  void countsChanged() {
+  }
+
+  /**
+   * Sets the table the map works on.
+   *
+   * @param segments
+   *     the segments of the table.
+   * @param capacity
+   *     the number of slots of the table.
+   */
+  final void setTable(ByteBuffer[] segments, int capacity) {
+    this.segments = segments;
+    this.capacity = capacity;
+    this.threshold = calculateThreshold(capacity, loadFactor);
+    this.reducer = IndexReducer.forCapacity(capacity);
+  }
+
+  /**
+   * Gets the number of slots of the segment.
+   */
+  final int segmentSlots(int capacity, int segment) {
+    return Math.min(1 << segmentShift, capacity - (segment << segmentShift));
+  }
+
+  final int segmentCount(int capacity) {
+    return (capacity + segmentMask) >>> segmentShift;
+  }
+
+  /**
+   * Probes the table for the key, remembering the first deleted mark the key could be inserted
+   * at, so a miss does not have to be probed again by the insertion.
+   *
+   * @return the slot of the key, or the complement of the slot to insert it at, if absent.
+   */
+  private int findSlot(byte[] key) {
+    requireSize(key, keySize);
+    requireOpen();
+    var hash = calculateHash(key);
+    var probeNr = 0;
+    var slot = calculateIndex(hash, probeNr);
+    var freeSlot = -1;
+    byte state;
+    while ((state = segment(slot).get(offset(slot))) != EMPTY) {
+      if (state == DELETED) {
+        if (freeSlot < 0) {
+          freeSlot = slot;
+        }
+      } else if (hasKey(slot, key)) {
+        return slot;
+      }
+      slot = calculateIndex(hash, ++probeNr);
+    }
+    return ~(freeSlot < 0 ? slot : freeSlot);
+  }
+
+  /**
+   * Returns the slot found by the probe, unless the table has to be resized or rebuilt first, in
+   * which case the slot is looked for again.
+   *
+   * @return the slot the key and value must be written to.
+   */
+  private int insertSlot(int slot, byte[] key) {
+    var newSize = size + 1;
+    var wasDeleted = segment(slot).get(offset(slot)) == DELETED;
+    if (newSize > threshold) {
+      rebuildTable(probing.nextValidCapacity(capacity * RESIZE_FACTOR));
+      return findFreeSlot(calculateHash(key));
+    }
+    if (!wasDeleted && newSize + deleted > threshold) {
+      rebuildTable(capacity);
+      return findFreeSlot(calculateHash(key));
+    }
+    return slot;
+  }
+
+  /**
+   * Moves the occupied slots into a fresh table of the capacity, dropping the deleted marks, and
+   * replaces the previous table by it.
+   */
+  private void rebuildTable(int newCapacity) {
+    var oldSegments = segments;
+    var oldCapacity = capacity;
+    var newSegments = allocateTable(newCapacity);
+    setTable(newSegments, newCapacity);
+    deleted = 0;
+    for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+      var oldSegment = oldSegments[oldSlot >>> segmentShift];
+      var oldOffset = (oldSlot & segmentMask) * slotWidth;
+      if (oldSegment.get(oldOffset) == OCCUPIED) {
+        var slot = findFreeSlot(calculateHash(oldSegment, oldOffset + 1));
+        segment(slot).put(offset(slot), oldSegment, oldOffset, slotWidth);
+      }
+    }
+    replaceTable(oldSegments);
+  }
+
+  private int findFreeSlot(int hash) {
+    var probeNr = 0;
+    var slot = calculateIndex(hash, probeNr);
+    while (segment(slot).get(offset(slot)) != EMPTY) {
+      slot = calculateIndex(hash, ++probeNr);
+    }
+    return slot;
+  }
+
+  /**
+   * Compares the key in the slot with the key, eight bytes at a time.
+   */
+  private boolean hasKey(int slot, byte[] key) {
+    var segment = segment(slot);
+    var offset = offset(slot) + 1;
+    var i = 0;
+    for (; i + Long.BYTES <= keySize; i += Long.BYTES) {
+      if (segment.getLong(offset + i) != (long) LONGS.get(key, i)) {
+        return false;
+      }
+    }
+    for (; i < keySize; i++) {
+      if (segment.get(offset + i) != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private ByteBuffer segment(int slot) {
+    return segments[slot >>> segmentShift];
+  }
+
+  private int offset(int slot) {
+    return (slot & segmentMask) * slotWidth;
+  }
+
+  private int calculateIndex(int hash, int probeNr) {
+    return reducer.reduce(hash + probing.probe(hash, probeNr));
+  }
+
+  private ByteBuffer[] requireOpen() {
+    if (segments == null) {
+      throw new IllegalStateException("The map is closed");
+    }
+    return segments;
+  }
+
+  private static void requireSize(byte[] bytes, int size) {
+    if (bytes.length != size) {
+      throw new IllegalArgumentException(
+          String.format("Array of %s bytes is required, but was %s", size, bytes.length));
+    }
+  }
+
+  private static int calculateHash(byte[] key) {
+    var hash = 1;
+    for (var b : key) {
+      hash = 31 * hash + b;
+    }
+    return spread(hash);
+  }
+
+  private int calculateHash(ByteBuffer segment, int offset) {
+    var hash = 1;
+    for (int i = 0; i < keySize; i++) {
+      hash = 31 * hash + segment.get(offset + i);
+    }
+    return spread(hash);
+  }
+
+  /**
+   * Spreads the bits of the hash, since the keys often differ only in their last bytes.
+   */
+  private static int spread(int hash) {
+    hash *= GOLDEN_RATIO;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,10 @@
+package com.pantifik.ds.map.off_heap;
+
+/**
+ * An action taking an entry of an off-heap map.
+ */
+@FunctionalInterface
+public interface EntryConsumer {
+
+  void accept(byte[] key, byte[] value);
+}
@@ -0,0 +1,282 @@
+package com.pantifik.ds.map.off_heap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * An open addressing hash map from fixed width byte keys to fixed width byte values, whose table
+ * lives in a memory mapped file.
+ * <p>
+ * The file starts with a header holding the layout and the counts of the table, followed by the
+ * slots. The slots are mapped in segments of at most 1 GiB, so the file may outgrow the 2 GiB
+ * limit of a single mapping. Reopening an existing file only maps it again, without reading or
+ * rehashing any entry.
+ * <p>
+ * The entries are written straight into the mapping, so they survive the crash of the process as
+ * soon as they are put, and the crash of the system once {@link #force()} returns. A resize never
+ * touches the current file: the new table is built in a shadow file next to it, forced to the
+ * storage and atomically renamed over the current file, so a crash leaves either the previous or
+ * the new table. The map is forced to the storage and its file closed by {@link #close()}. The
+ * mappings themselves, of the closed file as of a replaced one, are released once the garbage
+ * collector collects their buffers, as there is no supported way to unmap a buffer explicitly.
+ */
+public class MappedHashMap extends AbstractOffHeapHashMap {
+
+  static final int HEADER_BYTES = 64;
+  static final int MAGIC = 0x4D415048;
+  static final int VERSION = 1;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int VERSION_OFFSET = 4;
+  private static final int KEY_SIZE_OFFSET = 8;
+  private static final int VALUE_SIZE_OFFSET = 12;
+  private static final int PROBING_TYPE_OFFSET = 16;
+  private static final int LOAD_FACTOR_OFFSET = 20;
+  private static final int CAPACITY_OFFSET = 24;
+  private static final int SIZE_OFFSET = 28;
+  private static final int DELETED_OFFSET = 32;
+  private static final String SHADOW_SUFFIX = ".resize";
+  private final Path path;
+  private final ProbingType probingType;
+  private FileChannel channel;
+  private MappedByteBuffer header;
+  private FileChannel shadowChannel;
+  private MappedByteBuffer shadowHeader;
+
+  private MappedHashMap(Path path, int keySize, int valueSize, int capacity, float loadFactor,
+      ProbingType probingType, int maxSegmentBytes) {
+    super(keySize, valueSize, capacity, loadFactor, probingType, maxSegmentBytes);
+    this.path = path;
+    this.probingType = probingType;
+  }
+
+  public static MappedHashMap open(Path path, int keySize, int valueSize,
+      ProbingType probingType) throws IOException {
+    return open(path, keySize, valueSize, DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, probingType);
+  }
+
+  /**
+   * Opens the map stored in the file, or creates the file if it does not exist yet.
+   *
+   * @param path
+   *     the path of the file.
+   * @param keySize
+   *     the size of the keys.
+   * @param valueSize
+   *     the size of the values.
+   * @param capacity
+   *     the initial capacity of a new file, ignored for an existing one.
+   * @param loadFactor
+   *     the load factor of a new file, ignored for an existing one.
+   * @param probingType
+   *     the probing type.
+   * @return the map.
+   * @throws IOException
+   *     if the file cannot be opened or created, does not hold a hash map, or is shorter than
+   *     its table or holds counts not fitting its capacity.
+   * @throws IllegalArgumentException
+   *     if the arguments are not valid for a new map, or the existing file holds a map of other
+   *     key size, value size or probing type.
+   */
+  public static MappedHashMap open(Path path, int keySize, int valueSize, int capacity,
+      float loadFactor, ProbingType probingType) throws IOException {
+    return open(path, keySize, valueSize, capacity, loadFactor, probingType, MAX_SEGMENT_BYTES);
+  }
+
+  static MappedHashMap open(Path path, int keySize, int valueSize, int capacity,
+      float loadFactor, ProbingType probingType, int maxSegmentBytes) throws IOException {
+    Objects.requireNonNull(path);
+    Objects.requireNonNull(probingType);
+    if (Files.notExists(path)) {
+      var map = new MappedHashMap(path, keySize, valueSize, capacity, loadFactor, probingType,
+          maxSegmentBytes);
+      var validCapacity = map.probing.nextValidCapacity(Math.max(2, capacity));
+      map.setTable(map.allocateTable(validCapacity), validCapacity);
+      map.replaceTable(null);
+      return map;
+    }
+    var channel = FileChannel.open(path, READ, WRITE);
+    try {
+      if (channel.size() < HEADER_BYTES) {
+        throw new IOException("Not a hash map file: " + path);
+      }
+      var header = channel.map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+      if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+        throw new IOException("Not a hash map file: " + path);
+      }
+      if (header.getInt(KEY_SIZE_OFFSET) != keySize
+          || header.getInt(VALUE_SIZE_OFFSET) != valueSize
+          || header.getInt(PROBING_TYPE_OFFSET) != probingType.ordinal()) {
+        throw new IllegalArgumentException(
+            "The file holds a map of other key size, value size or probing type");
+      }
+      var storedCapacity = header.getInt(CAPACITY_OFFSET);
+      var storedLoadFactor = header.getFloat(LOAD_FACTOR_OFFSET);
+      if (storedCapacity < 2 || !(storedLoadFactor >= .1f && storedLoadFactor <= 1f)) {
+        throw new IOException("Corrupt hash map file: " + path);
+      }
+      MappedHashMap map;
+      try {
+        map = new MappedHashMap(path, keySize, valueSize, storedCapacity, storedLoadFactor,
+            probingType, maxSegmentBytes);
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Corrupt hash map file: " + path, e);
+      }
+      map.size = header.getInt(SIZE_OFFSET);
+      map.deleted = header.getInt(DELETED_OFFSET);
+      if (map.probing.nextValidCapacity(storedCapacity) != storedCapacity || map.size < 0
+          || map.deleted < 0 || (long) map.size + map.deleted > storedCapacity) {
+        throw new IOException("Corrupt hash map file: " + path);
+      }
+      if (channel.size() < HEADER_BYTES + (long) storedCapacity * map.slotWidth) {
+        throw new IOException("Truncated hash map file: " + path);
+      }
+      map.channel = channel;
+      map.header = header;
+      map.setTable(map.mapTable(channel, storedCapacity), storedCapacity);
+      return map;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Writes the changes of the table and of the header through to the storage, making them
+   * survive the crash of the system.
+   *
+   * @throws IllegalStateException
+   *     if the map is closed.
+   */
+  public void force() {
+    if (isClosed()) {
+      throw new IllegalStateException("The map is closed");
+    }
+    force(getSegments(), header);
+  }
+
+  /**
+   * Maps the table of the capacity into a new shadow file, replacing one left over by a crash.
+   */
+  @Override
+  ByteBuffer[] allocateTable(int capacity) {
+    var shadowPath = getShadowPath();
+    try {
+      Files.deleteIfExists(shadowPath);
+      shadowChannel = FileChannel.open(shadowPath, CREATE_NEW, READ, WRITE);
+      shadowHeader = shadowChannel.map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+      return mapTable(shadowChannel, capacity);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Forces the shadow file to the storage and renames it over the current file, which is then
+   * closed.
+   */
+  @Override
+  void replaceTable(ByteBuffer[] oldSegments) {
+    writeHeader(shadowHeader);
+    try {
+      force(getSegments(), shadowHeader);
+      shadowChannel.force(true);
+      Files.move(getShadowPath(), path, ATOMIC_MOVE, REPLACE_EXISTING);
+      forceDirectory(path.toAbsolutePath()
+          .getParent());
+      if (oldSegments != null) {
+        channel.close();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    channel = shadowChannel;
+    header = shadowHeader;
+    shadowChannel = null;
+    shadowHeader = null;
+  }
+
+  /**
+   * Forces the table to the storage and closes the file.
+   */
+  @Override
+  void releaseTable(ByteBuffer[] segments) {
+    force(segments, header);
+    header = null;
+    size = 0;
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  void countsChanged() {
+    header.putInt(SIZE_OFFSET, size);
+    header.putInt(DELETED_OFFSET, deleted);
+  }
+
+  private ByteBuffer[] mapTable(FileChannel channel, int capacity) throws IOException {
+    var table = new ByteBuffer[segmentCount(capacity)];
+    long position = HEADER_BYTES;
+    for (int i = 0; i < table.length; i++) {
+      var bytes = segmentSlots(capacity, i) * slotWidth;
+      table[i] = channel.map(MapMode.READ_WRITE, position, bytes)
+          .order(ByteOrder.nativeOrder());
+      position += bytes;
+    }
+    return table;
+  }
+
+  private void writeHeader(ByteBuffer header) {
+    header.putInt(MAGIC_OFFSET, MAGIC);
+    header.putInt(VERSION_OFFSET, VERSION);
+    header.putInt(KEY_SIZE_OFFSET, keySize);
+    header.putInt(VALUE_SIZE_OFFSET, valueSize);
+    header.putInt(PROBING_TYPE_OFFSET, probingType.ordinal());
+    header.putFloat(LOAD_FACTOR_OFFSET, loadFactor);
+    header.putInt(CAPACITY_OFFSET, getCapacity());
+    header.putInt(SIZE_OFFSET, size);
+    header.putInt(DELETED_OFFSET, deleted);
+  }
+
+  private Path getShadowPath() {
+    return path.resolveSibling(path.getFileName() + SHADOW_SUFFIX);
+  }
+
+  private static void force(ByteBuffer[] segments, MappedByteBuffer header) {
+    for (var segment : segments) {
+      ((MappedByteBuffer) segment).force();
+    }
+    header.force();
+  }
+
+  /**
+   * Forces the rename to the storage, where the file system allows to open a directory.
+   */
+  private static void forceDirectory(Path directory) {
+    try (var directoryChannel = FileChannel.open(directory, READ)) {
+      directoryChannel.force(true);
+    } catch (IOException ignored) {
+      // the rename is forced along with the next metadata change
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.pantifik.ds.map.off_heap;
+
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * An open addressing hash map from fixed width byte keys to fixed width byte values, whose table
+ * lives in direct buffers outside the Java heap.
+ * <p>
+ * The slots are spread over segments of at most 1 GiB. The garbage collector sees only the few
+ * segment buffers, however many entries the map holds, and the lookups copy the value into an
+ * array of the caller instead of allocating one.
+ * <p>
+ * The table follows the rules of the other open addressing maps: it grows by doubling once the
+ * size exceeds the load factor threshold, and it is rebuilt at the same capacity once the deleted
+ * marks would push it past the threshold. The map drops a replaced table, and the table itself on
+ * {@link #close()}, after which the map cannot be used. The memory of a dropped table is freed once
+ * the garbage collector collects its buffers, as there is no supported way to free a direct buffer
+ * explicitly; the runtime collects them before failing an allocation over the direct memory
+ * limit.
+ */
+public class OffHeapHashMap extends AbstractOffHeapHashMap {
+
+  public OffHeapHashMap(int keySize, int valueSize, ProbingType probingType) {
+    this(keySize, valueSize, DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, probingType);
+  }
+
+  /**
+   * Creates the hash map with given key and value sizes, capacity, load factor and probing type.
+   *
+   * @throws IllegalArgumentException
+   *     if the key size is less than 1, the value size is less than 0, capacity is less than 0,
+   *     load factor is not in range [0.1, 1], the capacity is not valid for the probing or the
+   *     probing keeps the entries ordered by distance.
+   */
+  public OffHeapHashMap(int keySize, int valueSize, int capacity, float loadFactor,
+      ProbingType probingType) {
+    this(keySize, valueSize, capacity, loadFactor, probingType, MAX_SEGMENT_BYTES);
+  }
+
+  OffHeapHashMap(int keySize, int valueSize, int capacity, float loadFactor,
+      ProbingType probingType, int maxSegmentBytes) {
+    super(keySize, valueSize, capacity, loadFactor, probingType, maxSegmentBytes);
+    var validCapacity = probing.nextValidCapacity(Math.max(2, capacity));
+    setTable(allocateTable(validCapacity), validCapacity);
+  }
+
+  @Override
+  ByteBuffer[] allocateTable(int capacity) {
+    var table = new ByteBuffer[segmentCount(capacity)];
+    for (int i = 0; i < table.length; i++) {
+      table[i] = ByteBuffer.allocateDirect(segmentSlots(capacity, i) * slotWidth)
+          .order(ByteOrder.nativeOrder());
+    }
+    return table;
+  }
+
+  /**
+   * Drops the previous table, leaving its buffers to the garbage collector.
+   */
+  @Override
+  void replaceTable(ByteBuffer[] oldSegments) {
+    // the buffers are referenced only by the table
+  }
+
+  @Override
+  void releaseTable(ByteBuffer[] segments) {
+    size = 0;
+  }
+}
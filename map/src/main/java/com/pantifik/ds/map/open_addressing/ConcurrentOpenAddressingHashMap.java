@@ -0,0 +1,571 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
+import static com.pantifik.ds.map.utils.MapUtils.validateCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
+import com.pantifik.ds.map.AbstractMap;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free open addressing hash map implementation, in the style of the non-blocking hash map
+ * of Cliff Click.
+ * <p>
+ * The keys and values are kept side by side in a single array and probed linearly. A key is put
+ * by claiming an empty key slot with a CAS, and never leaves it again: a removal replaces the
+ * value with a tombstone. A value is changed by a CAS of the value slot, so no operation ever
+ * blocks another.
+ * <p>
+ * A table running out of key slots is copied into a new one by all the writers together. Copying
+ * a slot first boxes its value, which makes the writes to the old slot fail, then puts the value
+ * into the new table, unless a newer one got there first, and finally marks the old slot as
+ * moved. The reads find the boxed value still current, and follow the moved slots to the new
+ * table. The new table is promoted once all of the slots are copied.
+ * <p>
+ * Neither null keys nor null values are permitted. The iterators are weakly consistent.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class ConcurrentOpenAddressingHashMap<K, V> extends AbstractMap<K, V>
+    implements ConcurrentMap<K, V> {
+
+  static final int REPROBE_LIMIT = 10;
+  static final int COPY_CHUNK = 64;
+  private static final int RESIZE_FACTOR = 2;
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int MAX_CAPACITY = 1 << 29;
+  private static final float DEFAULT_LOAD_FACTOR = .75f;
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+  /**
+   * Closes an empty key slot of a table being copied, so no key is put into it anymore.
+   */
+  private static final Object CLOSED_KEY = new Object();
+  private static final Object TOMBSTONE = new Object();
+  /**
+   * Marks a value slot which has been copied, or had nothing to copy.
+   */
+  private static final Boxed MOVED = new Boxed(TOMBSTONE);
+  private static final Object MATCH_ANY = new Object();
+  private static final Object MATCH_ABSENT = new Object();
+  private static final Object MATCH_PRESENT = new Object();
+  /**
+   * Matches a value slot that was never written, which is what a copy is allowed to fill.
+   */
+  private static final Object MATCH_UNWRITTEN = new Object();
+  private final float loadFactor;
+  private final AtomicReference<Table> top;
+
+  public ConcurrentOpenAddressingHashMap() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  public ConcurrentOpenAddressingHashMap(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates the hash map with given capacity and load factor.
+   *
+   * @param capacity
+   *     the initial number of slots, rounded up to a power of two.
+   * @param loadFactor
+   *     the share of the key slots which may be claimed before the table is copied.
+   * @throws IllegalArgumentException
+   *     if capacity is less than 0 or load factor is not in range [0.1, 1].
+   */
+  public ConcurrentOpenAddressingHashMap(int capacity, float loadFactor) {
+    validateCapacity(capacity);
+    validateLoadFactor(loadFactor);
+    this.loadFactor = loadFactor;
+    var slots = PowerOfTwo.nextPowerOfTwo(Math.max(2, capacity));
+    this.top = new AtomicReference<>(new Table(Math.min(slots, MAX_CAPACITY), loadFactor,
+        new LongAdder()));
+  }
+
+  @Override
+  public int size() {
+    var sum = top.get().size.sum();
+    return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    Objects.requireNonNull(value);
+    var iterator = entryIterator();
+    while (iterator.hasNext()) {
+      if (value.equals(iterator.next()
+          .getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    Objects.requireNonNull(key);
+    return (V) getValue(top.get(), key, calculateHash(key));
+  }
+
+  @Override
+  public V put(K key, V value) {
+    Objects.requireNonNull(value);
+    return putValue(key, value, MATCH_ANY);
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value) {
+    Objects.requireNonNull(value);
+    return putValue(key, value, MATCH_ABSENT);
+  }
+
+  @Override
+  public V remove(Object key) {
+    return putValue(key, TOMBSTONE, MATCH_ANY);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    Objects.requireNonNull(key);
+    return value != null && value.equals(putValue(key, TOMBSTONE, value));
+  }
+
+  @Override
+  public boolean replace(K key, V oldValue, V newValue) {
+    Objects.requireNonNull(oldValue);
+    Objects.requireNonNull(newValue);
+    return oldValue.equals(putValue(key, newValue, oldValue));
+  }
+
+  @Override
+  public V replace(K key, V value) {
+    Objects.requireNonNull(value);
+    return putValue(key, value, MATCH_PRESENT);
+  }
+
+  /**
+   * Replaces the table with an empty one, so the entries put concurrently may be lost.
+   */
+  @Override
+  public void clear() {
+    top.set(new Table(PowerOfTwo.nextPowerOfTwo(DEFAULT_CAPACITY), loadFactor, new LongAdder()));
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  /**
+   * Wraps the weakly consistent iterator, which does not know the size it will end up returning.
+   */
+  @Override
+  protected Spliterator<Entry<K, V>> entrySpliterator() {
+    return Spliterators.spliteratorUnknownSize(entryIterator(),
+        Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.CONCURRENT);
+  }
+
+  int getCapacity() {
+    return top.get().capacity;
+  }
+
+  private Object getValue(Table table, Object key, int hash) {
+    var index = hash & table.mask;
+    var reprobes = 0;
+    while (true) {
+      var k = table.keyAt(index);
+      if (k == null) {
+        return null;
+      }
+      if (k == key || (k != CLOSED_KEY && key.equals(k))) {
+        var v = table.valueAt(index);
+        if (v == MOVED) {
+          return getValue(table.next.get(), key, hash);
+        }
+        if (v instanceof Boxed boxed) {
+          return boxed.value;
+        }
+        return v == TOMBSTONE ? null : v;
+      }
+      if (k == CLOSED_KEY || ++reprobes >= table.reprobeLimit()) {
+        var next = table.next.get();
+        return next == null ? null : getValue(next, key, hash);
+      }
+      index = (index + 1) & table.mask;
+    }
+  }
+
+  private V putValue(Object key, Object value, Object expected) {
+    Objects.requireNonNull(key);
+    var previous = putValue(top.get(), key, calculateHash(key), value, expected);
+    return previous == TOMBSTONE ? null : (V) previous;
+  }
+
+  /**
+   * Puts the value, or the tombstone, of the key, provided that the current value matches the
+   * expected one.
+   *
+   * @return the previous value, or null if the key had no value.
+   */
+  private Object putValue(Table table, Object key, int hash, Object value, Object expected) {
+    var index = hash & table.mask;
+    var reprobes = 0;
+    while (true) {
+      var k = table.keyAt(index);
+      if (k == null) {
+        if (value == TOMBSTONE || expected == MATCH_PRESENT || isValue(expected)) {
+          return null;
+        }
+        if (table.casKey(index, key)) {
+          table.usedSlots.incrementAndGet();
+          break;
+        }
+        k = table.keyAt(index);
+      }
+      if (k == key || (k != CLOSED_KEY && key.equals(k))) {
+        break;
+      }
+      if (k == CLOSED_KEY || ++reprobes >= table.reprobeLimit()) {
+        var next = resize(table);
+        helpCopy(table);
+        return putValue(next, key, hash, value, expected);
+      }
+      index = (index + 1) & table.mask;
+    }
+    var next = table.next.get();
+    if (next == null && table.valueAt(index) == null && table.isFull()) {
+      next = resize(table);
+    }
+    if (next != null) {
+      return putIntoNext(table, index, key, hash, value, expected);
+    }
+    while (true) {
+      var v = table.valueAt(index);
+      if (v instanceof Boxed) {
+        return putIntoNext(table, index, key, hash, value, expected);
+      }
+      var present = v != null && v != TOMBSTONE;
+      if (!matches(expected, v, present) || (!present && value == TOMBSTONE)) {
+        return v;
+      }
+      if (table.casValue(index, v, value)) {
+        if (expected != MATCH_UNWRITTEN) {
+          if (!present) {
+            table.size.increment();
+          } else if (value == TOMBSTONE) {
+            table.size.decrement();
+          }
+        }
+        return v;
+      }
+    }
+  }
+
+  /**
+   * Moves the slot of the key to the next table before putting the value there, so the value is
+   * never overwritten by the copy.
+   */
+  private Object putIntoNext(Table table, int index, Object key, int hash, Object value,
+      Object expected) {
+    copySlot(table, index);
+    helpCopy(table);
+    return putValue(table.next.get(), key, hash, value, expected);
+  }
+
+  private static boolean matches(Object expected, Object v, boolean present) {
+    if (expected == MATCH_ANY) {
+      return true;
+    }
+    if (expected == MATCH_ABSENT) {
+      return !present;
+    }
+    if (expected == MATCH_PRESENT) {
+      return present;
+    }
+    if (expected == MATCH_UNWRITTEN) {
+      return v == null;
+    }
+    return present && expected.equals(v);
+  }
+
+  private static boolean isValue(Object expected) {
+    return expected != MATCH_ANY && expected != MATCH_ABSENT && expected != MATCH_UNWRITTEN;
+  }
+
+  /**
+   * Starts copying the table, unless a copy already started. The next table is sized for twice
+   * the live entries, so a table filled up by removed keys is copied into one of the same size.
+   *
+   * @return the table the entries are copied to.
+   */
+  private Table resize(Table table) {
+    var next = table.next.get();
+    if (next != null) {
+      return next;
+    }
+    var minThreshold = (table.size.sum() + 1) * 2;
+    var capacity = table.capacity;
+    while (capacity < MAX_CAPACITY && minThreshold > calculateThreshold(capacity, loadFactor)) {
+      capacity *= RESIZE_FACTOR;
+    }
+    next = new Table(capacity, loadFactor, table.size);
+    return table.next.compareAndSet(null, next) ? next : table.next.get();
+  }
+
+  /**
+   * Claims a chunk of slots of the table and copies them. The thread copying the last slots
+   * promotes the next table.
+   */
+  private void helpCopy(Table table) {
+    int start;
+    do {
+      start = table.copyIndex.get();
+      if (start >= table.capacity) {
+        return;
+      }
+    } while (!table.copyIndex.compareAndSet(start, start + COPY_CHUNK));
+    var end = Math.min(start + COPY_CHUNK, table.capacity);
+    for (int index = start; index < end; index++) {
+      copySlot(table, index);
+    }
+    if (table.copied.addAndGet(end - start) == table.capacity) {
+      promote();
+    }
+  }
+
+  /**
+   * Promotes the next tables of the fully copied top tables.
+   */
+  private void promote() {
+    var table = top.get();
+    var next = table.next.get();
+    while (next != null && table.copied.get() == table.capacity) {
+      top.compareAndSet(table, next);
+      table = top.get();
+      next = table.next.get();
+    }
+  }
+
+  private void copySlot(Table table, int index) {
+    var k = table.keyAt(index);
+    while (k == null) {
+      if (table.casKey(index, CLOSED_KEY)) {
+        k = CLOSED_KEY;
+      } else {
+        k = table.keyAt(index);
+      }
+    }
+    var v = table.valueAt(index);
+    while (!(v instanceof Boxed)) {
+      var boxed = v == null || v == TOMBSTONE ? MOVED : new Boxed(v);
+      if (table.casValue(index, v, boxed)) {
+        v = boxed;
+      } else {
+        v = table.valueAt(index);
+      }
+    }
+    if (v != MOVED) {
+      putValue(table.next.get(), k, calculateHash(k), ((Boxed) v).value, MATCH_UNWRITTEN);
+      table.casValue(index, v, MOVED);
+    }
+  }
+
+  /**
+   * Spreads the hash code, since the index only takes the low bits of it.
+   */
+  private static int calculateHash(Object key) {
+    var hash = key.hashCode() * GOLDEN_RATIO;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Wraps a value being copied to the next table.
+   */
+  private record Boxed(Object value) {}
+
+  private static final class Table {
+
+    final Object[] slots;
+    final int capacity;
+    final int mask;
+    final int threshold;
+    final LongAdder size;
+    final AtomicInteger usedSlots = new AtomicInteger();
+    final AtomicReference<Table> next = new AtomicReference<>();
+    final AtomicInteger copyIndex = new AtomicInteger();
+    final AtomicInteger copied = new AtomicInteger();
+
+    Table(int capacity, float loadFactor, LongAdder size) {
+      this.slots = new Object[capacity * 2];
+      this.capacity = capacity;
+      this.mask = capacity - 1;
+      this.threshold = calculateThreshold(capacity, loadFactor);
+      this.size = size;
+    }
+
+    Object keyAt(int index) {
+      return SLOTS.getVolatile(slots, index * 2);
+    }
+
+    Object valueAt(int index) {
+      return SLOTS.getVolatile(slots, index * 2 + 1);
+    }
+
+    boolean casKey(int index, Object key) {
+      return SLOTS.compareAndSet(slots, index * 2, null, key);
+    }
+
+    boolean casValue(int index, Object expected, Object value) {
+      return SLOTS.compareAndSet(slots, index * 2 + 1, expected, value);
+    }
+
+    boolean isFull() {
+      return usedSlots.get() > threshold;
+    }
+
+    int reprobeLimit() {
+      return REPROBE_LIMIT + (capacity >> 2);
+    }
+
+    boolean hasKey(Object key, int hash) {
+      var index = hash & mask;
+      for (int reprobes = 0; reprobes < reprobeLimit(); reprobes++) {
+        var k = keyAt(index);
+        if (k == null) {
+          return false;
+        }
+        if (k == key || key.equals(k)) {
+          return true;
+        }
+        index = (index + 1) & mask;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Walks the key slots of the top table and of the tables it is being copied to, skipping the
+   * keys already walked in an older table. The values are read through the map.
+   */
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private final Table first = top.get();
+    private Table table = first;
+    private int index;
+    private K nextKey;
+    private V nextValue;
+    private K lastKey;
+
+    EntryIterator() {
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextKey != null;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (nextKey == null) {
+        throw new NoSuchElementException();
+      }
+      var entry = new TableEntry(nextKey, nextValue);
+      lastKey = nextKey;
+      advance();
+      return entry;
+    }
+
+    @Override
+    public void remove() {
+      if (lastKey == null) {
+        throw new IllegalStateException();
+      }
+      ConcurrentOpenAddressingHashMap.this.remove(lastKey);
+      lastKey = null;
+    }
+
+    private void advance() {
+      while (table != null) {
+        while (index < table.capacity) {
+          var k = table.keyAt(index++);
+          if (k == null || k == CLOSED_KEY || isWalked(k)) {
+            continue;
+          }
+          var value = get(k);
+          if (value != null) {
+            nextKey = (K) k;
+            nextValue = value;
+            return;
+          }
+        }
+        table = table.next.get();
+        index = 0;
+      }
+      nextKey = null;
+      nextValue = null;
+    }
+
+    private boolean isWalked(Object key) {
+      if (table == first) {
+        return false;
+      }
+      var hash = calculateHash(key);
+      for (var older = first; older != table; older = older.next.get()) {
+        if (older.hasKey(key, hash)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * An entry detached from the table which writes its value changes through to the map.
+   */
+  private class TableEntry extends SimpleEntry<K, V> {
+
+    TableEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
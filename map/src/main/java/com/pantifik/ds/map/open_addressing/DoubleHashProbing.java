@@ -0,0 +1,63 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static com.pantifik.ds.map.utils.MapUtils.requireGreaterThan;
+
+/**
+ * A class that represent a double hashing probing method.
+ * <p>
+ * The stride is derived from a second hash of the key and is always odd, so it is co-prime with
+ * a power of two capacity and the probe sequence visits every slot. Colliding keys follow
+ * different sequences, which avoids both primary and secondary clustering.
+ */
+public class DoubleHashProbing implements Probing {
+
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+  /**
+   * Probes with unit stride, as no hash is known to derive the stride from.
+   *
+   * @param x
+   *     the number of probing.
+   * @return the number of probing.
+   */
+  @Override
+  public int probe(int x) {
+    requireGreaterThan(-1, x);
+    return x;
+  }
+
+  /**
+   * Probes the linear function with a stride derived from the hash.
+   *
+   * @param hash
+   *     the hash of the key.
+   * @param x
+   *     the number of probing.
+   * @return the probe result.
+   */
+  @Override
+  public int probe(int hash, int x) {
+    requireGreaterThan(-1, x);
+    return x * calculateStride(hash);
+  }
+
+  /**
+   * Finds the next power of two, so that any odd stride is co-prime with the capacity.
+   *
+   * @param currentCapacity
+   *     current capacity.
+   * @return the next power of two.
+   *
+   * @throws IllegalArgumentException
+   *     if the current capacity is less than 2.
+   */
+  @Override
+  public int nextValidCapacity(int currentCapacity) {
+    requireGreaterThan(1, currentCapacity);
+    return PowerOfTwo.nextPowerOfTwo(currentCapacity);
+  }
+
+  int calculateStride(int hash) {
+    return ((hash * GOLDEN_RATIO) >>> 16) | 1;
+  }
+}
@@ -1,6 +1,7 @@
 package com.pantifik.ds.map.open_addressing;
 
 import static com.pantifik.ds.map.utils.MapUtils.requireGreaterThan;
+import com.pantifik.ds.map.capacity.PrimeCapacityPolicy;
 import com.pantifik.ds.map.utils.MapUtils;
 
 /**
@@ -9,6 +10,7 @@ import com.pantifik.ds.map.utils.MapUtils;
 public class LinearProbing implements Probing {
 
   private final int constant;
+  private final PrimeCapacityPolicy capacityPolicy;
 
   /**
    * Creates the probing instance doing some validation.
@@ -25,6 +27,7 @@ public class LinearProbing implements Probing {
       throw new IllegalArgumentException("The GCD must be 1");
     }
     this.constant = constant;
+    this.capacityPolicy = new PrimeCapacityPolicy(constant);
   }
 
   /**
@@ -42,6 +45,9 @@ public class LinearProbing implements Probing {
 
   /**
    * Finds the next valid capacity for the current probing function.
+   * <p>
+   * The capacity is the next prime of the {@link PrimeCapacityPolicy prime ladder} which is
+   * co-prime with the constant.
    *
    * @param currentCapacity
    *     current capacity.
@@ -53,11 +59,7 @@ public class LinearProbing implements Probing {
   @Override
   public int nextValidCapacity(int currentCapacity) {
     MapUtils.requireGreaterThan(1, currentCapacity);
-    int capacity = currentCapacity;
-    while (!Prime.isPrime(capacity)) {
-      capacity++;
-    }
-    return capacity;
+    return capacityPolicy.nextCapacity(currentCapacity);
   }
 
   int getConstant() {
@@ -4,45 +4,102 @@ import static com.pantifik.ds.map.utils.MapUtils.calculateMinCapacity;
 import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
 import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
 import com.pantifik.ds.map.AbstractMap;
-import java.util.Arrays;
+import com.pantifik.ds.map.ResizeMode;
+import com.pantifik.ds.map.capacity.IndexReducer;
+import com.pantifik.ds.map.hash.HashStrategy;
+import com.pantifik.ds.map.hash.IdentityHashStrategy;
+import com.pantifik.ds.map.stats.Instrumented;
+import com.pantifik.ds.map.stats.MapStats;
+import com.pantifik.ds.map.stats.StatsRecorder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * An open addressing based hash map implementation.
+ * <p>
+ * The mappings are stored in parallel arrays of keys, values and cached hash codes, so a probe
+ * compares the cached hash first and only touches the key object on a hash match.
+ * <p>
+ * In the {@link ResizeMode#INCREMENTAL incremental} resize mode the old table is kept after a
+ * resize and every write moves the next {@value #MIGRATION_STEP} slots of it into the new table.
+ * A write to a key still left in the old table moves that entry first, so only the new table is
+ * ever written to, while the lookups search both tables until the old one is drained.
+ * <p>
+ * The {@link Instrumented statistics} count the used slots compared by a lookup in both tables,
+ * and the runs of used slots of the new table, including the deleted ones, as its chains.
  *
  * @param <K>
  *     the type of the keys.
  * @param <V>
  *     the type of the values.
  */
-public class OpenAddressingHashMap<K, V> extends AbstractMap<K, V> {
+public class OpenAddressingHashMap<K, V> extends AbstractMap<K, V> implements Instrumented {
 
-  private static final String DELETED_MARK_ENTRY_KEY = "DELETED";
+  static final int MIGRATION_STEP = 16;
+  private static final Object DELETED_MARK = new Object();
   private static final int RESIZE_FACTOR = 2;
   private static final int DEFAULT_CAPACITY = 13;
   private static final float DEFAULT_LOAD_FACTOR = .75f;
-  private final Entry<K, V> deletedMark = new SimpleEntry(DELETED_MARK_ENTRY_KEY, null);
   private final float loadFactor;
   private final Probing probing;
-  private Entry<K, V>[] table;
+  private final ResizeMode resizeMode;
+  private final HashStrategy hashStrategy;
+  private Object[] keys;
+  private Object[] values;
+  private int[] hashes;
   private int capacity;
+  private IndexReducer reducer;
   private int threshold;
   private int size;
+  private int deleted;
+  /**
+   * Counts the changes which move entries between slots, so a slot found before a callback into
+   * user code is known to be stale afterwards.
+   */
+  private int modCount;
+  /**
+   * Hold the slots of the old table not yet migrated by an incremental resize, or null.
+   */
+  private Object[] oldKeys;
+  private Object[] oldValues;
+  private int[] oldHashes;
+  private IndexReducer oldReducer;
+  private int migrateIndex;
+  private volatile StatsRecorder stats;
 
   public OpenAddressingHashMap(ProbingType probingType) {
     this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, probingType);
   }
 
   public OpenAddressingHashMap(int capacity, float loadFactor, ProbingType probingType) {
+    this(capacity, loadFactor, probingType, ResizeMode.BLOCKING);
+  }
+
+  public OpenAddressingHashMap(int capacity, float loadFactor, ProbingType probingType,
+      ResizeMode resizeMode) {
+    this(capacity, loadFactor, probingType, resizeMode, new IdentityHashStrategy());
+  }
+
+  public OpenAddressingHashMap(int capacity, float loadFactor, ProbingType probingType,
+      ResizeMode resizeMode, HashStrategy hashStrategy) {
     validateLoadFactor(loadFactor);
     this.capacity = capacity;
     this.loadFactor = loadFactor;
+    this.resizeMode = Objects.requireNonNull(resizeMode);
+    this.hashStrategy = Objects.requireNonNull(hashStrategy);
+    this.probing = probingType.createProbingInstance(capacity);
+    if (capacity > 1) {
+      this.capacity = probing.nextValidCapacity(capacity);
+    }
     this.threshold = calculateThreshold(this.capacity, this.loadFactor);
-    this.table = new Entry[capacity];
+    allocateTable();
     this.size = 0;
-    this.probing = probingType.createProbingInstance(this);
   }
 
   @Override
@@ -58,14 +115,25 @@ public class OpenAddressingHashMap<K, V> extends AbstractMap<K, V> {
   @Override
   public boolean containsKey(Object key) {
     Objects.requireNonNull(key);
-    return getEntryByKey((K) key).isPresent();
+    var hash = calculateHash(key);
+    var found = findSlot(key, hash) >= 0 || findOldSlot(key, hash) >= 0;
+    var recorder = stats;
+    if (recorder != null) {
+      recordLookup(recorder, key, hash, found);
+    }
+    return found;
   }
 
   @Override
   public boolean containsValue(Object value) {
-    for (int i = 0; i < table.length; i++) {
-      var entry = table[i];
-      if (entry != null && Objects.equals(entry.getValue(), value)) {
+    for (int i = 0; i < capacity; i++) {
+      if (isOccupied(i) && Objects.equals(values[i], value)) {
+        return true;
+      }
+    }
+    for (int i = 0; oldKeys != null && i < oldKeys.length; i++) {
+      var key = oldKeys[i];
+      if (key != null && key != DELETED_MARK && Objects.equals(oldValues[i], value)) {
         return true;
       }
     }
@@ -74,22 +142,113 @@ public class OpenAddressingHashMap<K, V> extends AbstractMap<K, V> {
 
   @Override
   public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
     Objects.requireNonNull(key);
-    var k = (K) key;
-    return getEntryByKey(k).orElseGet(() -> new SimpleEntry<>(k, null))
-        .getValue();
+    var hash = calculateHash(key);
+    var index = findSlot(key, hash);
+    var oldIndex = index < 0 ? findOldSlot(key, hash) : -1;
+    var recorder = stats;
+    if (recorder != null) {
+      recordLookup(recorder, key, hash, index >= 0 || oldIndex >= 0);
+    }
+    if (index >= 0) {
+      return valueAt(index);
+    }
+    return oldIndex < 0 ? defaultValue : (V) oldValues[oldIndex];
   }
 
   @Override
   public V put(K key, V value) {
     Objects.requireNonNull(key);
-    var entry = getEntryByKey(key);
-    if (entry.isEmpty()) {
-      insertEntry(new SimpleEntry<>(key, value));
+    var hash = calculateHash(key);
+    var index = findSlotForUpdate(key, hash);
+    if (index < 0) {
+      insertEntry(~index, key, value, hash);
       return null;
     } else {
-      return updateEntry(entry.get(), value);
+      return updateEntry(index, value);
+    }
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value) {
+    Objects.requireNonNull(key);
+    var hash = calculateHash(key);
+    var index = findSlotForUpdate(key, hash);
+    if (index < 0) {
+      insertEntry(~index, key, value, hash);
+      return null;
+    }
+    var oldValue = valueAt(index);
+    if (oldValue == null) {
+      values[index] = value;
+    }
+    return oldValue;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(mappingFunction);
+    var hash = calculateHash(key);
+    var index = findSlotForUpdate(key, hash);
+    if (index >= 0 && values[index] != null) {
+      return valueAt(index);
     }
+    var expectedModCount = modCount;
+    var value = mappingFunction.apply(key);
+    checkForConcurrentModification(expectedModCount);
+    return value == null ? null : storeValue(index, key, value, hash);
+  }
+
+  @Override
+  public V computeIfPresent(K key,
+      BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(remappingFunction);
+    var hash = calculateHash(key);
+    var index = findSlotForUpdate(key, hash);
+    if (index < 0 || values[index] == null) {
+      return null;
+    }
+    var expectedModCount = modCount;
+    var value = remappingFunction.apply(key, valueAt(index));
+    checkForConcurrentModification(expectedModCount);
+    return storeValue(index, key, value, hash);
+  }
+
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(remappingFunction);
+    var hash = calculateHash(key);
+    var index = findSlotForUpdate(key, hash);
+    var expectedModCount = modCount;
+    var value = remappingFunction.apply(key, index < 0 ? null : valueAt(index));
+    checkForConcurrentModification(expectedModCount);
+    return storeValue(index, key, value, hash);
+  }
+
+  @Override
+  public V merge(K key, V value,
+      BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    Objects.requireNonNull(remappingFunction);
+    var hash = calculateHash(key);
+    var index = findSlotForUpdate(key, hash);
+    var oldValue = index < 0 ? null : valueAt(index);
+    if (oldValue == null) {
+      return storeValue(index, key, value, hash);
+    }
+    var expectedModCount = modCount;
+    var newValue = remappingFunction.apply(oldValue, value);
+    checkForConcurrentModification(expectedModCount);
+    return storeValue(index, key, newValue, hash);
   }
 
   @Override
@@ -103,88 +262,621 @@ public class OpenAddressingHashMap<K, V> extends AbstractMap<K, V> {
     threshold = 1;
     capacity = probing.nextValidCapacity(calculateMinCapacity(threshold, loadFactor));
     size = 0;
-    table = new Entry[capacity];
+    deleted = 0;
+    allocateTable();
+    dropOldTable();
+  }
+
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  /**
+   * Splits the slots of the table by index ranges, completing a pending incremental resize first.
+   */
+  @Override
+  protected Spliterator<Entry<K, V>> entrySpliterator() {
+    completeMigration();
+    return new EntrySpliterator(0, capacity, size);
+  }
+
+  @Override
+  public void setStatsEnabled(boolean enabled) {
+    stats = enabled ? new StatsRecorder() : null;
+  }
+
+  @Override
+  public boolean isStatsEnabled() {
+    return stats != null;
   }
 
   @Override
-  protected Stream<Entry<K, V>> getEntryStream() {
-    return Arrays.stream(table)
-        .filter(Objects::nonNull);
+  public MapStats getStats() {
+    var recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    return recorder.snapshot(size, capacity, deleted, measureClusters());
+  }
+
+  @Override
+  public MapStats getRecordedStats() {
+    var recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    return recorder.snapshot(size, capacity, deleted, StatsRecorder.newHistogram());
   }
 
   int getCapacity() {
     return capacity;
   }
 
+  boolean isMigrating() {
+    return oldKeys != null;
+  }
+
   private V removeEntryByKey(Object key) {
-    int hash = calculateHash((K) key);
-    Entry<K, V> entry = null;
-    int probeNr = 0;
-    int index = calculateIndex(hash, probeNr);
-    while ((entry = table[index]) != null) {
-      if (Objects.equals(entry.getKey(), key)) {
-        table[index] = deletedMark;
-        size--;
-        return entry.getValue();
-      } else {
-        index = calculateIndex(hash, ++probeNr);
-      }
+    var index = findSlotForUpdate(key, calculateHash(key));
+    return index < 0 ? null : removeEntryAt(index);
+  }
+
+  private V removeEntryAt(int index) {
+    modCount++;
+    var value = valueAt(index);
+    if (probing.isDistanceOrdered()) {
+      shiftBackward(index);
+    } else {
+      keys[index] = DELETED_MARK;
+      values[index] = null;
+      deleted++;
     }
-    return null;
+    size--;
+    return value;
   }
 
-  private V updateEntry(Entry<K, V> entry, V value) {
-    return entry.setValue(value);
+  /**
+   * Back-fills the removed slot by moving the rest of the cluster one slot backward, until an
+   * empty slot or an entry sitting in its home slot is reached.
+   */
+  private void shiftBackward(int index) {
+    var next = nextIndex(index);
+    while (keys[next] != null && calculateDistance(next) > 0) {
+      moveSlot(next, index);
+      index = next;
+      next = nextIndex(next);
+    }
+    keys[index] = null;
+    values[index] = null;
+  }
+
+  private V updateEntry(int index, V value) {
+    var oldValue = valueAt(index);
+    values[index] = value;
+    return oldValue;
   }
 
-  private void insertEntry(Entry<K, V> entry) {
+  /**
+   * Stores the value computed for the key at the slot found by the probe, removing the entry if
+   * the value is null.
+   *
+   * @return the stored value.
+   */
+  private V storeValue(int index, K key, V value, int hash) {
+    if (value == null) {
+      if (index >= 0) {
+        removeEntryAt(index);
+      }
+    } else if (index >= 0) {
+      values[index] = value;
+    } else {
+      insertEntry(~index, key, value, hash);
+    }
+    return value;
+  }
+
+  /**
+   * Inserts the entry at the slot found by the probe, unless the table has to be resized or
+   * rebuilt first, in which case the slot is looked for again.
+   */
+  private void insertEntry(int index, Object key, Object value, int hash) {
     var newSize = size + 1;
     if (newSize > threshold) {
       resizeTable();
+      index = findFreeIndex(hash);
+    } else if (keys[index] == null && newSize + deleted > threshold) {
+      rebuildTable();
+      index = findFreeIndex(hash);
     }
     size = newSize;
-    int hash = calculateHash(entry.getKey());
-    int probeNr = 0;
-    int index = calculateIndex(hash, probeNr);
-    while (table[index] != null && !Objects.equals(table[index], deletedMark)) {
-      index = calculateIndex(hash, ++probeNr);
+    placeEntry(index, key, value, hash);
+  }
+
+  private void placeEntry(int index, Object key, Object value, int hash) {
+    modCount++;
+    if (probing.isDistanceOrdered()) {
+      insertOrdered(index, key, value, hash);
+      return;
     }
-    table[index] = entry;
+    if (keys[index] == DELETED_MARK) {
+      deleted--;
+    }
+    writeSlot(index, key, value, hash);
+  }
+
+  /**
+   * Inserts the entry taking the slot of any entry that is closer to its home slot, which is
+   * then carried further until a free slot is found.
+   */
+  private void insertOrdered(int index, Object key, Object value, int hash) {
+    var distance = calculateDistance(index, hash);
+    while (keys[index] != null) {
+      var residentDistance = calculateDistance(index);
+      if (residentDistance < distance) {
+        var residentKey = keys[index];
+        var residentValue = values[index];
+        var residentHash = hashes[index];
+        writeSlot(index, key, value, hash);
+        key = residentKey;
+        value = residentValue;
+        hash = residentHash;
+        distance = residentDistance;
+      }
+      index = nextIndex(index);
+      distance++;
+    }
+    writeSlot(index, key, value, hash);
   }
 
   private void resizeTable() {
+    var recorder = stats;
+    var start = recorder != null ? System.nanoTime() : 0;
+    completeMigration();
     capacity = probing.nextValidCapacity(capacity * RESIZE_FACTOR);
     threshold = calculateThreshold(capacity, loadFactor);
-    size = 0;
-    Entry<K, V>[] oldTable = table;
-    table = new Entry[capacity];
-    for (var entry : oldTable) {
-      if (entry != null) {
-        insertEntry(entry);
+    if (resizeMode == ResizeMode.INCREMENTAL) {
+      deleted = 0;
+      oldKeys = keys;
+      oldValues = values;
+      oldHashes = hashes;
+      oldReducer = reducer;
+      migrateIndex = 0;
+      allocateTable();
+      migrateSlots();
+    } else {
+      rebuildTable();
+    }
+    if (recorder != null) {
+      recorder.recordResize(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Looks the key up for a write, after migrating the next slots of the old table. A key still
+   * left in the old table is moved to the slot the lookup found for it in the new table.
+   */
+  private int findSlotForUpdate(Object key, int hash) {
+    if (oldKeys != null) {
+      migrateSlots();
+    }
+    var index = findSlot(key, hash);
+    var oldIndex = index < 0 ? findOldSlot(key, hash) : -1;
+    if (oldIndex < 0) {
+      return index;
+    }
+    placeEntry(~index, oldKeys[oldIndex], oldValues[oldIndex], hash);
+    clearOldSlot(oldIndex);
+    return ~index;
+  }
+
+  /**
+   * Moves the next occupied slots of the old table into the new one. A migrated slot is marked as
+   * deleted rather than emptied, so the probe sequences passing through it stay unbroken.
+   */
+  private void migrateSlots() {
+    var end = Math.min(migrateIndex + MIGRATION_STEP, oldKeys.length);
+    for (; migrateIndex < end; migrateIndex++) {
+      var key = oldKeys[migrateIndex];
+      if (key != null && key != DELETED_MARK) {
+        var hash = oldHashes[migrateIndex];
+        placeEntry(findFreeIndex(hash), key, oldValues[migrateIndex], hash);
+        clearOldSlot(migrateIndex);
       }
     }
+    if (migrateIndex == oldKeys.length) {
+      dropOldTable();
+    }
+  }
+
+  private void completeMigration() {
+    while (oldKeys != null) {
+      migrateSlots();
+    }
   }
 
-  private Optional<Entry<K, V>> getEntryByKey(K key) {
-    int hash = calculateHash(key);
-    Entry<K, V> entry = null;
+  private void clearOldSlot(int index) {
+    oldKeys[index] = DELETED_MARK;
+    oldValues[index] = null;
+  }
+
+  private void dropOldTable() {
+    oldKeys = null;
+    oldValues = null;
+    oldHashes = null;
+  }
+
+  /**
+   * Probes the old table until an empty slot. Its entries only ever get marked as deleted, which
+   * keeps this valid for the distance ordered probing too.
+   *
+   * @return the index of the key in the old table, or -1 if absent.
+   */
+  private int findOldSlot(Object key, int hash) {
+    if (oldKeys == null) {
+      return -1;
+    }
+    int probeNr = 0;
+    int index = oldReducer.reduce(hash + probing.probe(hash, probeNr));
+    Object k;
+    while ((k = oldKeys[index]) != null) {
+      if (oldHashes[index] == hash && k != DELETED_MARK && (k == key || key.equals(k))) {
+        return index;
+      }
+      index = oldReducer.reduce(hash + probing.probe(hash, ++probeNr));
+    }
+    return -1;
+  }
+
+  /**
+   * Re-inserts all the entries into a fresh table, which drops the deleted marks.
+   */
+  private void rebuildTable() {
+    deleted = 0;
+    var oldKeys = keys;
+    var oldValues = values;
+    var oldHashes = hashes;
+    allocateTable();
+    for (int i = 0; i < oldKeys.length; i++) {
+      var key = oldKeys[i];
+      if (key != null && key != DELETED_MARK) {
+        var hash = oldHashes[i];
+        placeEntry(findFreeIndex(hash), key, oldValues[i], hash);
+      }
+    }
+  }
+
+  /**
+   * Allocates the table for the current capacity, along with the reducer computing its indices
+   * without an integer division.
+   */
+  private void allocateTable() {
+    modCount++;
+    reducer = IndexReducer.forCapacity(capacity);
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+  }
+
+  /**
+   * Probes the table for the key, remembering the first slot the key could be inserted at, so a
+   * miss does not have to be probed again by the insertion.
+   *
+   * @return the index of the key, or the complement of the index to insert it at, if absent.
+   */
+  private int findSlot(Object key, int hash) {
+    if (probing.isDistanceOrdered()) {
+      return findOrderedSlot(key, hash);
+    }
     int probeNr = 0;
     int index = calculateIndex(hash, probeNr);
-    while ((entry = table[index]) != null) {
-      if (Objects.equals(entry.getKey(), key)) {
-        return Optional.of(entry);
-      } else {
-        index = calculateIndex(hash, ++probeNr);
+    int freeIndex = -1;
+    Object k;
+    while ((k = keys[index]) != null) {
+      if (k == DELETED_MARK) {
+        if (freeIndex < 0) {
+          freeIndex = index;
+        }
+      } else if (hashes[index] == hash && (k == key || key.equals(k))) {
+        return index;
+      }
+      index = calculateIndex(hash, ++probeNr);
+    }
+    return ~(freeIndex < 0 ? index : freeIndex);
+  }
+
+  /**
+   * Stops as soon as an entry closer to its home slot than the searched key would be is met,
+   * because the ordering guarantees the key is not placed further. That is also the slot the key
+   * would be inserted at.
+   */
+  private int findOrderedSlot(Object key, int hash) {
+    var index = calculateHomeIndex(hash);
+    var distance = 0;
+    Object k;
+    while ((k = keys[index]) != null && calculateDistance(index) >= distance) {
+      if (hashes[index] == hash && (k == key || key.equals(k))) {
+        return index;
       }
+      index = nextIndex(index);
+      distance++;
     }
-    return Optional.empty();
+    return ~index;
+  }
+
+  /**
+   * Probes the tables the way the lookup does, counting the used slots compared with the key.
+   */
+  private void recordLookup(StatsRecorder recorder, Object key, int hash, boolean found) {
+    var ordered = probing.isDistanceOrdered();
+    var probeNr = 0;
+    var index = ordered ? calculateHomeIndex(hash) : calculateIndex(hash, probeNr);
+    var probes = 0;
+    Object k;
+    while ((k = keys[index]) != null && (!ordered || calculateDistance(index) >= probeNr)) {
+      probes++;
+      if (k != DELETED_MARK && hashes[index] == hash && (k == key || key.equals(k))) {
+        recorder.recordHit(probes);
+        return;
+      }
+      probeNr++;
+      index = ordered ? nextIndex(index) : calculateIndex(hash, probeNr);
+    }
+    if (oldKeys != null) {
+      probeNr = 0;
+      index = oldReducer.reduce(hash + probing.probe(hash, probeNr));
+      while ((k = oldKeys[index]) != null) {
+        probes++;
+        if (oldHashes[index] == hash && k != DELETED_MARK && (k == key || key.equals(k))) {
+          break;
+        }
+        index = oldReducer.reduce(hash + probing.probe(hash, ++probeNr));
+      }
+    }
+    if (found) {
+      recorder.recordHit(probes);
+    } else {
+      recorder.recordMiss(probes);
+    }
+  }
+
+  /**
+   * Measures the lengths of the runs of used slots, starting the walk at an empty slot so no run
+   * is split by the wrap around.
+   */
+  private long[] measureClusters() {
+    var histogram = StatsRecorder.newHistogram();
+    var start = 0;
+    while (start < capacity && keys[start] != null) {
+      start++;
+    }
+    if (start == capacity) {
+      if (capacity > 0) {
+        StatsRecorder.addToHistogram(histogram, capacity);
+      }
+      return histogram;
+    }
+    var length = 0;
+    for (int i = 1; i <= capacity; i++) {
+      var index = start + i < capacity ? start + i : start + i - capacity;
+      if (keys[index] != null) {
+        length++;
+      } else if (length > 0) {
+        StatsRecorder.addToHistogram(histogram, length);
+        length = 0;
+      }
+    }
+    return histogram;
+  }
+
+  private int findFreeIndex(int hash) {
+    if (probing.isDistanceOrdered()) {
+      return calculateHomeIndex(hash);
+    }
+    int probeNr = 0;
+    int index = calculateIndex(hash, probeNr);
+    while (isOccupied(index)) {
+      index = calculateIndex(hash, ++probeNr);
+    }
+    return index;
+  }
+
+  private boolean isOccupied(int index) {
+    var key = keys[index];
+    return key != null && key != DELETED_MARK;
+  }
+
+  private void writeSlot(int index, Object key, Object value, int hash) {
+    keys[index] = key;
+    values[index] = value;
+    hashes[index] = hash;
+  }
+
+  private void moveSlot(int from, int to) {
+    writeSlot(to, keys[from], values[from], hashes[from]);
+  }
+
+  private K keyAt(int index) {
+    return (K) keys[index];
+  }
+
+  private V valueAt(int index) {
+    return (V) values[index];
   }
 
   private int calculateIndex(int hash, int probeNr) {
-    return ((hash + probing.probe(probeNr)) & 0x7FFFFFFF) % capacity;
+    return reducer.reduce(hash + probing.probe(hash, probeNr));
   }
 
-  private int calculateHash(K key) {
-    return Objects.hashCode(key);
+  private int calculateHomeIndex(int hash) {
+    return reducer.reduce(hash);
+  }
+
+  private int calculateDistance(int index) {
+    return calculateDistance(index, hashes[index]);
+  }
+
+  private int calculateDistance(int index, int hash) {
+    var homeIndex = calculateHomeIndex(hash);
+    return index >= homeIndex ? index - homeIndex : index + capacity - homeIndex;
+  }
+
+  private int nextIndex(int index) {
+    return index + 1 == capacity ? 0 : index + 1;
+  }
+
+  private void checkForConcurrentModification(int expectedModCount) {
+    if (expectedModCount != modCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  private int calculateHash(Object key) {
+    return hashStrategy.hash(key);
+  }
+
+  /**
+   * Walks the slots of the table once. A removal in the distance ordered mode shifts the rest of
+   * the cluster backward into the removed slot, so the walk starts right after an empty slot,
+   * which no shift crosses, and visits the removed slot again. A pending incremental resize is
+   * completed first, as the walk costs as much anyway.
+   */
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private final int start;
+    private int position;
+    private int remaining = size;
+    private int lastIndex = -1;
+    private int expectedModCount;
+
+    EntryIterator() {
+      completeMigration();
+      var emptyIndex = 0;
+      if (probing.isDistanceOrdered()) {
+        while (emptyIndex < capacity && keys[emptyIndex] != null) {
+          emptyIndex++;
+        }
+      }
+      start = emptyIndex == capacity ? 0 : emptyIndex;
+      expectedModCount = modCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      checkForConcurrentModification(expectedModCount);
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      var index = slotAt(position++);
+      while (!isOccupied(index)) {
+        index = slotAt(position++);
+      }
+      lastIndex = index;
+      remaining--;
+      return new TableEntry(keyAt(index), valueAt(index));
+    }
+
+    @Override
+    public void remove() {
+      if (lastIndex == -1) {
+        throw new IllegalStateException();
+      }
+      checkForConcurrentModification(expectedModCount);
+      removeEntryAt(lastIndex);
+      if (isOccupied(lastIndex)) {
+        position--;
+      }
+      lastIndex = -1;
+      expectedModCount = modCount;
+    }
+
+    private int slotAt(int position) {
+      var index = start + position;
+      return index < capacity ? index : index - capacity;
+    }
+  }
+
+  /**
+   * Walks a range of the slots, giving away the lower half of it on a split. Only the spliterator
+   * which was never split knows its exact size, the others estimate it as a half of their parent.
+   */
+  private class EntrySpliterator implements Spliterator<Entry<K, V>> {
+
+    private final int fence;
+    private final int expectedModCount = modCount;
+    private int index;
+    private long estimate;
+    private boolean sized;
+
+    EntrySpliterator(int origin, int fence, long estimate) {
+      this.index = origin;
+      this.fence = fence;
+      this.estimate = estimate;
+      this.sized = origin == 0 && fence == capacity;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+      Objects.requireNonNull(action);
+      checkForConcurrentModification(expectedModCount);
+      while (index < fence) {
+        var slot = index++;
+        if (isOccupied(slot)) {
+          action.accept(new TableEntry(keyAt(slot), valueAt(slot)));
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+      Objects.requireNonNull(action);
+      checkForConcurrentModification(expectedModCount);
+      for (; index < fence; index++) {
+        if (isOccupied(index)) {
+          action.accept(new TableEntry(keyAt(index), valueAt(index)));
+        }
+      }
+      checkForConcurrentModification(expectedModCount);
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> trySplit() {
+      var middle = (index + fence) >>> 1;
+      if (index >= middle) {
+        return null;
+      }
+      sized = false;
+      estimate >>>= 1;
+      var prefix = new EntrySpliterator(index, middle, estimate);
+      index = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+      return (sized ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+    }
+  }
+
+  /**
+   * An entry detached from the table which writes its value changes through to the map.
+   */
+  private class TableEntry extends SimpleEntry<K, V> {
+
+    TableEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
   }
 }
@@ -0,0 +1,49 @@
+package com.pantifik.ds.map.open_addressing;
+
+import com.pantifik.ds.map.utils.MapUtils;
+
+/**
+ * A class that provides methods to manipulate powers of two.
+ */
+public class PowerOfTwo {
+
+  private static final int MAX_POWER_OF_TWO = 1 << 30;
+
+  private PowerOfTwo() {
+  }
+
+  /**
+   * Checks if the given number is a power of two.
+   *
+   * @param number
+   *     the number to check.
+   * @return true if number is a power of two, otherwise - false.
+   *
+   * @throws IllegalArgumentException
+   *     if the number is less than 1.
+   */
+  public static boolean isPowerOfTwo(int number) {
+    MapUtils.requireGreaterThan(0, number);
+    return (number & (number - 1)) == 0;
+  }
+
+  /**
+   * Finds the smallest power of two which is greater than or equal to the given number.
+   *
+   * @param number
+   *     the number to start from.
+   * @return the next power of two.
+   *
+   * @throws IllegalArgumentException
+   *     if the number is less than 1 or greater than 2^30.
+   */
+  public static int nextPowerOfTwo(int number) {
+    MapUtils.requireGreaterThan(0, number);
+    if (number > MAX_POWER_OF_TWO) {
+      throw new IllegalArgumentException(
+          String.format("Value not greater than %s is required, but was %s", MAX_POWER_OF_TWO,
+              number));
+    }
+    return number == 1 ? 1 : Integer.highestOneBit(number - 1) << 1;
+  }
+}
@@ -14,6 +14,21 @@ public interface Probing {
    */
   int probe(int x);
 
+  /**
+   * Applies probing function for current number of probe of the given hash.
+   * <p>
+   * The probing functions which do not depend on the hash ignore it.
+   *
+   * @param hash
+   *     the hash of the key.
+   * @param x
+   *     the current probe.
+   * @return the probe result;
+   */
+  default int probe(int hash, int x) {
+    return probe(x);
+  }
+
   /**
    * Calculates the next valid capacity required for probing function to work correctly.
    *
@@ -22,4 +37,16 @@ public interface Probing {
    * @return the valid capacity.
    */
   int nextValidCapacity(int currentCapacity);
+
+  /**
+   * Tells whether the entries must be kept ordered by their probe distance (Robin Hood hashing).
+   * <p>
+   * Such a probing never leaves deleted marks behind: a removed entry is back-filled by shifting
+   * the rest of its cluster one slot backward.
+   *
+   * @return true if the probe distance order must be kept, otherwise - false.
+   */
+  default boolean isDistanceOrdered() {
+    return false;
+  }
 }
@@ -1,6 +1,6 @@
 package com.pantifik.ds.map.open_addressing;
 
-import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * Defines different probing types for the hash map.
@@ -9,16 +9,35 @@ public enum ProbingType {
   /**
    * Uses linear function.
    */
-  LINEAR(hashMap -> new LinearProbing(5, hashMap.getCapacity()));
+  LINEAR(capacity -> new LinearProbing(5, capacity)),
+  /**
+   * Uses unit stride linear function with Robin Hood ordering and backward shift deletion.
+   */
+  ROBIN_HOOD(capacity -> new RobinHoodProbing()),
+  /**
+   * Uses triangular numbers over a power of two capacity.
+   */
+  QUADRATIC(capacity -> new QuadraticProbing()),
+  /**
+   * Uses a stride derived from a second hash over a power of two capacity.
+   */
+  DOUBLE_HASH(capacity -> new DoubleHashProbing());
 
-  private final Function<OpenAddressingHashMap<?, ?>, Probing> probingCreator;
+  private final IntFunction<Probing> probingCreator;
 
-  ProbingType(Function<OpenAddressingHashMap<?, ?>, Probing> createProbingInstance) {
+  ProbingType(IntFunction<Probing> createProbingInstance) {
     this.probingCreator = createProbingInstance;
   }
 
-  Probing createProbingInstance(OpenAddressingHashMap<?, ?> hashMap) {
-    return this.probingCreator.apply(hashMap);
+  /**
+   * Creates the probing instance for a table of the given capacity.
+   *
+   * @param capacity
+   *     the initial capacity of the table.
+   * @return the probing instance.
+   */
+  public Probing createProbingInstance(int capacity) {
+    return this.probingCreator.apply(capacity);
   }
 
 }
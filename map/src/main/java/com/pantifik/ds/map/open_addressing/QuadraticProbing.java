@@ -0,0 +1,42 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static com.pantifik.ds.map.utils.MapUtils.requireGreaterThan;
+
+/**
+ * A class that represent a quadratic probing method based on the triangular numbers.
+ * <p>
+ * The offsets 0, 1, 3, 6, 10... visit every slot of a table whose capacity is a power of two,
+ * while spreading the probes of colliding keys away from each other.
+ */
+public class QuadraticProbing implements Probing {
+
+  /**
+   * Probes the triangular number function.
+   *
+   * @param x
+   *     the number of probing.
+   * @return the x-th triangular number.
+   */
+  @Override
+  public int probe(int x) {
+    requireGreaterThan(-1, x);
+    return (x * (x + 1)) >>> 1;
+  }
+
+  /**
+   * Finds the next power of two, which is the only kind of capacity the triangular numbers
+   * fully cover.
+   *
+   * @param currentCapacity
+   *     current capacity.
+   * @return the next power of two.
+   *
+   * @throws IllegalArgumentException
+   *     if the current capacity is less than 2.
+   */
+  @Override
+  public int nextValidCapacity(int currentCapacity) {
+    requireGreaterThan(1, currentCapacity);
+    return PowerOfTwo.nextPowerOfTwo(currentCapacity);
+  }
+}
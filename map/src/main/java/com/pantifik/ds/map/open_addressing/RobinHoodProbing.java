@@ -0,0 +1,48 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static com.pantifik.ds.map.utils.MapUtils.requireGreaterThan;
+
+/**
+ * A class that represent the Robin Hood probing method.
+ * <p>
+ * The probe sequence is a unit stride linear one, but the hash map keeps the entries of a
+ * cluster ordered by their probe distance. This bounds the variance of the probe lengths, lets
+ * the lookups stop early and allows the removal to shift the cluster backward instead of leaving
+ * deleted marks behind.
+ */
+public class RobinHoodProbing implements Probing {
+
+  /**
+   * Probes the unit stride linear function.
+   *
+   * @param x
+   *     the number of probing.
+   * @return the probe distance, which is equal to the number of probing.
+   */
+  @Override
+  public int probe(int x) {
+    requireGreaterThan(-1, x);
+    return x;
+  }
+
+  /**
+   * Any capacity is valid for the unit stride, so the current one is returned.
+   *
+   * @param currentCapacity
+   *     current capacity.
+   * @return the current capacity.
+   *
+   * @throws IllegalArgumentException
+   *     if the current capacity is less than 2.
+   */
+  @Override
+  public int nextValidCapacity(int currentCapacity) {
+    requireGreaterThan(1, currentCapacity);
+    return currentCapacity;
+  }
+
+  @Override
+  public boolean isDistanceOrdered() {
+    return true;
+  }
+}
@@ -0,0 +1,470 @@
+package com.pantifik.ds.map.perfect_hash;
+
+import com.pantifik.ds.map.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable map compiled from another map with a minimal perfect hash function, built by the
+ * CHD (hash, displace and compress) algorithm.
+ * <p>
+ * The keys are hashed into buckets of {@value #BUCKET_SIZE} keys on average, and every bucket
+ * gets a displacement moving all of its keys into distinct slots not taken by the buckets placed
+ * before it. The buckets are placed from the largest one, while the table is still empty, and a
+ * bucket of a single key takes the next free slot directly. The keys and the values are stored in
+ * dense arrays of exactly as many slots as there are entries, along with the hash of every key,
+ * so a lookup reads the displacement of the bucket and the hash in the slot, and compares one key
+ * only if the hashes match, without any probing.
+ * <p>
+ * No displacement can separate two keys having the same hash code, so all but the first of such
+ * keys are kept aside, sorted by their hash. A lookup whose hash matches the slot but whose key
+ * does not searches them by a binary search of the hash, and compares only the keys sharing it.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public final class PerfectHashMap<K, V> extends AbstractMap<K, V> {
+
+  static final int BUCKET_SIZE = 4;
+  private static final int MAX_DISPLACEMENT = 1 << 24;
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+  private final Object[] keys;
+  private final Object[] values;
+  private final int[] hashes;
+  /**
+   * Holds the displacement of every bucket, or the complement of the slot of a single key bucket.
+   */
+  private final int[] displacements;
+  private final int[] collidedHashes;
+  private final Object[] collidedKeys;
+  private final Object[] collidedValues;
+
+  private PerfectHashMap(Object[] keys, Object[] values, int[] hashes, int[] displacements,
+      int[] collidedHashes, Object[] collidedKeys, Object[] collidedValues) {
+    this.keys = keys;
+    this.values = values;
+    this.hashes = hashes;
+    this.displacements = displacements;
+    this.collidedHashes = collidedHashes;
+    this.collidedKeys = collidedKeys;
+    this.collidedValues = collidedValues;
+  }
+
+  /**
+   * Compiles the entries of the map into an immutable perfect hash map.
+   *
+   * @param map
+   *     the map to copy, whose keys must not be null.
+   * @param <K>
+   *     the type of the keys.
+   * @param <V>
+   *     the type of the values.
+   * @return the perfect hash map.
+   * @throws NullPointerException
+   *     if the map or any of its keys is null.
+   */
+  public static <K, V> PerfectHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    Objects.requireNonNull(map);
+    var size = map.size();
+    var entryKeys = new Object[size];
+    var entryValues = new Object[size];
+    var i = 0;
+    for (var entry : map.entrySet()) {
+      entryKeys[i] = Objects.requireNonNull(entry.getKey());
+      entryValues[i] = entry.getValue();
+      i++;
+    }
+    return new Builder(entryKeys, entryValues).build();
+  }
+
+  @Override
+  public int size() {
+    return keys.length + collidedKeys.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Objects.requireNonNull(key);
+    if (keys.length == 0) {
+      return false;
+    }
+    var hash = calculateHash(key);
+    var slot = findSlot(hash);
+    return hashes[slot] == hash && (key.equals(keys[slot]) || findCollided(key, hash) >= 0);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (var v : values) {
+      if (Objects.equals(v, value)) {
+        return true;
+      }
+    }
+    for (var v : collidedValues) {
+      if (Objects.equals(v, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    Objects.requireNonNull(key);
+    if (keys.length == 0) {
+      return defaultValue;
+    }
+    var hash = calculateHash(key);
+    var slot = findSlot(hash);
+    if (hashes[slot] != hash) {
+      return defaultValue;
+    }
+    if (key.equals(keys[slot])) {
+      return (V) values[slot];
+    }
+    var index = findCollided(key, hash);
+    return index < 0 ? defaultValue : (V) collidedValues[index];
+  }
+
+  /**
+   * @throws UnsupportedOperationException
+   *     always, as the map is immutable.
+   */
+  @Override
+  public V put(K key, V value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @throws UnsupportedOperationException
+   *     always, as the map is immutable.
+   */
+  @Override
+  public V remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @throws UnsupportedOperationException
+   *     always, as the map is immutable.
+   */
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  /**
+   * Walks the slots, then the keys kept aside. The iterator does not support the removal.
+   */
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  private int findSlot(int hash) {
+    var displacement = displacements[reduce(hash, displacements.length)];
+    return displacement < 0 ? ~displacement : calculateSlot(hash, displacement, keys.length);
+  }
+
+  /**
+   * Finds the key among the keys kept aside, comparing only the ones sharing its hash.
+   *
+   * @return the index of the key, or -1 if not found.
+   */
+  private int findCollided(Object key, int hash) {
+    var index = Arrays.binarySearch(collidedHashes, hash);
+    if (index < 0) {
+      return -1;
+    }
+    while (index > 0 && collidedHashes[index - 1] == hash) {
+      index--;
+    }
+    for (; index < collidedHashes.length && collidedHashes[index] == hash; index++) {
+      if (key.equals(collidedKeys[index])) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private static int calculateHash(Object key) {
+    return mix(key.hashCode());
+  }
+
+  private static int calculateSlot(int hash, int displacement, int slots) {
+    return reduce(mix(hash ^ displacement * GOLDEN_RATIO), slots);
+  }
+
+  /**
+   * Maps the hash to the range [0, bound) by multiplying, rather than dividing, which relies on
+   * the high bits of the hash being well mixed.
+   */
+  private static int reduce(int hash, int bound) {
+    return (int) (((hash & 0xFFFFFFFFL) * bound) >>> 32);
+  }
+
+  /**
+   * The finalization mix of MurmurHash3, spreading every bit of the input over the whole hash.
+   */
+  private static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  /**
+   * Places the keys into the slots, from the largest bucket to the smallest one.
+   */
+  private static final class Builder {
+
+    private final Object[] entryKeys;
+    private final Object[] entryValues;
+    private final int[] hashes;
+    private final int bucketCount;
+    private final int[] bucketStarts;
+    private final int[] bucketEntries;
+    private final boolean[] collided;
+    private int collidedCount;
+
+    Builder(Object[] entryKeys, Object[] entryValues) {
+      this.entryKeys = entryKeys;
+      this.entryValues = entryValues;
+      var size = entryKeys.length;
+      this.hashes = new int[size];
+      for (int i = 0; i < size; i++) {
+        hashes[i] = calculateHash(entryKeys[i]);
+      }
+      this.bucketCount = Math.max(1, (size + BUCKET_SIZE - 1) / BUCKET_SIZE);
+      this.bucketStarts = new int[bucketCount + 1];
+      this.bucketEntries = new int[size];
+      this.collided = new boolean[size];
+      groupByBucket();
+    }
+
+    /**
+     * Sorts the entries by their bucket with a counting sort, then sets aside the entries whose
+     * hash repeats within their bucket.
+     */
+    private void groupByBucket() {
+      for (var hash : hashes) {
+        bucketStarts[reduce(hash, bucketCount) + 1]++;
+      }
+      for (int b = 0; b < bucketCount; b++) {
+        bucketStarts[b + 1] += bucketStarts[b];
+      }
+      var positions = Arrays.copyOf(bucketStarts, bucketCount);
+      for (int i = 0; i < hashes.length; i++) {
+        bucketEntries[positions[reduce(hashes[i], bucketCount)]++] = i;
+      }
+      for (int b = 0; b < bucketCount; b++) {
+        for (int i = bucketStarts[b]; i < bucketStarts[b + 1]; i++) {
+          for (int j = bucketStarts[b]; j < i; j++) {
+            var entry = bucketEntries[i];
+            var other = bucketEntries[j];
+            if (!collided[entry] && !collided[other] && hashes[entry] == hashes[other]) {
+              collided[entry] = true;
+              collidedCount++;
+            }
+          }
+        }
+      }
+    }
+
+    <K, V> PerfectHashMap<K, V> build() {
+      var slots = entryKeys.length - collidedCount;
+      var keys = new Object[slots];
+      var values = new Object[slots];
+      var slotHashes = new int[slots];
+      var displacements = new int[bucketCount];
+      var taken = new boolean[slots];
+      var bucketSlots = new int[slots];
+      var nextFreeSlot = 0;
+      for (var bucket : sortBySizeDescending()) {
+        var entries = placeableEntries(bucket);
+        if (entries.length == 0) {
+          continue;
+        }
+        if (entries.length == 1) {
+          while (taken[nextFreeSlot]) {
+            nextFreeSlot++;
+          }
+          taken[nextFreeSlot] = true;
+          displacements[bucket] = ~nextFreeSlot;
+          place(entries[0], nextFreeSlot, keys, values, slotHashes);
+          continue;
+        }
+        var displacement = findDisplacement(entries, taken, bucketSlots);
+        displacements[bucket] = displacement;
+        for (int i = 0; i < entries.length; i++) {
+          taken[bucketSlots[i]] = true;
+          place(entries[i], bucketSlots[i], keys, values, slotHashes);
+        }
+      }
+      var collidedHashes = new int[collidedCount];
+      var collidedKeys = new Object[collidedCount];
+      var collidedValues = new Object[collidedCount];
+      var order = sortCollidedByHash();
+      for (int c = 0; c < collidedCount; c++) {
+        var entry = order[c];
+        collidedHashes[c] = hashes[entry];
+        collidedKeys[c] = entryKeys[entry];
+        collidedValues[c] = entryValues[entry];
+      }
+      return new PerfectHashMap<>(keys, values, slotHashes, displacements, collidedHashes,
+          collidedKeys, collidedValues);
+    }
+
+    /**
+     * Orders the entries kept aside by their hash, packing the hash above the index of the entry
+     * so a sort of primitives does.
+     */
+    private int[] sortCollidedByHash() {
+      var packed = new long[collidedCount];
+      var c = 0;
+      for (int i = 0; i < entryKeys.length; i++) {
+        if (collided[i]) {
+          packed[c++] = (long) hashes[i] << 32 | i;
+        }
+      }
+      Arrays.sort(packed);
+      var order = new int[collidedCount];
+      for (int i = 0; i < collidedCount; i++) {
+        order[i] = (int) packed[i];
+      }
+      return order;
+    }
+
+    /**
+     * Tries the displacements in turn until one moves all the entries of the bucket into
+     * distinct free slots, which are left in the bucket slots.
+     */
+    private int findDisplacement(int[] entries, boolean[] taken, int[] bucketSlots) {
+      var slots = taken.length;
+      for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+        var placed = 0;
+        for (; placed < entries.length; placed++) {
+          var slot = calculateSlot(hashes[entries[placed]], displacement, slots);
+          if (taken[slot] || contains(bucketSlots, placed, slot)) {
+            break;
+          }
+          bucketSlots[placed] = slot;
+        }
+        if (placed == entries.length) {
+          return displacement;
+        }
+      }
+      throw new IllegalStateException("No displacement found for a bucket");
+    }
+
+    private int[] placeableEntries(int bucket) {
+      var entries = new int[bucketStarts[bucket + 1] - bucketStarts[bucket]];
+      var count = 0;
+      for (int i = bucketStarts[bucket]; i < bucketStarts[bucket + 1]; i++) {
+        if (!collided[bucketEntries[i]]) {
+          entries[count++] = bucketEntries[i];
+        }
+      }
+      return count == entries.length ? entries : Arrays.copyOf(entries, count);
+    }
+
+    /**
+     * Orders the buckets by their size with a counting sort, as the sizes are small.
+     */
+    private int[] sortBySizeDescending() {
+      var maxSize = 0;
+      for (int b = 0; b < bucketCount; b++) {
+        maxSize = Math.max(maxSize, bucketStarts[b + 1] - bucketStarts[b]);
+      }
+      var counts = new int[maxSize + 2];
+      for (int b = 0; b < bucketCount; b++) {
+        counts[maxSize - (bucketStarts[b + 1] - bucketStarts[b]) + 1]++;
+      }
+      for (int s = 0; s <= maxSize; s++) {
+        counts[s + 1] += counts[s];
+      }
+      var order = new int[bucketCount];
+      for (int b = 0; b < bucketCount; b++) {
+        order[counts[maxSize - (bucketStarts[b + 1] - bucketStarts[b])]++] = b;
+      }
+      return order;
+    }
+
+    private void place(int entry, int slot, Object[] keys, Object[] values, int[] slotHashes) {
+      keys[slot] = entryKeys[entry];
+      values[slot] = entryValues[entry];
+      slotHashes[slot] = hashes[entry];
+    }
+
+    private static boolean contains(int[] array, int length, int value) {
+      for (int i = 0; i < length; i++) {
+        if (array[i] == value) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private int index;
+
+    @Override
+    public boolean hasNext() {
+      return index < size();
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      var i = index++;
+      if (i < keys.length) {
+        return new ImmutableEntry<>((K) keys[i], (V) values[i]);
+      }
+      i -= keys.length;
+      return new ImmutableEntry<>((K) collidedKeys[i], (V) collidedValues[i]);
+    }
+  }
+
+  private static final class ImmutableEntry<K, V> extends SimpleEntry<K, V> {
+
+    ImmutableEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
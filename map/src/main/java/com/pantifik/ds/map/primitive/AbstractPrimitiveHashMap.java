@@ -0,0 +1,240 @@
+package com.pantifik.ds.map.primitive;
+
+import static com.pantifik.ds.map.utils.MapUtils.calculateMinCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
+import static com.pantifik.ds.map.utils.MapUtils.validateCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
+import com.pantifik.ds.map.capacity.IndexReducer;
+import com.pantifik.ds.map.open_addressing.Probing;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+
+/**
+ * The base of the open addressing hash maps keyed by a primitive.
+ * <p>
+ * The keys are compared as longs, so the int keys are widened. The state of the slots is kept in
+ * two bitmaps, one of the occupied slots and one of the deleted marks, so every key value is legal
+ * and no slot is reserved as a sentinel. The subclasses keep the keys and values in parallel
+ * primitive arrays and move them on a rebuild.
+ */
+abstract class AbstractPrimitiveHashMap {
+
+  static final int DEFAULT_CAPACITY = 13;
+  static final float DEFAULT_LOAD_FACTOR = .75f;
+  private static final int RESIZE_FACTOR = 2;
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+  private final float loadFactor;
+  private final Probing probing;
+  private long[] occupied;
+  private long[] deletedMarks;
+  private int capacity;
+  private IndexReducer reducer;
+  private int threshold;
+  private int size;
+  private int deleted;
+
+  /**
+   * Creates the hash map with given capacity, load factor and probing type.
+   *
+   * @throws IllegalArgumentException
+   *     if capacity is less than 0, load factor is not in range [0.1, 1], the capacity is not
+   *     valid for the probing or the probing keeps the entries ordered by distance.
+   */
+  AbstractPrimitiveHashMap(int capacity, float loadFactor, ProbingType probingType) {
+    validateCapacity(capacity);
+    validateLoadFactor(loadFactor);
+    this.loadFactor = loadFactor;
+    this.probing = probingType.createProbingInstance(capacity);
+    if (probing.isDistanceOrdered()) {
+      throw new IllegalArgumentException("The distance ordered probing is not supported");
+    }
+    this.capacity = probing.nextValidCapacity(Math.max(2, capacity));
+    this.threshold = calculateThreshold(this.capacity, this.loadFactor);
+    allocateTable();
+    this.size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public void clear() {
+    threshold = 1;
+    capacity = probing.nextValidCapacity(Math.max(2, calculateMinCapacity(threshold, loadFactor)));
+    size = 0;
+    deleted = 0;
+    allocateTable();
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the key held by the occupied slot.
+   */
+  abstract long keyAt(int slot);
+
+  /**
+   * Allocates the arrays of keys and values for the given capacity.
+   */
+  abstract void allocateSlots(int capacity);
+
+  /**
+   * Re-inserts all the entries into the table allocated by {@link #reallocateTable()}, placing
+   * every key with {@link #placeKey(long)}.
+   */
+  abstract void rebuildTable();
+
+  /**
+   * Probes the table for the key, remembering the first deleted mark the key could be inserted
+   * at, so a miss does not have to be probed again by the insertion.
+   *
+   * @return the slot of the key, or the complement of the slot to insert it at, if absent.
+   */
+  final int findSlot(long key) {
+    var hash = calculateHash(key);
+    var probeNr = 0;
+    var slot = calculateIndex(hash, probeNr);
+    var freeSlot = -1;
+    while (isOccupied(slot) || isDeleted(slot)) {
+      if (!isOccupied(slot)) {
+        if (freeSlot < 0) {
+          freeSlot = slot;
+        }
+      } else if (keyAt(slot) == key) {
+        return slot;
+      }
+      slot = calculateIndex(hash, ++probeNr);
+    }
+    return ~(freeSlot < 0 ? slot : freeSlot);
+  }
+
+  /**
+   * Marks the slot found by the probe as occupied, unless the table has to be resized or rebuilt
+   * first, in which case the slot is looked for again.
+   *
+   * @return the slot the key and value must be written to.
+   */
+  final int insertSlot(int slot, long key) {
+    var newSize = size + 1;
+    if (newSize > threshold) {
+      capacity = probing.nextValidCapacity(capacity * RESIZE_FACTOR);
+      threshold = calculateThreshold(capacity, loadFactor);
+      rebuildTable();
+      slot = findFreeSlot(calculateHash(key));
+    } else if (!isDeleted(slot) && newSize + deleted > threshold) {
+      rebuildTable();
+      slot = findFreeSlot(calculateHash(key));
+    }
+    size = newSize;
+    markOccupied(slot);
+    return slot;
+  }
+
+  /**
+   * Leaves a deleted mark in the occupied slot.
+   */
+  final void removeSlot(int slot) {
+    occupied[slot >>> 6] &= ~(1L << slot);
+    deletedMarks[slot >>> 6] |= 1L << slot;
+    deleted++;
+    size--;
+  }
+
+  /**
+   * Finds the first occupied slot starting with the given one.
+   *
+   * @return the occupied slot, or -1 if there is none left.
+   */
+  final int nextOccupied(int slot) {
+    return nextSetBit(occupied, slot);
+  }
+
+  /**
+   * Allocates a fresh table of the current capacity, dropping the deleted marks.
+   *
+   * @return the bitmap of the occupied slots of the previous table.
+   */
+  final long[] reallocateTable() {
+    var oldOccupied = occupied;
+    deleted = 0;
+    allocateTable();
+    return oldOccupied;
+  }
+
+  /**
+   * Occupies a free slot for the key during a rebuild.
+   *
+   * @return the slot the key and value must be written to.
+   */
+  final int placeKey(long key) {
+    var slot = findFreeSlot(calculateHash(key));
+    markOccupied(slot);
+    return slot;
+  }
+
+  static int nextSetBit(long[] bitmap, int from) {
+    var word = from >>> 6;
+    if (word >= bitmap.length) {
+      return -1;
+    }
+    var bits = bitmap[word] & (-1L << from);
+    while (bits == 0) {
+      if (++word == bitmap.length) {
+        return -1;
+      }
+      bits = bitmap[word];
+    }
+    return (word << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  private void allocateTable() {
+    reducer = IndexReducer.forCapacity(capacity);
+    var words = (capacity + Long.SIZE - 1) >>> 6;
+    occupied = new long[words];
+    deletedMarks = new long[words];
+    allocateSlots(capacity);
+  }
+
+  private int findFreeSlot(int hash) {
+    var probeNr = 0;
+    var slot = calculateIndex(hash, probeNr);
+    while (isOccupied(slot)) {
+      slot = calculateIndex(hash, ++probeNr);
+    }
+    return slot;
+  }
+
+  private void markOccupied(int slot) {
+    var bit = 1L << slot;
+    if ((deletedMarks[slot >>> 6] & bit) != 0) {
+      deletedMarks[slot >>> 6] &= ~bit;
+      deleted--;
+    }
+    occupied[slot >>> 6] |= bit;
+  }
+
+  private boolean isOccupied(int slot) {
+    return (occupied[slot >>> 6] & (1L << slot)) != 0;
+  }
+
+  private boolean isDeleted(int slot) {
+    return (deletedMarks[slot >>> 6] & (1L << slot)) != 0;
+  }
+
+  private int calculateIndex(int hash, int probeNr) {
+    return reducer.reduce(hash + probing.probe(hash, probeNr));
+  }
+
+  /**
+   * Spreads the bits of the key, since the keys are often sequential ids.
+   */
+  private static int calculateHash(long key) {
+    var hash = (int) (key ^ (key >>> 32)) * GOLDEN_RATIO;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,122 @@
+package com.pantifik.ds.map.primitive;
+
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.util.Objects;
+
+/**
+ * An open addressing hash map from long keys to long values, which stores both in primitive arrays
+ * without boxing them.
+ */
+public class LongLongMap extends AbstractPrimitiveHashMap {
+
+  private long[] keys;
+  private long[] values;
+
+  public LongLongMap(ProbingType probingType) {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, probingType);
+  }
+
+  public LongLongMap(int capacity, float loadFactor, ProbingType probingType) {
+    super(capacity, loadFactor, probingType);
+  }
+
+  public boolean containsKey(long key) {
+    return findSlot(key) >= 0;
+  }
+
+  /**
+   * Gets the value of the key.
+   *
+   * @param key
+   *     the key.
+   * @param defaultValue
+   *     the value to return if the key is not in the map.
+   * @return the value of the key, or the default value.
+   */
+  public long getOrDefault(long key, long defaultValue) {
+    var slot = findSlot(key);
+    return slot < 0 ? defaultValue : values[slot];
+  }
+
+  /**
+   * Puts the value of the key, replacing the previous one.
+   *
+   * @param key
+   *     the key.
+   * @param value
+   *     the value.
+   * @return true if the key was not in the map, otherwise - false.
+   */
+  public boolean put(long key, long value) {
+    var slot = findSlot(key);
+    if (slot >= 0) {
+      values[slot] = value;
+      return false;
+    }
+    slot = insertSlot(~slot, key);
+    keys[slot] = key;
+    values[slot] = value;
+    return true;
+  }
+
+  /**
+   * Removes the key.
+   *
+   * @param key
+   *     the key.
+   * @return true if the key was in the map, otherwise - false.
+   */
+  public boolean remove(long key) {
+    var slot = findSlot(key);
+    if (slot < 0) {
+      return false;
+    }
+    removeSlot(slot);
+    return true;
+  }
+
+  /**
+   * Performs the action for every entry of the map.
+   *
+   * @param action
+   *     the action.
+   */
+  public void forEach(EntryConsumer action) {
+    Objects.requireNonNull(action);
+    for (int slot = nextOccupied(0); slot >= 0; slot = nextOccupied(slot + 1)) {
+      action.accept(keys[slot], values[slot]);
+    }
+  }
+
+  @Override
+  long keyAt(int slot) {
+    return keys[slot];
+  }
+
+  @Override
+  void allocateSlots(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+  }
+
+  @Override
+  void rebuildTable() {
+    var oldKeys = keys;
+    var oldValues = values;
+    var oldOccupied = reallocateTable();
+    for (int i = nextSetBit(oldOccupied, 0); i >= 0; i = nextSetBit(oldOccupied, i + 1)) {
+      var slot = placeKey(oldKeys[i]);
+      keys[slot] = oldKeys[i];
+      values[slot] = oldValues[i];
+    }
+  }
+
+  /**
+   * An action taking an entry of the map.
+   */
+  @FunctionalInterface
+  public interface EntryConsumer {
+
+    void accept(long key, long value);
+  }
+}
@@ -0,0 +1,126 @@
+package com.pantifik.ds.map.primitive;
+
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.util.Objects;
+
+/**
+ * An open addressing hash map from long keys to object values, which stores the keys in a
+ * primitive array without boxing them.
+ *
+ * @param <V>
+ *     the type of the values.
+ */
+public class LongObjectMap<V> extends AbstractPrimitiveHashMap {
+
+  private long[] keys;
+  private Object[] values;
+
+  public LongObjectMap(ProbingType probingType) {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, probingType);
+  }
+
+  public LongObjectMap(int capacity, float loadFactor, ProbingType probingType) {
+    super(capacity, loadFactor, probingType);
+  }
+
+  public boolean containsKey(long key) {
+    return findSlot(key) >= 0;
+  }
+
+  /**
+   * Gets the value of the key.
+   *
+   * @param key
+   *     the key.
+   * @return the value of the key, or null if the key is not in the map.
+   */
+  public V get(long key) {
+    var slot = findSlot(key);
+    return slot < 0 ? null : (V) values[slot];
+  }
+
+  /**
+   * Puts the value of the key, replacing the previous one.
+   *
+   * @param key
+   *     the key.
+   * @param value
+   *     the value.
+   * @return the previous value of the key, or null if the key was not in the map.
+   */
+  public V put(long key, V value) {
+    var slot = findSlot(key);
+    if (slot >= 0) {
+      var oldValue = (V) values[slot];
+      values[slot] = value;
+      return oldValue;
+    }
+    slot = insertSlot(~slot, key);
+    keys[slot] = key;
+    values[slot] = value;
+    return null;
+  }
+
+  /**
+   * Removes the key.
+   *
+   * @param key
+   *     the key.
+   * @return the removed value, or null if the key was not in the map.
+   */
+  public V remove(long key) {
+    var slot = findSlot(key);
+    if (slot < 0) {
+      return null;
+    }
+    var value = (V) values[slot];
+    values[slot] = null;
+    removeSlot(slot);
+    return value;
+  }
+
+  /**
+   * Performs the action for every entry of the map.
+   *
+   * @param action
+   *     the action.
+   */
+  public void forEach(EntryConsumer<? super V> action) {
+    Objects.requireNonNull(action);
+    for (int slot = nextOccupied(0); slot >= 0; slot = nextOccupied(slot + 1)) {
+      action.accept(keys[slot], (V) values[slot]);
+    }
+  }
+
+  @Override
+  long keyAt(int slot) {
+    return keys[slot];
+  }
+
+  @Override
+  void allocateSlots(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+  }
+
+  @Override
+  void rebuildTable() {
+    var oldKeys = keys;
+    var oldValues = values;
+    var oldOccupied = reallocateTable();
+    for (int i = nextSetBit(oldOccupied, 0); i >= 0; i = nextSetBit(oldOccupied, i + 1)) {
+      var slot = placeKey(oldKeys[i]);
+      keys[slot] = oldKeys[i];
+      values[slot] = oldValues[i];
+    }
+  }
+
+  /**
+   * An action taking an entry of the map.
+   */
+  @FunctionalInterface
+  public interface EntryConsumer<V> {
+
+    void accept(long key, V value);
+  }
+}
@@ -0,0 +1,594 @@
+package com.pantifik.ds.map.separate_chaining;
+
+import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
+import static com.pantifik.ds.map.utils.MapUtils.validateCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
+import com.pantifik.ds.map.AbstractMap;
+import com.pantifik.ds.map.open_addressing.PowerOfTwo;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A separate chaining based hash map implementation, which can be shared across threads.
+ * <p>
+ * The reads take no lock: the bins are read with volatile semantics and the chains are linked
+ * through volatile references. A write into an empty bin installs its node with a CAS, any other
+ * write locks the head node of its bin, so the writers only contend within a bin. The size is
+ * kept by a striped counter.
+ * <p>
+ * The table is grown by all the writers together: each of them claims a range of bins, copies
+ * their nodes into the doubled table and leaves a forwarding node behind, which redirects the
+ * readers and the writers of the bin to the new table.
+ * <p>
+ * Neither null keys nor null values are permitted. The iterators are weakly consistent: they
+ * never throw {@link java.util.ConcurrentModificationException} and reflect some of the changes
+ * made after their creation.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class ConcurrentSeparateChainingHashMap<K, V> extends AbstractMap<K, V>
+    implements ConcurrentMap<K, V> {
+
+  static final int TRANSFER_STRIDE = 16;
+  private static final int RESIZE_FACTOR = 2;
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final float DEFAULT_LOAD_FACTOR = .75f;
+  private static final VarHandle BINS = MethodHandles.arrayElementVarHandle(Object[].class);
+  private final float loadFactor;
+  private final LongAdder counter = new LongAdder();
+  private final AtomicReference<Resize> resize = new AtomicReference<>();
+  private volatile Object[] table;
+  private volatile int threshold;
+
+  public ConcurrentSeparateChainingHashMap() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  public ConcurrentSeparateChainingHashMap(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates the hash map with given capacity and load factor.
+   *
+   * @param capacity
+   *     the initial number of bins, rounded up to a power of two.
+   * @param loadFactor
+   *     the load factor.
+   * @throws IllegalArgumentException
+   *     if capacity is less than 0 or load factor is not in range [0.1, 1].
+   */
+  public ConcurrentSeparateChainingHashMap(int capacity, float loadFactor) {
+    validateCapacity(capacity);
+    validateLoadFactor(loadFactor);
+    this.loadFactor = loadFactor;
+    var bins = PowerOfTwo.nextPowerOfTwo(Math.max(RESIZE_FACTOR, capacity));
+    this.threshold = calculateThreshold(bins, loadFactor);
+    this.table = new Object[bins];
+  }
+
+  @Override
+  public int size() {
+    var sum = counter.sum();
+    return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Objects.requireNonNull(key);
+    return findNode(key, calculateHash(key)) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    Objects.requireNonNull(value);
+    var traverser = new Traverser();
+    for (var node = traverser.advance(); node != null; node = traverser.advance()) {
+      if (value.equals(node.value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    Objects.requireNonNull(key);
+    var node = findNode(key, calculateHash(key));
+    return node == null ? null : node.value;
+  }
+
+  @Override
+  public V put(K key, V value) {
+    return putValue(key, value, false);
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value) {
+    return putValue(key, value, true);
+  }
+
+  @Override
+  public V remove(Object key) {
+    Objects.requireNonNull(key);
+    return replaceNode(key, null, null);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    Objects.requireNonNull(key);
+    return value != null && replaceNode(key, null, value) != null;
+  }
+
+  @Override
+  public boolean replace(K key, V oldValue, V newValue) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(oldValue);
+    Objects.requireNonNull(newValue);
+    return replaceNode(key, newValue, oldValue) != null;
+  }
+
+  @Override
+  public V replace(K key, V value) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    return replaceNode(key, value, null);
+  }
+
+  /**
+   * Empties the bins one by one, so the entries put concurrently may survive.
+   */
+  @Override
+  public void clear() {
+    var tab = table;
+    var index = 0;
+    while (index < tab.length) {
+      var head = binAt(tab, index);
+      if (head == null) {
+        index++;
+      } else if (head instanceof ForwardingNode forwarding) {
+        tab = helpResize(forwarding);
+        index = 0;
+      } else {
+        synchronized (head) {
+          if (binAt(tab, index) == head) {
+            var removed = 0;
+            for (var node = (ConcurrentNode<K, V>) head; node != null; node = node.next) {
+              removed++;
+            }
+            setBin(tab, index, null);
+            counter.add(-removed);
+            index++;
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  /**
+   * Wraps the weakly consistent iterator, which does not know the size it will end up returning.
+   */
+  @Override
+  protected Spliterator<Entry<K, V>> entrySpliterator() {
+    return Spliterators.spliteratorUnknownSize(entryIterator(),
+        Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.CONCURRENT);
+  }
+
+  int getCapacity() {
+    return table.length;
+  }
+
+  private ConcurrentNode<K, V> findNode(Object key, int hash) {
+    var tab = table;
+    while (true) {
+      var bin = binAt(tab, calculateIndex(hash, tab.length));
+      if (bin instanceof ForwardingNode forwarding) {
+        tab = forwarding.nextTable;
+        continue;
+      }
+      for (var node = (ConcurrentNode<K, V>) bin; node != null; node = node.next) {
+        if (node.hasKey(key, hash)) {
+          return node;
+        }
+      }
+      return null;
+    }
+  }
+
+  private V putValue(K key, V value, boolean onlyIfAbsent) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    var hash = calculateHash(key);
+    var tab = table;
+    while (true) {
+      var index = calculateIndex(hash, tab.length);
+      var head = binAt(tab, index);
+      if (head == null) {
+        if (casBin(tab, index, new ConcurrentNode<>(key, value, hash))) {
+          break;
+        }
+      } else if (head instanceof ForwardingNode forwarding) {
+        tab = helpResize(forwarding);
+      } else {
+        var added = false;
+        synchronized (head) {
+          if (binAt(tab, index) == head) {
+            var node = (ConcurrentNode<K, V>) head;
+            while (true) {
+              if (node.hasKey(key, hash)) {
+                var oldValue = node.value;
+                if (!onlyIfAbsent) {
+                  node.value = value;
+                }
+                return oldValue;
+              }
+              if (node.next == null) {
+                node.next = new ConcurrentNode<>(key, value, hash);
+                added = true;
+                break;
+              }
+              node = node.next;
+            }
+          }
+        }
+        if (added) {
+          break;
+        }
+      }
+    }
+    counter.increment();
+    resizeIfNeeded();
+    return null;
+  }
+
+  /**
+   * Replaces the value of the key, or removes the key when the new value is null, provided that
+   * the expected value is either null or equal to the current one.
+   *
+   * @return the previous value, or null if nothing was changed.
+   */
+  private V replaceNode(Object key, V value, Object expectedValue) {
+    var hash = calculateHash(key);
+    var tab = table;
+    while (true) {
+      var index = calculateIndex(hash, tab.length);
+      var head = binAt(tab, index);
+      if (head == null) {
+        return null;
+      }
+      if (head instanceof ForwardingNode forwarding) {
+        tab = helpResize(forwarding);
+        continue;
+      }
+      synchronized (head) {
+        if (binAt(tab, index) == head) {
+          ConcurrentNode<K, V> previous = null;
+          for (var node = (ConcurrentNode<K, V>) head; node != null;
+              previous = node, node = node.next) {
+            if (node.hasKey(key, hash)) {
+              var oldValue = node.value;
+              if (expectedValue != null && !expectedValue.equals(oldValue)) {
+                return null;
+              }
+              if (value != null) {
+                node.value = value;
+              } else if (previous == null) {
+                setBin(tab, index, node.next);
+              } else {
+                previous.next = node.next;
+              }
+              if (value == null) {
+                counter.decrement();
+              }
+              return oldValue;
+            }
+          }
+          return null;
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts growing the table when the size went past the threshold, or joins the growth already
+   * in progress.
+   */
+  private void resizeIfNeeded() {
+    var tab = table;
+    if (counter.sum() <= threshold || tab.length >= MAX_CAPACITY) {
+      return;
+    }
+    var current = resize.get();
+    if (current == null) {
+      if (table != tab) {
+        return;
+      }
+      var started = new Resize(tab, new Object[tab.length * RESIZE_FACTOR]);
+      current = resize.compareAndSet(null, started) ? started : resize.get();
+    }
+    if (current != null) {
+      transfer(current);
+    }
+  }
+
+  /**
+   * Helps the growth the forwarding node belongs to.
+   *
+   * @return the table the forwarding node redirects to.
+   */
+  private Object[] helpResize(ForwardingNode forwarding) {
+    var current = resize.get();
+    if (current != null && current.forwarding == forwarding) {
+      transfer(current);
+    }
+    return forwarding.nextTable;
+  }
+
+  /**
+   * Claims ranges of bins, from the end of the table, and moves them until no range is left. The
+   * thread moving the last bins publishes the new table.
+   */
+  private void transfer(Resize current) {
+    while (true) {
+      var end = current.transferIndex.get();
+      if (end <= 0) {
+        return;
+      }
+      var start = Math.max(0, end - TRANSFER_STRIDE);
+      if (!current.transferIndex.compareAndSet(end, start)) {
+        continue;
+      }
+      for (int index = start; index < end; index++) {
+        transferBin(current, index);
+      }
+      if (current.remaining.addAndGet(start - end) == 0) {
+        if (table == current.oldTable) {
+          threshold = calculateThreshold(current.nextTable.length, loadFactor);
+          table = current.nextTable;
+        }
+        resize.compareAndSet(current, null);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Splits the bin into the two bins of the new table its keys belong to. The nodes are copied,
+   * since the readers may still be walking the old chain.
+   */
+  private void transferBin(Resize current, int index) {
+    var oldTable = current.oldTable;
+    while (true) {
+      var head = binAt(oldTable, index);
+      if (head == null) {
+        if (casBin(oldTable, index, current.forwarding)) {
+          return;
+        }
+        continue;
+      }
+      if (head instanceof ForwardingNode) {
+        return;
+      }
+      synchronized (head) {
+        if (binAt(oldTable, index) != head) {
+          continue;
+        }
+        ConcurrentNode<K, V> low = null;
+        ConcurrentNode<K, V> high = null;
+        for (var node = (ConcurrentNode<K, V>) head; node != null; node = node.next) {
+          var copy = new ConcurrentNode<>(node.key, node.value, node.hash);
+          if ((node.hash & oldTable.length) == 0) {
+            copy.next = low;
+            low = copy;
+          } else {
+            copy.next = high;
+            high = copy;
+          }
+        }
+        setBin(current.nextTable, index, low);
+        setBin(current.nextTable, index + oldTable.length, high);
+        setBin(oldTable, index, current.forwarding);
+        return;
+      }
+    }
+  }
+
+  private static Object binAt(Object[] tab, int index) {
+    return BINS.getVolatile(tab, index);
+  }
+
+  private static void setBin(Object[] tab, int index, Object bin) {
+    BINS.setVolatile(tab, index, bin);
+  }
+
+  private static boolean casBin(Object[] tab, int index, Object bin) {
+    return BINS.compareAndSet(tab, index, null, bin);
+  }
+
+  private static int calculateIndex(int hash, int length) {
+    return hash & (length - 1);
+  }
+
+  /**
+   * Spreads the high bits of the hash code down, since the index only takes the low ones.
+   */
+  private static int calculateHash(Object key) {
+    var hash = key.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  private static final class ConcurrentNode<K, V> {
+
+    final K key;
+    final int hash;
+    volatile V value;
+    volatile ConcurrentNode<K, V> next;
+
+    ConcurrentNode(K key, V value, int hash) {
+      this.key = key;
+      this.value = value;
+      this.hash = hash;
+    }
+
+    boolean hasKey(Object key, int hash) {
+      return this.hash == hash && (this.key == key || key.equals(this.key));
+    }
+  }
+
+  /**
+   * Marks a bin of the old table as moved to the next one.
+   */
+  private static final class ForwardingNode {
+
+    final Object[] nextTable;
+
+    ForwardingNode(Object[] nextTable) {
+      this.nextTable = nextTable;
+    }
+  }
+
+  /**
+   * The state of a growth of the table shared by the threads taking part in it.
+   */
+  private static final class Resize {
+
+    final Object[] oldTable;
+    final Object[] nextTable;
+    final ForwardingNode forwarding;
+    final AtomicInteger transferIndex;
+    final AtomicInteger remaining;
+
+    Resize(Object[] oldTable, Object[] nextTable) {
+      this.oldTable = oldTable;
+      this.nextTable = nextTable;
+      this.forwarding = new ForwardingNode(nextTable);
+      this.transferIndex = new AtomicInteger(oldTable.length);
+      this.remaining = new AtomicInteger(oldTable.length);
+    }
+  }
+
+  /**
+   * Walks the nodes of the table. A forwarded bin is walked in the next table, as the two bins
+   * it was split into, which are kept on a stack until visited.
+   */
+  private class Traverser {
+
+    private final Object[] tab = table;
+    private int index;
+    private PendingBin pending;
+    private ConcurrentNode<K, V> next;
+
+    ConcurrentNode<K, V> advance() {
+      if (next != null && next.next != null) {
+        next = next.next;
+        return next;
+      }
+      while (true) {
+        Object[] binTable;
+        int binIndex;
+        if (pending != null) {
+          binTable = pending.table;
+          binIndex = pending.index;
+          pending = pending.below;
+        } else if (index < tab.length) {
+          binTable = tab;
+          binIndex = index++;
+        } else {
+          next = null;
+          return null;
+        }
+        var bin = binAt(binTable, binIndex);
+        if (bin instanceof ForwardingNode forwarding) {
+          pending = new PendingBin(forwarding.nextTable, binIndex + binTable.length, pending);
+          pending = new PendingBin(forwarding.nextTable, binIndex, pending);
+        } else if (bin != null) {
+          next = (ConcurrentNode<K, V>) bin;
+          return next;
+        }
+      }
+    }
+  }
+
+  private record PendingBin(Object[] table, int index, PendingBin below) {}
+
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private final Traverser traverser = new Traverser();
+    private ConcurrentNode<K, V> next = traverser.advance();
+    private K lastKey;
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      var node = next;
+      next = traverser.advance();
+      lastKey = node.key;
+      return new TableEntry(node.key, node.value);
+    }
+
+    @Override
+    public void remove() {
+      if (lastKey == null) {
+        throw new IllegalStateException();
+      }
+      ConcurrentSeparateChainingHashMap.this.remove(lastKey);
+      lastKey = null;
+    }
+  }
+
+  /**
+   * An entry detached from the table which writes its value changes through to the map.
+   */
+  private class TableEntry extends SimpleEntry<K, V> {
+
+    TableEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
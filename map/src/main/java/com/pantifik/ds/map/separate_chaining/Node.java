@@ -0,0 +1,42 @@
+package com.pantifik.ds.map.separate_chaining;
+
+import com.pantifik.ds.map.AbstractMap.SimpleEntry;
+
+/**
+ * An entry of the separate chaining hash map, linked to the next entry of its bucket.
+ * <p>
+ * The hash of the key is cached, so the chain is searched, and the table resized, without calling
+ * the hash code of the keys again.
+ *
+ * @param <K>
+ *     the type of the key.
+ * @param <V>
+ *     the type of the value.
+ */
+class Node<K, V> extends SimpleEntry<K, V> {
+
+  final int hash;
+  Node<K, V> next;
+
+  Node(K key, V value, int hash) {
+    super(key, value);
+    this.hash = hash;
+  }
+
+  /**
+   * Checks if the node holds the given key.
+   *
+   * @param key
+   *     the key to check.
+   * @param hash
+   *     the hash of the key.
+   * @return true if the node holds the key, otherwise - false.
+   */
+  boolean hasKey(Object key, int hash) {
+    if (this.hash != hash) {
+      return false;
+    }
+    var k = getKey();
+    return k == key || key.equals(k);
+  }
+}
@@ -5,31 +5,92 @@ import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
 import static com.pantifik.ds.map.utils.MapUtils.validateCapacity;
 import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
 import com.pantifik.ds.map.AbstractMap;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.LinkedList;
+import com.pantifik.ds.map.ResizeMode;
+import com.pantifik.ds.map.bloom.BloomFilterGuard;
+import com.pantifik.ds.map.bloom.BloomFilterStats;
+import com.pantifik.ds.map.bloom.BloomFiltered;
+import com.pantifik.ds.map.capacity.CapacityPolicy;
+import com.pantifik.ds.map.capacity.IndexReducer;
+import com.pantifik.ds.map.capacity.PrimeCapacityPolicy;
+import com.pantifik.ds.map.hash.HashStrategy;
+import com.pantifik.ds.map.hash.IdentityHashStrategy;
+import com.pantifik.ds.map.stats.Instrumented;
+import com.pantifik.ds.map.stats.MapStats;
+import com.pantifik.ds.map.stats.StatsRecorder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.function.IntFunction;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
-public class SeparateChainingHashMap<K, V> extends AbstractMap<K, V> {
+/**
+ * A separate chaining based hash map implementation.
+ * <p>
+ * A bucket chains its entries in a singly linked list of nodes caching the hash of their keys, so
+ * the lookups allocate nothing. A chain growing past {@value #TREEIFY_THRESHOLD} entries is
+ * converted to a balanced tree, and back to a chain once it shrinks below
+ * {@value #UNTREEIFY_THRESHOLD} entries. This keeps the lookups logarithmic even when many keys
+ * share a hash code, as long as the table has at least {@value #MIN_TREEIFY_CAPACITY} buckets;
+ * smaller tables are expected to spread the keys by growing.
+ * <p>
+ * In the {@link ResizeMode#INCREMENTAL incremental} resize mode the old table is kept after a
+ * resize and every insertion or removal moves the next {@value #MIGRATION_STEP} buckets of it
+ * into the new table, the way the Redis dictionary rehashes. The lookups search both tables until
+ * the old one is drained.
+ * <p>
+ * The capacities are picked by a {@link CapacityPolicy}, the {@link PrimeCapacityPolicy prime
+ * ladder} by default, whose index reducer computes the bucket of a hash without a division.
+ * <p>
+ * The {@link Instrumented statistics} count the nodes of a chain compared by a lookup, and the
+ * height a balanced tree of its size would have for a tree bucket.
+ * <p>
+ * The {@link BloomFiltered Bloom filter} guards the lookups of the get and contains operations,
+ * while the insertions search their bucket anyway. Its rebuilds walk the whole table at once, so
+ * they pause even the incremental resize mode.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class SeparateChainingHashMap<K, V> extends AbstractMap<K, V>
+    implements Instrumented, BloomFiltered {
 
+  static final int TREEIFY_THRESHOLD = 8;
+  static final int UNTREEIFY_THRESHOLD = 6;
+  static final int MIN_TREEIFY_CAPACITY = 64;
+  static final int MIGRATION_STEP = 16;
   private static final int RESIZE_FACTOR = 2;
   private static final int DEFAULT_CAPACITY = 13;
   private static final float DEFAULT_LOAD_FACTOR = .75f;
   private final float loadFactor;
-  private LinkedList<Entry<K, V>>[] table;
-  private final IntFunction<Supplier<LinkedList<Entry<K, V>>>> createNewListAtIndex
-      = index -> () -> {
-    var newList = new LinkedList<Entry<K, V>>();
-    table[index] = newList;
-    return newList;
-  };
+  private final ResizeMode resizeMode;
+  private final CapacityPolicy capacityPolicy;
+  private final HashStrategy hashStrategy;
+  /**
+   * Holds either the head node of a chain or a tree bucket at every index.
+   */
+  private Object[] table;
+  private IndexReducer reducer;
+  /**
+   * Holds the buckets not yet migrated by an incremental resize, or null.
+   */
+  private Object[] oldTable;
+  private IndexReducer oldReducer;
+  private int migrateIndex;
   private int capacity;
   private int threshold;
   private int size;
+  /**
+   * Counts the changes which relink nodes, so a node found before a callback into user code is
+   * known to be stale afterwards, whether it was removed, treeified or migrated meanwhile.
+   */
+  private int modCount;
+  private volatile StatsRecorder stats;
+  private BloomFilterGuard bloomFilter;
 
   public SeparateChainingHashMap() {
     this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
@@ -40,12 +101,47 @@ public class SeparateChainingHashMap<K, V> extends AbstractMap<K, V> {
   }
 
   public SeparateChainingHashMap(int capacity, float loadFactor) {
+    this(capacity, loadFactor, ResizeMode.BLOCKING);
+  }
+
+  public SeparateChainingHashMap(int capacity, float loadFactor, ResizeMode resizeMode) {
+    this(capacity, loadFactor, resizeMode, new PrimeCapacityPolicy());
+  }
+
+  public SeparateChainingHashMap(int capacity, float loadFactor, ResizeMode resizeMode,
+      CapacityPolicy capacityPolicy) {
+    this(capacity, loadFactor, resizeMode, capacityPolicy, new IdentityHashStrategy());
+  }
+
+  /**
+   * Creates the hash map with given capacity, load factor, resize mode, capacity policy and hash
+   * strategy.
+   *
+   * @param capacity
+   *     the initial capacity, rounded up by the capacity policy unless 0.
+   * @param loadFactor
+   *     the load factor.
+   * @param resizeMode
+   *     the resize mode.
+   * @param capacityPolicy
+   *     the capacity policy.
+   * @param hashStrategy
+   *     the hash strategy.
+   * @throws IllegalArgumentException
+   *     if capacity is less than 0, load factor is not in range [0.1, 1] or the capacity is not
+   *     supported by the capacity policy.
+   */
+  public SeparateChainingHashMap(int capacity, float loadFactor, ResizeMode resizeMode,
+      CapacityPolicy capacityPolicy, HashStrategy hashStrategy) {
     validateCapacity(capacity);
     validateLoadFactor(loadFactor);
-    this.capacity = capacity;
     this.loadFactor = loadFactor;
+    this.resizeMode = Objects.requireNonNull(resizeMode);
+    this.capacityPolicy = Objects.requireNonNull(capacityPolicy);
+    this.hashStrategy = Objects.requireNonNull(hashStrategy);
+    this.capacity = capacity == 0 ? 0 : capacityPolicy.nextCapacity(capacity);
     this.threshold = calculateThreshold(this.capacity, this.loadFactor);
-    table = new LinkedList[capacity];
+    allocateTable();
     size = 0;
   }
 
@@ -62,15 +158,24 @@ public class SeparateChainingHashMap<K, V> extends AbstractMap<K, V> {
   @Override
   public boolean containsKey(Object key) {
     Objects.requireNonNull(key);
-    return getEntryByKey((K) key).isPresent();
+    return lookUp(key) != null;
   }
 
   @Override
   public boolean containsValue(Object value) {
-    for (var list : table) {
-      if (list != null) {
-        for (var entry : list) {
-          if (Objects.equals(entry.getValue(), value)) {
+    return containsValue(table, value) || (oldTable != null && containsValue(oldTable, value));
+  }
+
+  private boolean containsValue(Object[] bins, Object value) {
+    for (var bin : bins) {
+      if (bin instanceof TreeBucket) {
+        if (((TreeBucket<K, V>) bin).stream()
+            .anyMatch(node -> Objects.equals(node.getValue(), value))) {
+          return true;
+        }
+      } else {
+        for (var node = (Node<K, V>) bin; node != null; node = node.next) {
+          if (Objects.equals(node.getValue(), value)) {
             return true;
           }
         }
@@ -82,35 +187,125 @@ public class SeparateChainingHashMap<K, V> extends AbstractMap<K, V> {
   @Override
   public V get(Object key) {
     Objects.requireNonNull(key);
-    var k = (K) key;
-    return getEntryByKey(k).orElseGet(() -> new SimpleEntry<>(k, null))
-        .getValue();
+    var node = lookUp(key);
+    return node == null ? null : node.getValue();
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    Objects.requireNonNull(key);
+    var node = lookUp(key);
+    return node == null ? defaultValue : node.getValue();
   }
 
   @Override
   public V put(K key, V value) {
     Objects.requireNonNull(key);
-    var entry = getEntryByKey(key);
-    if (entry.isEmpty()) {
-      insertEntry(new SimpleEntry<>(key, value));
+    var hash = calculateHash(key);
+    var node = findNode(key, hash);
+    if (node == null) {
+      insertNode(new Node<>(key, value, hash));
       return null;
     } else {
-      return updateEntry(entry.get(), value);
+      return node.setValue(value);
+    }
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value) {
+    Objects.requireNonNull(key);
+    var hash = calculateHash(key);
+    var node = findNode(key, hash);
+    if (node == null) {
+      insertNode(new Node<>(key, value, hash));
+      return null;
+    }
+    var oldValue = node.getValue();
+    if (oldValue == null) {
+      node.setValue(value);
+    }
+    return oldValue;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(mappingFunction);
+    var hash = calculateHash(key);
+    var node = findNode(key, hash);
+    if (node != null && node.getValue() != null) {
+      return node.getValue();
     }
+    var expectedModCount = modCount;
+    var value = mappingFunction.apply(key);
+    checkForConcurrentModification(expectedModCount);
+    return value == null ? null : storeValue(node, key, value, hash);
+  }
+
+  @Override
+  public V computeIfPresent(K key,
+      BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(remappingFunction);
+    var hash = calculateHash(key);
+    var node = findNode(key, hash);
+    if (node == null || node.getValue() == null) {
+      return null;
+    }
+    var expectedModCount = modCount;
+    var value = remappingFunction.apply(key, node.getValue());
+    checkForConcurrentModification(expectedModCount);
+    return storeValue(node, key, value, hash);
+  }
+
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(remappingFunction);
+    var hash = calculateHash(key);
+    var node = findNode(key, hash);
+    var expectedModCount = modCount;
+    var value = remappingFunction.apply(key, node == null ? null : node.getValue());
+    checkForConcurrentModification(expectedModCount);
+    return storeValue(node, key, value, hash);
+  }
+
+  @Override
+  public V merge(K key, V value,
+      BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    Objects.requireNonNull(remappingFunction);
+    var hash = calculateHash(key);
+    var node = findNode(key, hash);
+    var oldValue = node == null ? null : node.getValue();
+    if (oldValue == null) {
+      return storeValue(node, key, value, hash);
+    }
+    var expectedModCount = modCount;
+    var newValue = remappingFunction.apply(oldValue, value);
+    checkForConcurrentModification(expectedModCount);
+    return storeValue(node, key, newValue, hash);
   }
 
   @Override
   public V remove(Object key) {
     Objects.requireNonNull(key);
-    return removeEntryByKey(key);
+    var node = removeNode(key, calculateHash(key));
+    return node == null ? null : node.getValue();
   }
 
   @Override
   public void clear() {
     threshold = 1;
-    capacity = calculateMinCapacity(threshold, loadFactor);
+    capacity = capacityPolicy.nextCapacity(calculateMinCapacity(threshold, loadFactor));
+    threshold = calculateThreshold(capacity, loadFactor);
     size = 0;
-    table = new LinkedList[capacity];
+    allocateTable();
+    oldTable = null;
+    if (bloomFilter != null) {
+      bloomFilter.reset(threshold);
+    }
   }
 
   @Override
@@ -123,100 +318,579 @@ public class SeparateChainingHashMap<K, V> extends AbstractMap<K, V> {
     return super.equals(o);
   }
 
-  protected Stream<Entry<K, V>> getEntryStream() {
-    return Arrays.stream(table)
-        .filter(Objects::nonNull)
-        .flatMap(Collection::stream);
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  /**
+   * Splits the buckets of the table by index ranges, completing a pending incremental resize
+   * first. The nodes are the entries themselves, so the traversal allocates nothing per entry.
+   */
+  @Override
+  protected Spliterator<Entry<K, V>> entrySpliterator() {
+    completeMigration();
+    return new EntrySpliterator(0, capacity, size);
+  }
+
+  @Override
+  public void setStatsEnabled(boolean enabled) {
+    stats = enabled ? new StatsRecorder() : null;
   }
 
-  private V removeEntryByKey(Object key) {
-    var index = calculateIndex((K) key);
-    var list = getListAtIndex(index);
+  @Override
+  public boolean isStatsEnabled() {
+    return stats != null;
+  }
 
-    if (list.isPresent()) {
-      var l = list.get();
-      V removedValue = null;
-      var iterator = l.iterator();
-      while (iterator.hasNext()) {
-        var entry = iterator.next();
-        if (Objects.equals(entry.getKey(), key)) {
-          iterator.remove();
-          removedValue = entry.getValue();
-          size--;
-          break;
+  @Override
+  public MapStats getStats() {
+    var recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    var histogram = StatsRecorder.newHistogram();
+    measureChains(table, histogram);
+    if (oldTable != null) {
+      measureChains(oldTable, histogram);
+    }
+    return recorder.snapshot(size, capacity, 0, histogram);
+  }
+
+  @Override
+  public MapStats getRecordedStats() {
+    var recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    return recorder.snapshot(size, capacity, 0, StatsRecorder.newHistogram());
+  }
+
+  @Override
+  public void setBloomFilterEnabled(boolean enabled) {
+    bloomFilter = null;
+    if (enabled) {
+      bloomFilter = new BloomFilterGuard(threshold);
+      rebuildBloomFilter();
+    }
+  }
+
+  @Override
+  public boolean isBloomFilterEnabled() {
+    return bloomFilter != null;
+  }
+
+  @Override
+  public BloomFilterStats getBloomFilterStats() {
+    if (bloomFilter == null) {
+      throw new IllegalStateException("The bloom filter is disabled");
+    }
+    return bloomFilter.getStats();
+  }
+
+  boolean isTreeified(K key) {
+    return table[calculateIndex(calculateHash(key))] instanceof TreeBucket;
+  }
+
+  boolean isMigrating() {
+    return oldTable != null;
+  }
+
+  private Node<K, V> lookUp(Object key) {
+    var hash = calculateHash(key);
+    var recorder = stats;
+    if (bloomFilter != null && isRejected(hash)) {
+      if (recorder != null) {
+        recorder.recordMiss(0);
+      }
+      return null;
+    }
+    var node = findNode(key, hash);
+    if (bloomFilter != null && node == null) {
+      bloomFilter.recordFalsePositive();
+    }
+    if (recorder != null) {
+      recordLookup(recorder, key, hash, node != null);
+    }
+    return node;
+  }
+
+  /**
+   * Tests the hash against the bloom filter, rebuilding the filter first if it asks to.
+   */
+  private boolean isRejected(int hash) {
+    if (bloomFilter.needsRebuild()) {
+      rebuildBloomFilter();
+    }
+    return !bloomFilter.mightContain(hash);
+  }
+
+  /**
+   * Resets the bloom filter to the size of the table and adds the hashes of all the keys.
+   */
+  private void rebuildBloomFilter() {
+    bloomFilter.reset(Math.max(threshold, size));
+    addHashes(table);
+    if (oldTable != null) {
+      addHashes(oldTable);
+    }
+  }
+
+  private void addHashes(Object[] bins) {
+    for (var bin : bins) {
+      if (bin instanceof TreeBucket) {
+        ((TreeBucket<K, V>) bin).stream()
+            .forEach(node -> bloomFilter.add(node.hash));
+      } else {
+        for (var node = (Node<K, V>) bin; node != null; node = node.next) {
+          bloomFilter.add(node.hash);
         }
       }
-      if (l.isEmpty()) {
-        table[index] = null;
+    }
+  }
+
+  /**
+   * Walks the buckets the way the lookup does, counting the compared nodes.
+   */
+  private void recordLookup(StatsRecorder recorder, Object key, int hash, boolean found) {
+    var probes = 0;
+    if (capacity > 0) {
+      probes = countProbes(table[calculateIndex(hash)], key, hash);
+      if (probes < 0 || oldTable == null) {
+        probes = Math.abs(probes);
+      } else {
+        probes += Math.abs(countProbes(oldTable[calculateOldIndex(hash)], key, hash));
       }
-      return removedValue;
     }
+    if (found) {
+      recorder.recordHit(probes);
+    } else {
+      recorder.recordMiss(probes);
+    }
+  }
 
-    return null;
+  /**
+   * Counts the nodes of the bucket compared with the key, and the height a balanced tree of its
+   * size would have for a tree bucket.
+   *
+   * @return the number of the compared nodes, negated if the key was found.
+   */
+  private int countProbes(Object bin, Object key, int hash) {
+    if (bin instanceof TreeBucket) {
+      var tree = (TreeBucket<K, V>) bin;
+      var height = 32 - Integer.numberOfLeadingZeros(tree.size());
+      return tree.find(key, hash) != null ? -height : height;
+    }
+    var probes = 0;
+    for (var node = (Node<K, V>) bin; node != null; node = node.next) {
+      probes++;
+      if (node.hasKey(key, hash)) {
+        return -probes;
+      }
+    }
+    return probes;
   }
 
-  private V updateEntry(Entry<K, V> entry, V value) {
-    return entry.setValue(value);
+  private void measureChains(Object[] bins, long[] histogram) {
+    for (var bin : bins) {
+      var length = 0;
+      if (bin instanceof TreeBucket) {
+        length = ((TreeBucket<K, V>) bin).size();
+      } else {
+        for (var node = (Node<K, V>) bin; node != null; node = node.next) {
+          length++;
+        }
+      }
+      StatsRecorder.addToHistogram(histogram, length);
+    }
   }
 
-  private Optional<Entry<K, V>> getEntryByKey(K key) {
+  private Node<K, V> findNode(Object key, int hash) {
     if (capacity == 0) {
-      return Optional.empty();
+      return null;
     }
-    int index = calculateIndex(key);
-    var list = table[index];
-    if (list == null) {
-      return Optional.empty();
+    var node = findNode(table[calculateIndex(hash)], key, hash);
+    if (node == null && oldTable != null) {
+      node = findNode(oldTable[calculateOldIndex(hash)], key, hash);
+    }
+    return node;
+  }
+
+  private Node<K, V> findNode(Object bin, Object key, int hash) {
+    if (bin instanceof TreeBucket) {
+      return ((TreeBucket<K, V>) bin).find(key, hash);
+    }
+    for (var node = (Node<K, V>) bin; node != null; node = node.next) {
+      if (node.hasKey(key, hash)) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Stores the value computed for the key into the node found by the lookup, removing the node if
+   * the value is null. The removal passes the key of the node itself, so the chain is walked
+   * comparing references only.
+   *
+   * @return the stored value.
+   */
+  private V storeValue(Node<K, V> node, K key, V value, int hash) {
+    if (value == null) {
+      if (node != null) {
+        removeNode(node.getKey(), hash);
+      }
+    } else if (node != null) {
+      node.setValue(value);
     } else {
-      return list.stream()
-          .filter(e -> Objects.equals(e.getKey(), key))
-          .findFirst();
+      insertNode(new Node<>(key, value, hash));
     }
+    return value;
+  }
+
+  private Node<K, V> removeNode(Object key, int hash) {
+    if (capacity == 0) {
+      return null;
+    }
+    if (oldTable != null) {
+      migrateBin(calculateOldIndex(hash));
+      migrateBins();
+    }
+    var index = calculateIndex(hash);
+    var bin = table[index];
+    if (bin instanceof TreeBucket) {
+      var tree = (TreeBucket<K, V>) bin;
+      var removed = tree.remove(key, hash);
+      if (removed != null) {
+        modCount++;
+        size--;
+        if (bloomFilter != null) {
+          bloomFilter.recordRemoval();
+        }
+        if (tree.size() < UNTREEIFY_THRESHOLD) {
+          untreeifyBin(index, tree);
+        }
+      }
+      return removed;
+    }
+    Node<K, V> previous = null;
+    for (var node = (Node<K, V>) bin; node != null; previous = node, node = node.next) {
+      if (node.hasKey(key, hash)) {
+        if (previous == null) {
+          table[index] = node.next;
+        } else {
+          previous.next = node.next;
+        }
+        node.next = null;
+        modCount++;
+        size--;
+        if (bloomFilter != null) {
+          bloomFilter.recordRemoval();
+        }
+        return node;
+      }
+    }
+    return null;
   }
 
-  private void insertEntry(Entry<K, V> entry) {
+  private void insertNode(Node<K, V> node) {
     var newSize = size + 1;
     if (newSize > threshold) {
       resizeTable();
+    } else if (oldTable != null) {
+      migrateBins();
     }
     size = newSize;
-    int index = calculateIndex(entry.getKey());
-    var list = getListAtIndex(index).orElseGet(createNewListAtIndex.apply(index));
-    list.add(entry);
+    linkNode(node);
+    if (bloomFilter != null) {
+      bloomFilter.add(node.hash);
+    }
   }
 
-  private Optional<LinkedList<Entry<K, V>>> getListAtIndex(int index) {
-    return Optional.ofNullable(table[index]);
+  /**
+   * Appends the node to the end of its chain, treeifying the chain if it grew too long.
+   */
+  private void linkNode(Node<K, V> node) {
+    modCount++;
+    var index = calculateIndex(node.hash);
+    var bin = table[index];
+    if (bin instanceof TreeBucket) {
+      ((TreeBucket<K, V>) bin).add(node);
+      return;
+    }
+    node.next = null;
+    if (bin == null) {
+      table[index] = node;
+      return;
+    }
+    var chainLength = 1;
+    var tail = (Node<K, V>) bin;
+    while (tail.next != null) {
+      tail = tail.next;
+      chainLength++;
+    }
+    tail.next = node;
+    if (chainLength >= TREEIFY_THRESHOLD && capacity >= MIN_TREEIFY_CAPACITY) {
+      treeifyBin(index, (Node<K, V>) bin);
+    }
+  }
+
+  private void treeifyBin(int index, Node<K, V> head) {
+    modCount++;
+    var tree = new TreeBucket<K, V>();
+    var node = head;
+    while (node != null) {
+      var next = node.next;
+      tree.add(node);
+      node = next;
+    }
+    table[index] = tree;
+  }
+
+  private void untreeifyBin(int index, TreeBucket<K, V> tree) {
+    modCount++;
+    table[index] = null;
+    tree.stream()
+        .forEach(this::linkNode);
   }
 
   private void resizeTable() {
+    var recorder = stats;
+    var start = recorder != null ? System.nanoTime() : 0;
+    completeMigration();
     if (capacity == 0) {
-      threshold = 1;
-      capacity = calculateMinCapacity(threshold, loadFactor);
+      capacity = capacityPolicy.nextCapacity(calculateMinCapacity(1, loadFactor));
     } else {
-      capacity *= RESIZE_FACTOR;
-      threshold = calculateThreshold(capacity, loadFactor);
+      capacity = capacityPolicy.nextCapacity(capacity * RESIZE_FACTOR);
     }
-    size = 0;
-    LinkedList<Entry<K, V>>[] oldTable = table;
-    table = new LinkedList[capacity];
-    for (var list : oldTable) {
-      if (list != null) {
-        for (var entry : list) {
-          insertEntry(entry);
-        }
+    threshold = calculateThreshold(capacity, loadFactor);
+    var previousTable = table;
+    var previousReducer = reducer;
+    allocateTable();
+    if (resizeMode == ResizeMode.INCREMENTAL) {
+      oldTable = previousTable;
+      oldReducer = previousReducer;
+      migrateIndex = 0;
+      migrateBins();
+    } else {
+      for (var bin : previousTable) {
+        relinkBin(bin);
       }
     }
+    if (recorder != null) {
+      recorder.recordResize(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Migrates the next buckets of the old table, dropping the old table once all are migrated.
+   */
+  private void migrateBins() {
+    var end = Math.min(migrateIndex + MIGRATION_STEP, oldTable.length);
+    while (migrateIndex < end) {
+      migrateBin(migrateIndex++);
+    }
+    if (migrateIndex == oldTable.length) {
+      oldTable = null;
+    }
   }
 
-  private int calculateIndex(K key) {
-    int hash = calculateHash(key);
-    return (hash & 0x7FFFFFFF) % capacity;
+  private void migrateBin(int index) {
+    var bin = oldTable[index];
+    if (bin != null) {
+      oldTable[index] = null;
+      relinkBin(bin);
+    }
   }
 
-  private int calculateHash(K key) {
-    return Objects.hashCode(key);
+  private void completeMigration() {
+    while (oldTable != null) {
+      migrateBins();
+    }
   }
 
+  private void relinkBin(Object bin) {
+    if (bin instanceof TreeBucket) {
+      ((TreeBucket<K, V>) bin).stream()
+          .forEach(this::linkNode);
+    } else {
+      var node = (Node<K, V>) bin;
+      while (node != null) {
+        var next = node.next;
+        linkNode(node);
+        node = next;
+      }
+    }
+  }
 
+  private void allocateTable() {
+    modCount++;
+    table = new Object[capacity];
+    reducer = capacityPolicy.createReducer(capacity);
+  }
+
+  private int calculateIndex(int hash) {
+    return reducer.reduce(hash);
+  }
+
+  private int calculateOldIndex(int hash) {
+    return oldReducer.reduce(hash);
+  }
+
+  private void checkForConcurrentModification(int expectedModCount) {
+    if (expectedModCount != modCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  private int calculateHash(Object key) {
+    return hashStrategy.hash(key);
+  }
+
+  /**
+   * Walks the buckets of the table in order. The next node of a chain is read before the current
+   * node is returned, since its removal unlinks it. A tree bucket is walked over the list of nodes
+   * its traversal produces, which is not affected by the removals either. A pending incremental
+   * resize is completed first, as the walk costs as much anyway.
+   */
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private int index;
+    private Iterator<Node<K, V>> treeNodes;
+    private Node<K, V> next;
+    private Node<K, V> lastReturned;
+    private int expectedModCount;
+
+    EntryIterator() {
+      completeMigration();
+      expectedModCount = modCount;
+      advanceToNextBin();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      checkForConcurrentModification(expectedModCount);
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      lastReturned = next;
+      if (treeNodes != null && treeNodes.hasNext()) {
+        next = treeNodes.next();
+      } else if (treeNodes == null && next.next != null) {
+        next = next.next;
+      } else {
+        advanceToNextBin();
+      }
+      return lastReturned;
+    }
+
+    @Override
+    public void remove() {
+      if (lastReturned == null) {
+        throw new IllegalStateException();
+      }
+      checkForConcurrentModification(expectedModCount);
+      removeNode(lastReturned.getKey(), lastReturned.hash);
+      lastReturned = null;
+      expectedModCount = modCount;
+    }
+
+    private void advanceToNextBin() {
+      next = null;
+      treeNodes = null;
+      while (next == null && index < table.length) {
+        var bin = table[index++];
+        if (bin instanceof TreeBucket) {
+          treeNodes = ((TreeBucket<K, V>) bin).stream()
+              .iterator();
+          next = treeNodes.next();
+        } else {
+          next = (Node<K, V>) bin;
+        }
+      }
+    }
+  }
+
+  /**
+   * Walks a range of the buckets, giving away the lower half of the buckets not visited yet on a
+   * split. Only the spliterator which was never split knows its exact size, the others estimate
+   * it as a half of their parent.
+   */
+  private class EntrySpliterator implements Spliterator<Entry<K, V>> {
+
+    private final int fence;
+    private final int expectedModCount = modCount;
+    private int index;
+    private long estimate;
+    private boolean sized;
+    private Node<K, V> next;
+    private Iterator<Node<K, V>> treeNodes;
+
+    EntrySpliterator(int origin, int fence, long estimate) {
+      this.index = origin;
+      this.fence = fence;
+      this.estimate = estimate;
+      this.sized = origin == 0 && fence == capacity;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+      Objects.requireNonNull(action);
+      checkForConcurrentModification(expectedModCount);
+      while (true) {
+        if (next != null) {
+          var node = next;
+          next = node.next;
+          action.accept(node);
+          return true;
+        }
+        if (treeNodes != null && treeNodes.hasNext()) {
+          action.accept(treeNodes.next());
+          return true;
+        }
+        treeNodes = null;
+        if (index >= fence) {
+          return false;
+        }
+        var bin = table[index++];
+        if (bin instanceof TreeBucket) {
+          treeNodes = ((TreeBucket<K, V>) bin).stream()
+              .iterator();
+        } else {
+          next = (Node<K, V>) bin;
+        }
+      }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+      Objects.requireNonNull(action);
+      while (tryAdvance(action)) {
+        // the entries are passed by tryAdvance
+      }
+      checkForConcurrentModification(expectedModCount);
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> trySplit() {
+      var middle = (index + fence) >>> 1;
+      if (index >= middle || next != null || treeNodes != null) {
+        return null;
+      }
+      sized = false;
+      estimate >>>= 1;
+      var prefix = new EntrySpliterator(index, middle, estimate);
+      index = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+      return (sized ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+    }
+  }
 }
@@ -0,0 +1,184 @@
+package com.pantifik.ds.map.separate_chaining;
+
+import com.pantifik.ds.tree.binary_search.BinaryNode;
+import com.pantifik.ds.tree.binary_search.TraversalType;
+import com.pantifik.ds.tree.binary_search.avl.AVLTree;
+import java.util.stream.Stream;
+
+/**
+ * A bucket keeping its nodes in an AVL tree, so that a bucket flooded with colliding keys is
+ * still searched in logarithmic time.
+ * <p>
+ * The nodes are ordered by the hash of the key, then by the class name of the key, then by the
+ * natural order of the key when it is comparable and lastly by the insertion order. The natural
+ * order places a key only among the keys of its own class, so a lookup follows it only while all
+ * the keys of the bucket and the searched key are of one comparable class. Otherwise the subtrees
+ * of the nodes of the searched hash are both visited, since a key equal to the searched one may
+ * be of another class, such as a subclass, the way {@code java.util.HashMap} searches its tree
+ * bins.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+class TreeBucket<K, V> {
+
+  private final AVLTree<TreeEntry<K, V>> tree = new AVLTree<>();
+  private long sequence;
+  private Class<?> keyClass;
+  private boolean mixedClasses;
+
+  /**
+   * Gets the number of nodes in the bucket.
+   *
+   * @return the number of nodes.
+   */
+  int size() {
+    return tree.size();
+  }
+
+  /**
+   * Finds the node by its key.
+   *
+   * @param key
+   *     the key to look for.
+   * @param hash
+   *     the hash of the key.
+   * @return the node, or null if the key is not in the bucket.
+   */
+  Node<K, V> find(Object key, int hash) {
+    var treeEntry = search(tree.getRoot(), key, hash);
+    return treeEntry == null ? null : treeEntry.node;
+  }
+
+  /**
+   * Adds a node whose key is not in the bucket yet.
+   *
+   * @param node
+   *     the node to add.
+   */
+  void add(Node<K, V> node) {
+    node.next = null;
+    var nodeKeyClass = node.getKey()
+        .getClass();
+    if (keyClass == null) {
+      keyClass = nodeKeyClass;
+    } else if (keyClass != nodeKeyClass) {
+      mixedClasses = true;
+    }
+    tree.add(new TreeEntry<>(node, sequence++));
+  }
+
+  /**
+   * Removes the node by its key.
+   *
+   * @param key
+   *     the key of the node to remove.
+   * @param hash
+   *     the hash of the key.
+   * @return the removed node, or null if the key is not in the bucket.
+   */
+  Node<K, V> remove(Object key, int hash) {
+    var treeEntry = search(tree.getRoot(), key, hash);
+    if (treeEntry == null) {
+      return null;
+    }
+    tree.remove(treeEntry);
+    return treeEntry.node;
+  }
+
+  /**
+   * Streams the nodes of the bucket.
+   *
+   * @return the stream of nodes.
+   */
+  Stream<Node<K, V>> stream() {
+    return tree.traverse(TraversalType.IN_ORDER)
+        .stream()
+        .map(treeEntry -> treeEntry.node);
+  }
+
+  /**
+   * Searches the subtree, testing every visited node for the key. Between the keys of equal
+   * hashes the natural order is trusted only if they all are of the class of the key.
+   */
+  private TreeEntry<K, V> search(BinaryNode<TreeEntry<K, V>> current, Object key, int hash) {
+    var ordered = !mixedClasses && key.getClass() == keyClass;
+    while (current != null) {
+      var treeEntry = current.getData();
+      var node = treeEntry.node;
+      if (node.hasKey(key, hash)) {
+        return treeEntry;
+      }
+      var compared = Integer.compare(hash, node.hash);
+      if (compared == 0 && ordered) {
+        compared = compareSameClassKeys(key, node.getKey());
+      }
+      if (compared < 0) {
+        current = current.getLeft();
+      } else if (compared > 0) {
+        current = current.getRight();
+      } else {
+        var found = search(current.getLeft(), key, hash);
+        if (found != null) {
+          return found;
+        }
+        current = current.getRight();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Compares the keys of the same class by their natural order, if they have one.
+   *
+   * @return the sign of the comparison, or 0 if the keys cannot be ordered.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compareSameClassKeys(Object key1, Object key2) {
+    if (!(key1 instanceof Comparable comparable)) {
+      return 0;
+    }
+    try {
+      return Integer.signum(comparable.compareTo(key2));
+    } catch (ClassCastException ignored) {
+      return 0;
+    }
+  }
+
+  private static int compareKeys(int hash1, Object key1, int hash2, Object key2) {
+    var compared = Integer.compare(hash1, hash2);
+    if (compared != 0) {
+      return compared;
+    }
+    var class1 = key1.getClass();
+    var class2 = key2.getClass();
+    if (class1 != class2) {
+      return class1.getName()
+          .compareTo(class2.getName());
+    }
+    return compareSameClassKeys(key1, key2);
+  }
+
+  /**
+   * Wraps a node of the map with the order it is kept in the tree by.
+   */
+  static final class TreeEntry<K, V> implements Comparable<TreeEntry<K, V>> {
+
+    private final Node<K, V> node;
+    private final long sequence;
+
+    TreeEntry(Node<K, V> node, long sequence) {
+      this.node = node;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(TreeEntry<K, V> other) {
+      var compared = compareKeys(node.hash, node.getKey(), other.node.hash,
+          other.node.getKey());
+      return compared != 0 ? compared : Long.compare(sequence, other.sequence);
+    }
+  }
+}
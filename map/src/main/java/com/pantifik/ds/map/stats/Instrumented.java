@@ -0,0 +1,37 @@
+package com.pantifik.ds.map.stats;
+
+/**
+ * A hash table which can record statistics about its probes and resizes on demand.
+ * <p>
+ * The recording is disabled by default, in which case the operations only pay for a null check.
+ * The recorder is published through a volatile field, so the recording may be switched from
+ * another thread. The shape of the table, such as its chain lengths, is measured by every full
+ * snapshot whether the recording is enabled or not.
+ */
+public interface Instrumented {
+
+  /**
+   * Enables or disables the recording. Enabling it starts from empty counters.
+   *
+   * @param enabled
+   *     whether the probes and resizes should be recorded.
+   */
+  void setStatsEnabled(boolean enabled);
+
+  boolean isStatsEnabled();
+
+  /**
+   * Takes a snapshot of the statistics, walking the whole table.
+   *
+   * @return the statistics.
+   */
+  MapStats getStats();
+
+  /**
+   * Takes a snapshot of the recorded counters and of the counts the table keeps, in constant
+   * time. The chain lengths are not measured, so their histogram is empty.
+   *
+   * @return the statistics.
+   */
+  MapStats getRecordedStats();
+}
@@ -0,0 +1,63 @@
+package com.pantifik.ds.map.stats;
+
+/**
+ * A snapshot of the statistics of an {@link Instrumented} hash table.
+ * <p>
+ * A histogram counts at index {@code i} the occurrences of the length {@code i}, and at its last
+ * index the occurrences of all the longer ones. A probe length is the number of keys compared by
+ * a lookup, so a miss on an empty bucket has the length 0. The chain lengths are the sizes of the
+ * buckets for separate chaining, the lengths of the runs of used slots for open addressing, and
+ * the numbers of occupied slots of the buckets for cuckoo hashing.
+ *
+ * @param size
+ *     the number of entries.
+ * @param capacity
+ *     the number of buckets or slots.
+ * @param tombstoneCount
+ *     the number of slots marked as deleted.
+ * @param resizeCount
+ *     the number of resizes recorded.
+ * @param resizeNanos
+ *     the total time spent by the recorded resizes.
+ * @param hitProbeHistogram
+ *     the probe lengths of the lookups which found the key.
+ * @param missProbeHistogram
+ *     the probe lengths of the lookups which did not find the key.
+ * @param chainLengthHistogram
+ *     the chain lengths.
+ */
+public record MapStats(int size, int capacity, int tombstoneCount, long resizeCount,
+                       long resizeNanos, long[] hitProbeHistogram, long[] missProbeHistogram,
+                       long[] chainLengthHistogram) {
+
+  /**
+   * Returns the ratio of the entries to the capacity.
+   */
+  public double loadFactor() {
+    return capacity == 0 ? 0 : (double) size / capacity;
+  }
+
+  public double meanHitProbeLength() {
+    return mean(hitProbeHistogram);
+  }
+
+  public double meanMissProbeLength() {
+    return mean(missProbeHistogram);
+  }
+
+  /**
+   * Calculates the mean of the histogram, counting its last index as the length of all the
+   * longer occurrences.
+   *
+   * @return the mean, or 0 if the histogram is empty.
+   */
+  static double mean(long[] histogram) {
+    long count = 0;
+    long total = 0;
+    for (int i = 0; i < histogram.length; i++) {
+      count += histogram[i];
+      total += i * histogram[i];
+    }
+    return count == 0 ? 0 : (double) total / count;
+  }
+}
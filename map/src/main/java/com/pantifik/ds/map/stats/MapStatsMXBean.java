@@ -0,0 +1,41 @@
+package com.pantifik.ds.map.stats;
+
+/**
+ * The management interface exposing the {@link MapStats} of a hash table over JMX.
+ * <p>
+ * The attributes read the recorded counters in constant time. Measuring the chain lengths walks
+ * the whole table, so it is an explicit operation.
+ */
+public interface MapStatsMXBean {
+
+  boolean isStatsEnabled();
+
+  void setStatsEnabled(boolean enabled);
+
+  int getSize();
+
+  int getCapacity();
+
+  double getLoadFactor();
+
+  int getTombstoneCount();
+
+  long getResizeCount();
+
+  long getResizeTimeNanos();
+
+  double getMeanHitProbeLength();
+
+  double getMeanMissProbeLength();
+
+  long[] getHitProbeHistogram();
+
+  long[] getMissProbeHistogram();
+
+  /**
+   * Walks the whole table to measure the histogram of its chain lengths.
+   *
+   * @return the histogram.
+   */
+  long[] measureChainLengthHistogram();
+}
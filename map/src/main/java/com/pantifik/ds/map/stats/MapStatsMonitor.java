@@ -0,0 +1,128 @@
+package com.pantifik.ds.map.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Exposes the statistics of a hash table as an MXBean of the platform MBean server.
+ * <p>
+ * Every attribute reads the recorded counters and the counts of the table in constant time,
+ * without walking the table. The hash tables are not thread safe, so the values read from a JMX
+ * client while the table is being modified are only approximate. The chain lengths are measured
+ * only on an explicit request, which walks the table without any synchronization: it may fail
+ * while the table is being modified, and should be requested while it is not.
+ */
+public class MapStatsMonitor implements MapStatsMXBean {
+
+  static final String DOMAIN = "com.pantifik.ds.map";
+  private final Instrumented table;
+
+  public MapStatsMonitor(Instrumented table) {
+    this.table = Objects.requireNonNull(table);
+  }
+
+  /**
+   * Registers the monitor of the table in the platform MBean server.
+   *
+   * @param name
+   *     the name telling the table apart from the other registered ones.
+   * @param table
+   *     the table to monitor.
+   * @return the object name the monitor is registered under.
+   * @throws JMException
+   *     if the name is already registered or the registration fails.
+   */
+  public static ObjectName register(String name, Instrumented table) throws JMException {
+    var objectName = createObjectName(name);
+    ManagementFactory.getPlatformMBeanServer()
+        .registerMBean(new MapStatsMonitor(table), objectName);
+    return objectName;
+  }
+
+  public static void unregister(ObjectName objectName) throws JMException {
+    ManagementFactory.getPlatformMBeanServer()
+        .unregisterMBean(objectName);
+  }
+
+  static ObjectName createObjectName(String name) throws JMException {
+    return new ObjectName(DOMAIN + ":type=MapStats,name=" + ObjectName.quote(name));
+  }
+
+  @Override
+  public boolean isStatsEnabled() {
+    return table.isStatsEnabled();
+  }
+
+  @Override
+  public void setStatsEnabled(boolean enabled) {
+    table.setStatsEnabled(enabled);
+  }
+
+  @Override
+  public int getSize() {
+    return table.getRecordedStats()
+        .size();
+  }
+
+  @Override
+  public int getCapacity() {
+    return table.getRecordedStats()
+        .capacity();
+  }
+
+  @Override
+  public double getLoadFactor() {
+    return table.getRecordedStats()
+        .loadFactor();
+  }
+
+  @Override
+  public int getTombstoneCount() {
+    return table.getRecordedStats()
+        .tombstoneCount();
+  }
+
+  @Override
+  public long getResizeCount() {
+    return table.getRecordedStats()
+        .resizeCount();
+  }
+
+  @Override
+  public long getResizeTimeNanos() {
+    return table.getRecordedStats()
+        .resizeNanos();
+  }
+
+  @Override
+  public double getMeanHitProbeLength() {
+    return table.getRecordedStats()
+        .meanHitProbeLength();
+  }
+
+  @Override
+  public double getMeanMissProbeLength() {
+    return table.getRecordedStats()
+        .meanMissProbeLength();
+  }
+
+  @Override
+  public long[] getHitProbeHistogram() {
+    return table.getRecordedStats()
+        .hitProbeHistogram();
+  }
+
+  @Override
+  public long[] getMissProbeHistogram() {
+    return table.getRecordedStats()
+        .missProbeHistogram();
+  }
+
+  @Override
+  public long[] measureChainLengthHistogram() {
+    return table.getStats()
+        .chainLengthHistogram();
+  }
+}
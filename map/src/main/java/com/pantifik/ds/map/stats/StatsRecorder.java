@@ -0,0 +1,57 @@
+package com.pantifik.ds.map.stats;
+
+/**
+ * Collects the statistics of an {@link Instrumented} hash table, which holds an instance only
+ * while the recording is enabled.
+ */
+public final class StatsRecorder {
+
+  public static final int HISTOGRAM_LENGTH = 16;
+  private final long[] hitProbes = new long[HISTOGRAM_LENGTH];
+  private final long[] missProbes = new long[HISTOGRAM_LENGTH];
+  private long resizeCount;
+  private long resizeNanos;
+
+  public void recordHit(int probes) {
+    addToHistogram(hitProbes, probes);
+  }
+
+  public void recordMiss(int probes) {
+    addToHistogram(missProbes, probes);
+  }
+
+  public void recordResize(long nanos) {
+    resizeCount++;
+    resizeNanos += nanos;
+  }
+
+  /**
+   * Takes the snapshot of the recorded statistics along with the measured shape of the table.
+   *
+   * @param size
+   *     the number of entries.
+   * @param capacity
+   *     the number of buckets or slots.
+   * @param tombstoneCount
+   *     the number of slots marked as deleted.
+   * @param chainLengthHistogram
+   *     the histogram of the chain lengths, which is not copied.
+   * @return the statistics.
+   */
+  public MapStats snapshot(int size, int capacity, int tombstoneCount,
+      long[] chainLengthHistogram) {
+    return new MapStats(size, capacity, tombstoneCount, resizeCount, resizeNanos,
+        hitProbes.clone(), missProbes.clone(), chainLengthHistogram);
+  }
+
+  public static long[] newHistogram() {
+    return new long[HISTOGRAM_LENGTH];
+  }
+
+  /**
+   * Counts the length in the histogram, in the last index if it is too long.
+   */
+  public static void addToHistogram(long[] histogram, int length) {
+    histogram[Math.min(length, histogram.length - 1)]++;
+  }
+}
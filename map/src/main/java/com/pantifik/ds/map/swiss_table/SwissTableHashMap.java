@@ -0,0 +1,397 @@
+package com.pantifik.ds.map.swiss_table;
+
+import static com.pantifik.ds.map.utils.MapUtils.calculateThreshold;
+import static com.pantifik.ds.map.utils.MapUtils.validateCapacity;
+import static com.pantifik.ds.map.utils.MapUtils.validateLoadFactor;
+import com.pantifik.ds.map.AbstractMap;
+import com.pantifik.ds.map.open_addressing.PowerOfTwo;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An open addressing hash map implementation in the style of the SwissTable.
+ * <p>
+ * Every slot has a control byte which is either empty, deleted or holds the 7 low bits of the
+ * hash of its key. The slots are probed in groups of 8, whose control bytes are read as a single
+ * long and matched all at once with SWAR bit tricks, so most of the misses are rejected without
+ * touching any key.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class SwissTableHashMap<K, V> extends AbstractMap<K, V> {
+
+  static final int GROUP_SIZE = Long.BYTES;
+  private static final byte EMPTY = (byte) 0x80;
+  private static final byte DELETED = (byte) 0xFE;
+  private static final int FINGERPRINT_BITS = 7;
+  private static final int FINGERPRINT_MASK = 0x7F;
+  private static final long LOW_BITS = 0x0101010101010101L;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+  private static final VarHandle GROUP = MethodHandles.byteArrayViewVarHandle(long[].class,
+      ByteOrder.LITTLE_ENDIAN);
+  private static final int RESIZE_FACTOR = 2;
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float DEFAULT_LOAD_FACTOR = .875f;
+  private static final float MAX_LOAD_FACTOR = .875f;
+  private final float loadFactor;
+  private byte[] controls;
+  private Object[] keys;
+  private Object[] values;
+  private int capacity;
+  private int groupMask;
+  private int threshold;
+  private int size;
+  private int deleted;
+
+  public SwissTableHashMap() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  public SwissTableHashMap(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates the hash map with given capacity and load factor.
+   *
+   * @param capacity
+   *     the initial capacity, rounded up to a power of two of at least one group.
+   * @param loadFactor
+   *     the load factor.
+   * @throws IllegalArgumentException
+   *     if capacity is less than 0 or load factor is not in range [0.1, 0.875].
+   */
+  public SwissTableHashMap(int capacity, float loadFactor) {
+    validateCapacity(capacity);
+    validateLoadFactor(loadFactor);
+    if (loadFactor > MAX_LOAD_FACTOR) {
+      throw new IllegalArgumentException("The load factor must be in range [0.1, 0.875]");
+    }
+    this.loadFactor = loadFactor;
+    this.capacity = calculateCapacity(capacity);
+    this.threshold = calculateThreshold(this.capacity, this.loadFactor);
+    allocateTable();
+    this.size = 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Objects.requireNonNull(key);
+    return findSlot(key, calculateHash(key)) >= 0;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (int i = 0; i < capacity; i++) {
+      if (isFull(i) && Objects.equals(values[i], value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    Objects.requireNonNull(key);
+    var slot = findSlot(key, calculateHash(key));
+    return slot < 0 ? null : valueAt(slot);
+  }
+
+  @Override
+  public V put(K key, V value) {
+    Objects.requireNonNull(key);
+    var hash = calculateHash(key);
+    var slot = findSlot(key, hash);
+    if (slot < 0) {
+      insertEntry(key, value, hash, ~slot);
+      return null;
+    } else {
+      var oldValue = valueAt(slot);
+      values[slot] = value;
+      return oldValue;
+    }
+  }
+
+  @Override
+  public V remove(Object key) {
+    Objects.requireNonNull(key);
+    var slot = findSlot(key, calculateHash(key));
+    return slot < 0 ? null : removeSlot(slot);
+  }
+
+  @Override
+  public void clear() {
+    capacity = GROUP_SIZE;
+    threshold = calculateThreshold(capacity, loadFactor);
+    size = 0;
+    deleted = 0;
+    allocateTable();
+  }
+
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  private V removeSlot(int slot) {
+    var value = valueAt(slot);
+    keys[slot] = null;
+    values[slot] = null;
+    if (matchEmpty(loadGroup(slot & -GROUP_SIZE)) != 0) {
+      controls[slot] = EMPTY;
+    } else {
+      controls[slot] = DELETED;
+      deleted++;
+    }
+    size--;
+    return value;
+  }
+
+  /**
+   * Probes the groups looking for the key. A probe stops at the first group having an empty
+   * slot, since an insertion would never have skipped it.
+   *
+   * @return the slot of the key, or the complement of the slot to insert it into, if absent.
+   */
+  private int findSlot(Object key, int hash) {
+    var fingerprint = hash & FINGERPRINT_MASK;
+    var group = calculateHomeGroup(hash);
+    var freeSlot = -1;
+    var probeNr = 0;
+    while (true) {
+      var offset = group * GROUP_SIZE;
+      var word = loadGroup(offset);
+      for (var matches = matchFingerprint(word, fingerprint); matches != 0;
+          matches &= matches - 1) {
+        var slot = offset + lowestMatchedByte(matches);
+        var k = keys[slot];
+        if (k == key || key.equals(k)) {
+          return slot;
+        }
+      }
+      if (freeSlot < 0) {
+        var free = matchEmptyOrDeleted(word);
+        if (free != 0) {
+          freeSlot = offset + lowestMatchedByte(free);
+        }
+      }
+      if (matchEmpty(word) != 0) {
+        return ~freeSlot;
+      }
+      group = (group + ++probeNr) & groupMask;
+    }
+  }
+
+  private int findFreeSlot(int hash) {
+    var group = calculateHomeGroup(hash);
+    var probeNr = 0;
+    while (true) {
+      var offset = group * GROUP_SIZE;
+      var free = matchEmptyOrDeleted(loadGroup(offset));
+      if (free != 0) {
+        return offset + lowestMatchedByte(free);
+      }
+      group = (group + ++probeNr) & groupMask;
+    }
+  }
+
+  private void insertEntry(Object key, Object value, int hash, int slot) {
+    var newSize = size + 1;
+    if (newSize > threshold) {
+      resizeTable();
+      slot = findFreeSlot(hash);
+    } else if (controls[slot] == EMPTY && newSize + deleted > threshold) {
+      rebuildTable();
+      slot = findFreeSlot(hash);
+    }
+    size = newSize;
+    writeSlot(slot, key, value, hash);
+  }
+
+  private void writeSlot(int slot, Object key, Object value, int hash) {
+    if (controls[slot] == DELETED) {
+      deleted--;
+    }
+    controls[slot] = (byte) (hash & FINGERPRINT_MASK);
+    keys[slot] = key;
+    values[slot] = value;
+  }
+
+  private void resizeTable() {
+    capacity *= RESIZE_FACTOR;
+    threshold = calculateThreshold(capacity, loadFactor);
+    rebuildTable();
+  }
+
+  /**
+   * Re-inserts all the entries into a fresh table, which drops the deleted marks.
+   */
+  private void rebuildTable() {
+    var oldControls = controls;
+    var oldKeys = keys;
+    var oldValues = values;
+    deleted = 0;
+    allocateTable();
+    for (int i = 0; i < oldControls.length; i++) {
+      if (oldControls[i] >= 0) {
+        var hash = calculateHash(oldKeys[i]);
+        writeSlot(findFreeSlot(hash), oldKeys[i], oldValues[i], hash);
+      }
+    }
+  }
+
+  private void allocateTable() {
+    groupMask = capacity / GROUP_SIZE - 1;
+    controls = new byte[capacity];
+    Arrays.fill(controls, EMPTY);
+    keys = new Object[capacity];
+    values = new Object[capacity];
+  }
+
+  private boolean isFull(int slot) {
+    return controls[slot] >= 0;
+  }
+
+  private K keyAt(int slot) {
+    return (K) keys[slot];
+  }
+
+  private V valueAt(int slot) {
+    return (V) values[slot];
+  }
+
+  private long loadGroup(int offset) {
+    return (long) GROUP.get(controls, offset);
+  }
+
+  private int calculateHomeGroup(int hash) {
+    return (hash >>> FINGERPRINT_BITS) & groupMask;
+  }
+
+  private int calculateCapacity(int capacity) {
+    return Math.max(GROUP_SIZE, PowerOfTwo.nextPowerOfTwo(Math.max(1, capacity)));
+  }
+
+  /**
+   * Spreads the hash code, so that both the fingerprint and the group index get well mixed bits.
+   */
+  private int calculateHash(Object key) {
+    var hash = Objects.hashCode(key) * GOLDEN_RATIO;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Sets the high bit of every byte equal to the fingerprint. A byte right above a matching one
+   * may be reported as well, which is sorted out by comparing the keys.
+   */
+  static long matchFingerprint(long word, int fingerprint) {
+    var x = word ^ (LOW_BITS * fingerprint);
+    return (x - LOW_BITS) & ~x & HIGH_BITS;
+  }
+
+  /**
+   * Sets the high bit of every empty byte: high bit set and bit 1 clear.
+   */
+  static long matchEmpty(long word) {
+    return word & ~(word << 6) & HIGH_BITS;
+  }
+
+  /**
+   * Sets the high bit of every empty or deleted byte: high bit set and bit 0 clear.
+   */
+  static long matchEmptyOrDeleted(long word) {
+    return word & ~(word << 7) & HIGH_BITS;
+  }
+
+  private static int lowestMatchedByte(long matches) {
+    return Long.numberOfTrailingZeros(matches) >>> 3;
+  }
+
+  /**
+   * Walks the slots of the table once. A removal only rewrites the control byte of the removed
+   * slot, so the walk is not disturbed by it.
+   */
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private int slot;
+    private int remaining = size;
+    private int lastSlot = -1;
+    private int expectedSize = size;
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      checkForConcurrentModification();
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      while (!isFull(slot)) {
+        slot++;
+      }
+      lastSlot = slot++;
+      remaining--;
+      return new TableEntry(keyAt(lastSlot), valueAt(lastSlot));
+    }
+
+    @Override
+    public void remove() {
+      if (lastSlot == -1) {
+        throw new IllegalStateException();
+      }
+      checkForConcurrentModification();
+      removeSlot(lastSlot);
+      lastSlot = -1;
+      expectedSize--;
+    }
+
+    private void checkForConcurrentModification() {
+      if (expectedSize != size) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * An entry detached from the table which writes its value changes through to the map.
+   */
+  private class TableEntry extends SimpleEntry<K, V> {
+
+    TableEntry(K key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
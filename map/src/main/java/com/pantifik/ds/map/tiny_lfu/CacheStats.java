@@ -0,0 +1,29 @@
+package com.pantifik.ds.map.tiny_lfu;
+
+/**
+ * A snapshot of the statistics of a {@link TinyLfuCache}.
+ *
+ * @param hitCount
+ *     the number of lookups which found the key.
+ * @param missCount
+ *     the number of lookups which did not find the key.
+ * @param evictionCount
+ *     the number of entries evicted because of the size bound or the expiration.
+ * @param evictionWeight
+ *     the total weight of the evicted entries.
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount,
+                         long evictionWeight) {
+
+  public long requestCount() {
+    return hitCount + missCount;
+  }
+
+  /**
+   * Returns the ratio of the lookups which found the key, or 1 if there were no lookups.
+   */
+  public double hitRate() {
+    var requestCount = requestCount();
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+}
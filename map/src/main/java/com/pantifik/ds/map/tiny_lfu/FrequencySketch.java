@@ -0,0 +1,105 @@
+package com.pantifik.ds.map.tiny_lfu;
+
+/**
+ * A Count-Min sketch estimating how often the keys were seen recently.
+ * <p>
+ * Every long of the table packs 16 counters of 4 bits, and each key is counted in 4 of them,
+ * picked by 4 differently seeded hashes. The estimate of a key is the smallest of its counters,
+ * which can only overestimate it because of collisions. Once the number of additions reaches the
+ * sample size, all the counters are halved, so the old popularity fades away.
+ */
+final class FrequencySketch {
+
+  static final int MAX_FREQUENCY = 15;
+  private static final int DEPTH = 4;
+  private static final int SAMPLE_FACTOR = 10;
+  private static final int MIN_TABLE_LENGTH = 16;
+  private static final int MAX_TABLE_LENGTH = 1 << 20;
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+      0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int additions;
+
+  /**
+   * Creates the sketch for given number of keys.
+   *
+   * @param expectedSize
+   *     the expected number of keys, which the length of the table is rounded up from.
+   */
+  FrequencySketch(long expectedSize) {
+    var length = (int) Math.min(Math.max(expectedSize, MIN_TABLE_LENGTH), MAX_TABLE_LENGTH);
+    length = Integer.highestOneBit(length - 1) << 1;
+    this.table = new long[length];
+    this.tableMask = length - 1;
+    this.sampleSize = SAMPLE_FACTOR * length;
+  }
+
+  /**
+   * Returns the estimated number of occurrences of the key, at most {@link #MAX_FREQUENCY}.
+   */
+  int frequency(Object key) {
+    var hash = spread(key.hashCode());
+    var start = (hash & 3) << 2;
+    var frequency = MAX_FREQUENCY;
+    for (int i = 0; i < DEPTH; i++) {
+      var offset = (start + i) << 2;
+      var count = (int) ((table[indexOf(hash, i)] >>> offset) & MAX_FREQUENCY);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Counts an occurrence of the key, halving all the counters once the sample is full.
+   */
+  void increment(Object key) {
+    var hash = spread(key.hashCode());
+    var start = (hash & 3) << 2;
+    var added = false;
+    for (int i = 0; i < DEPTH; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++additions == sampleSize) {
+      reset();
+    }
+  }
+
+  int getSampleSize() {
+    return sampleSize;
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    var offset = counter << 2;
+    var mask = (long) MAX_FREQUENCY << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halves all the counters, so the estimates reflect the recent popularity.
+   */
+  void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    additions >>>= 1;
+  }
+
+  private int indexOf(int hash, int depth) {
+    var h = (hash + SEEDS[depth]) * SEEDS[depth];
+    h += h >>> 32;
+    return (int) h & tableMask;
+  }
+
+  private static int spread(int hashCode) {
+    var h = hashCode * GOLDEN_RATIO;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,174 @@
+package com.pantifik.ds.map.tiny_lfu;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timer wheel expiring the timers in amortized constant time.
+ * <p>
+ * Every level of the wheel splits the time into ticks of a power of two nanoseconds, each 64
+ * times as long as the ticks of the level below, and hashes every tick to one of its buckets, each
+ * of them a circular doubly linked list of timers. A timer is scheduled on the lowest level whose
+ * 64 ticks reach its expiration time, and the timers too far ahead for all the levels share a
+ * single overflow bucket. Advancing the wheel returns right away while the lowest tick has not
+ * changed. Otherwise it walks, on every level whose tick changed, the buckets of the ticks passed
+ * since the last advance and the bucket of the current tick: the expired timers are removed, and
+ * the others are scheduled again, which cascades them to a lower level as their time approaches.
+ * A timer is thus walked a bounded number of times, at most a few per level, however far ahead it
+ * expires.
+ * <p>
+ * The timers of the current lowest tick are only expired once the tick passes, so the owner of
+ * the wheel checks the expiration time of a timer itself before using it.
+ *
+ * @param <T>
+ *     the type of the timers.
+ */
+final class TimerWheel<T extends TimerWheel.Timer> {
+
+  static final int BUCKETS = 64;
+  static final int[] TICK_SHIFTS = {30, 36, 42, 48, 54};
+  static final int TICK_SHIFT = TICK_SHIFTS[0];
+  private final Timer[][] levels;
+  private long currentTime;
+
+  /**
+   * Creates the wheel starting at given time.
+   *
+   * @param now
+   *     the current time in nanoseconds.
+   */
+  TimerWheel(long now) {
+    this.levels = new Timer[TICK_SHIFTS.length][];
+    for (int level = 0; level < levels.length; level++) {
+      var bucketCount = level == levels.length - 1 ? 1 : BUCKETS;
+      levels[level] = new Timer[bucketCount];
+      for (int i = 0; i < bucketCount; i++) {
+        levels[level][i] = new Sentinel();
+      }
+    }
+    this.currentTime = now;
+  }
+
+  /**
+   * Adds the timer to the bucket of its expiration time, moving it out of its previous one.
+   */
+  void schedule(T scheduled) {
+    Timer timer = scheduled;
+    if (timer.next != null) {
+      unlink(timer);
+    }
+    link(findBucket(timer.expirationTime), timer);
+  }
+
+  /**
+   * Removes the timer from the wheel, if scheduled.
+   */
+  void deschedule(T scheduled) {
+    Timer timer = scheduled;
+    if (timer.next != null) {
+      unlink(timer);
+    }
+  }
+
+  /**
+   * Walks the buckets of the ticks passed since the last advance on every level whose tick
+   * changed, and removes the timers which expired, passing them to the consumer.
+   *
+   * @param now
+   *     the current time in nanoseconds.
+   * @param expired
+   *     the consumer of the expired timers.
+   */
+  void advance(long now, Consumer<? super T> expired) {
+    var previousTime = currentTime;
+    if ((now >> TICK_SHIFT) - (previousTime >> TICK_SHIFT) <= 0) {
+      return;
+    }
+    currentTime = now;
+    for (int level = 0; level < levels.length; level++) {
+      var previousTicks = previousTime >> TICK_SHIFTS[level];
+      var delta = (now >> TICK_SHIFTS[level]) - previousTicks;
+      if (delta <= 0) {
+        break;
+      }
+      expire(level, previousTicks, delta, expired);
+    }
+  }
+
+  /**
+   * Empties the buckets of the passed ticks and of the current tick on the level, expiring the
+   * timers which are due and scheduling the others again.
+   */
+  @SuppressWarnings("unchecked")
+  private void expire(int level, long previousTicks, long delta, Consumer<? super T> expired) {
+    var buckets = levels[level];
+    var mask = buckets.length - 1;
+    var steps = (int) Math.min(delta + 1, buckets.length);
+    var start = (int) previousTicks & mask;
+    for (int i = start; i < start + steps; i++) {
+      var sentinel = buckets[i & mask];
+      var timer = sentinel.next;
+      sentinel.prev = sentinel;
+      sentinel.next = sentinel;
+      while (timer != sentinel) {
+        var next = timer.next;
+        timer.prev = null;
+        timer.next = null;
+        if (timer.expirationTime - currentTime <= 0) {
+          expired.accept((T) timer);
+        } else {
+          link(findBucket(timer.expirationTime), timer);
+        }
+        timer = next;
+      }
+    }
+  }
+
+  /**
+   * Finds the bucket of the expiration time on the lowest level whose ticks reach it from the
+   * current time, or the overflow bucket. A time already passed falls into the current tick.
+   */
+  private Timer findBucket(long expirationTime) {
+    var duration = expirationTime - currentTime;
+    var last = levels.length - 1;
+    for (int level = 0; level < last; level++) {
+      if (duration < 1L << TICK_SHIFTS[level + 1]) {
+        var ticks = Math.max(expirationTime, currentTime) >> TICK_SHIFTS[level];
+        return levels[level][(int) ticks & (BUCKETS - 1)];
+      }
+    }
+    return levels[last][0];
+  }
+
+  private static void link(Timer sentinel, Timer timer) {
+    timer.next = sentinel;
+    timer.prev = sentinel.prev;
+    sentinel.prev.next = timer;
+    sentinel.prev = timer;
+  }
+
+  private static void unlink(Timer timer) {
+    timer.prev.next = timer.next;
+    timer.next.prev = timer.prev;
+    timer.prev = null;
+    timer.next = null;
+  }
+
+  /**
+   * A node of the wheel, which is scheduled while linked into a bucket.
+   */
+  abstract static class Timer {
+
+    long expirationTime;
+    private Timer prev;
+    private Timer next;
+  }
+
+  private static final class Sentinel extends Timer {
+
+    Sentinel() {
+      Timer self = this;
+      self.prev = self;
+      self.next = self;
+    }
+  }
+}
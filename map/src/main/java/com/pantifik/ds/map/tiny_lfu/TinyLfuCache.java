@@ -0,0 +1,557 @@
+package com.pantifik.ds.map.tiny_lfu;
+
+import static com.pantifik.ds.map.utils.MapUtils.requireGreaterThan;
+import com.pantifik.ds.list.linkedlist.DoublyLinkedList;
+import com.pantifik.ds.list.linkedlist.DoublyLinkedList.Node;
+import com.pantifik.ds.map.AbstractMap;
+import com.pantifik.ds.map.separate_chaining.SeparateChainingHashMap;
+import java.time.Duration;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A weight bounded cache with the W-TinyLFU eviction policy.
+ * <p>
+ * A new entry enters a small LRU window. The entry pushed out of the window is a candidate for
+ * the main space, a segmented LRU made of a probation and a protected segment, and it is admitted
+ * only if a {@link FrequencySketch} estimates it more popular than the victim the main space
+ * would evict for it. An entry hit in the probation segment is promoted to the protected one,
+ * whose overflow is demoted back. So a scan fills the window and the probation segment, but it
+ * cannot flush the frequently used entries out of the protected one.
+ * <p>
+ * The entries can expire a fixed time after their last write or access, driven by a
+ * {@link TimerWheel}. The expired entries are swept by the lookups and the writes, or by
+ * {@link #cleanUp()}, so the size may count the entries which expired since the last sweep.
+ * Since a lookup reorders the entries, a lookup during an iteration is a modification of the map.
+ *
+ * @param <K>
+ *     the type of the keys.
+ * @param <V>
+ *     the type of the values.
+ */
+public class TinyLfuCache<K, V> extends AbstractMap<K, V> {
+
+  private static final double WINDOW_RATIO = .01;
+  private static final double PROTECTED_RATIO = .8;
+  private final long maximumWeight;
+  private final long windowMaximum;
+  private final long protectedMaximum;
+  private final ToIntBiFunction<? super K, ? super V> weigher;
+  private final long expireAfterWriteNanos;
+  private final long expireAfterAccessNanos;
+  private final LongSupplier ticker;
+  private final BiConsumer<? super K, ? super V> evictionListener;
+  private final SeparateChainingHashMap<K, CacheEntry<K, V>> index;
+  private final FrequencySketch sketch;
+  private TimerWheel<CacheEntry<K, V>> timerWheel;
+  private DoublyLinkedList<CacheEntry<K, V>> window;
+  private DoublyLinkedList<CacheEntry<K, V>> probation;
+  private DoublyLinkedList<CacheEntry<K, V>> protectedSegment;
+  private long weightedSize;
+  private long windowWeight;
+  private long protectedWeight;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+  private long evictionWeight;
+  private int modCount;
+
+  public TinyLfuCache(long maximumSize) {
+    this(maximumSize, (key, value) -> 1);
+  }
+
+  public TinyLfuCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+    this(maximumWeight, weigher, null, null);
+  }
+
+  public TinyLfuCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher,
+      Duration expireAfterWrite, Duration expireAfterAccess) {
+    this(maximumWeight, weigher, expireAfterWrite, expireAfterAccess, System::nanoTime,
+        (key, value) -> {});
+  }
+
+  /**
+   * Creates the cache with given bound, expiration and listener.
+   *
+   * @param maximumWeight
+   *     the maximum total weight of the entries.
+   * @param weigher
+   *     the function calculating the non negative weight of an entry.
+   * @param expireAfterWrite
+   *     the time an entry expires after its last write, or null if it does not.
+   * @param expireAfterAccess
+   *     the time an entry expires after its last lookup or write, or null if it does not.
+   * @param ticker
+   *     the source of the current time in nanoseconds.
+   * @param evictionListener
+   *     the listener called with the key and the value of every evicted or expired entry.
+   * @throws IllegalArgumentException
+   *     if the maximum weight is less than 1 or an expiration time is not positive.
+   */
+  public TinyLfuCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher,
+      Duration expireAfterWrite, Duration expireAfterAccess, LongSupplier ticker,
+      BiConsumer<? super K, ? super V> evictionListener) {
+    requireGreaterThan(0, maximumWeight);
+    this.maximumWeight = maximumWeight;
+    this.windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_RATIO));
+    this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_RATIO);
+    this.weigher = Objects.requireNonNull(weigher);
+    this.expireAfterWriteNanos = toNanos(expireAfterWrite);
+    this.expireAfterAccessNanos = toNanos(expireAfterAccess);
+    this.ticker = Objects.requireNonNull(ticker);
+    this.evictionListener = Objects.requireNonNull(evictionListener);
+    this.index = new SeparateChainingHashMap<>();
+    this.sketch = new FrequencySketch(maximumWeight);
+    this.timerWheel = isExpiring() ? new TimerWheel<>(ticker.getAsLong()) : null;
+    this.window = new DoublyLinkedList<>();
+    this.probation = new DoublyLinkedList<>();
+    this.protectedSegment = new DoublyLinkedList<>();
+  }
+
+  @Override
+  public int size() {
+    return index.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Checks the key without counting it as a lookup.
+   */
+  @Override
+  public boolean containsKey(Object key) {
+    var entry = index.get(key);
+    return entry != null && !isExpired(entry, ticker.getAsLong());
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    var now = ticker.getAsLong();
+    for (var segment : Segment.values()) {
+      for (var entry : segmentList(segment)) {
+        if (entry.value.equals(value) && !isExpired(entry, now)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  /**
+   * Returns the value of the key, recording the lookup in the statistics and the frequency
+   * sketch.
+   */
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    Objects.requireNonNull(key);
+    var now = ticker.getAsLong();
+    var entry = findEntry(key, now);
+    if (entry == null) {
+      missCount++;
+      return defaultValue;
+    }
+    hitCount++;
+    sketch.increment(entry.key);
+    if (expireAfterAccessNanos > 0) {
+      entry.accessTime = now;
+      scheduleExpiration(entry);
+    }
+    reorder(entry);
+    return entry.value;
+  }
+
+  /**
+   * Maps the key to the value, evicting entries while the total weight exceeds the maximum one.
+   *
+   * @throws NullPointerException
+   *     if the key or the value is null.
+   * @throws IllegalArgumentException
+   *     if the weigher returns a negative weight.
+   */
+  @Override
+  public V put(K key, V value) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    var weight = weigher.applyAsInt(key, value);
+    if (weight < 0) {
+      throw new IllegalArgumentException("The weight must not be negative");
+    }
+    var now = ticker.getAsLong();
+    sketch.increment(key);
+    var entry = findEntry(key, now);
+    V oldValue = null;
+    if (entry == null) {
+      entry = new CacheEntry<>(key, value, weight);
+      entry.segment = Segment.WINDOW;
+      entry.node = window.addLastNode(entry);
+      index.put(key, entry);
+      weightedSize += weight;
+      windowWeight += weight;
+      modCount++;
+    } else {
+      oldValue = entry.value;
+      entry.value = value;
+      updateWeight(entry, weight);
+      reorder(entry);
+    }
+    entry.writeTime = now;
+    entry.accessTime = now;
+    scheduleExpiration(entry);
+    evictEntries();
+    return oldValue;
+  }
+
+  @Override
+  public V remove(Object key) {
+    Objects.requireNonNull(key);
+    var entry = findEntry(key, ticker.getAsLong());
+    if (entry == null) {
+      return null;
+    }
+    segmentList(entry.segment).unlink(entry.node);
+    detach(entry);
+    return entry.value;
+  }
+
+  @Override
+  public void clear() {
+    index.clear();
+    window = new DoublyLinkedList<>();
+    probation = new DoublyLinkedList<>();
+    protectedSegment = new DoublyLinkedList<>();
+    if (isExpiring()) {
+      timerWheel = new TimerWheel<>(ticker.getAsLong());
+    }
+    weightedSize = 0;
+    windowWeight = 0;
+    protectedWeight = 0;
+    modCount++;
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  /**
+   * Removes the entries which expired since the last sweep.
+   */
+  public void cleanUp() {
+    expireEntries(ticker.getAsLong());
+  }
+
+  public CacheStats stats() {
+    return new CacheStats(hitCount, missCount, evictionCount, evictionWeight);
+  }
+
+  public long getWeightedSize() {
+    return weightedSize;
+  }
+
+  public long getMaximumWeight() {
+    return maximumWeight;
+  }
+
+  /**
+   * Walks the window, then the probation and the protected segment, each from the least to the
+   * most recently used entry.
+   */
+  @Override
+  protected Iterator<Entry<K, V>> entryIterator() {
+    return new EntryIterator();
+  }
+
+  /**
+   * Moves the accessed entry to the end of its segment, promoting it to the protected segment if
+   * it was on probation.
+   */
+  private void reorder(CacheEntry<K, V> entry) {
+    switch (entry.segment) {
+      case WINDOW -> window.moveToLast(entry.node);
+      case PROTECTED -> protectedSegment.moveToLast(entry.node);
+      case PROBATION -> {
+        probation.unlink(entry.node);
+        entry.segment = Segment.PROTECTED;
+        entry.node = protectedSegment.addLastNode(entry);
+        protectedWeight += entry.weight;
+        demoteProtected();
+      }
+    }
+    modCount++;
+  }
+
+  private void demoteProtected() {
+    while (protectedWeight > protectedMaximum) {
+      var demoted = protectedSegment.removeFirst();
+      protectedWeight -= demoted.weight;
+      demoted.segment = Segment.PROBATION;
+      demoted.node = probation.addLastNode(demoted);
+    }
+  }
+
+  private void updateWeight(CacheEntry<K, V> entry, int weight) {
+    var delta = weight - entry.weight;
+    entry.weight = weight;
+    weightedSize += delta;
+    if (entry.segment == Segment.WINDOW) {
+      windowWeight += delta;
+    } else if (entry.segment == Segment.PROTECTED) {
+      protectedWeight += delta;
+    }
+  }
+
+  /**
+   * Moves the overflow of the window to the main space if admitted there, and evicts until the
+   * total weight fits the maximum one.
+   */
+  private void evictEntries() {
+    while (windowWeight > windowMaximum) {
+      var candidate = window.getFirst();
+      if (admit(candidate)) {
+        window.unlink(candidate.node);
+        windowWeight -= candidate.weight;
+        candidate.segment = Segment.PROBATION;
+        candidate.node = probation.addLastNode(candidate);
+      } else {
+        evict(candidate);
+      }
+    }
+    demoteProtected();
+    while (weightedSize > maximumWeight) {
+      evict(eldestEntry());
+    }
+  }
+
+  /**
+   * Decides whether the candidate enters the main space, evicting the victims it wins against.
+   * The candidate is compared with the least recently used entry of the probation segment and
+   * wins only if its estimated frequency is higher, so a one time key never replaces a popular
+   * one.
+   */
+  private boolean admit(CacheEntry<K, V> candidate) {
+    var mainMaximum = maximumWeight - windowMaximum;
+    var mainWeight = weightedSize - windowWeight;
+    if (mainWeight + candidate.weight <= mainMaximum) {
+      return true;
+    }
+    if (candidate.weight > mainMaximum) {
+      return false;
+    }
+    var victim = eldestMainEntry();
+    if (sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+      return false;
+    }
+    do {
+      mainWeight -= victim.weight;
+      evict(victim);
+      victim = eldestMainEntry();
+    } while (mainWeight + candidate.weight > mainMaximum);
+    return true;
+  }
+
+  private CacheEntry<K, V> eldestMainEntry() {
+    var eldest = probation.peekFirst();
+    return eldest != null ? eldest : protectedSegment.peekFirst();
+  }
+
+  private CacheEntry<K, V> eldestEntry() {
+    var eldest = eldestMainEntry();
+    return eldest != null ? eldest : window.peekFirst();
+  }
+
+  private void evict(CacheEntry<K, V> entry) {
+    segmentList(entry.segment).unlink(entry.node);
+    detach(entry);
+    evictionCount++;
+    evictionWeight += entry.weight;
+    evictionListener.accept(entry.key, entry.value);
+  }
+
+  /**
+   * Sweeps the expired entries and finds the entry of the key, evicting it if it expired within
+   * the current tick of the timer wheel, which the sweep does not reach yet.
+   *
+   * @return the entry, or null if the key is absent or expired.
+   */
+  private CacheEntry<K, V> findEntry(Object key, long now) {
+    expireEntries(now);
+    var entry = index.get(key);
+    if (entry != null && isExpired(entry, now)) {
+      evict(entry);
+      return null;
+    }
+    return entry;
+  }
+
+  private void expireEntries(long now) {
+    if (timerWheel != null) {
+      timerWheel.advance(now, this::evict);
+    }
+  }
+
+  /**
+   * Removes the entry, which is already unlinked from its segment, from the index, the weights
+   * and the timer wheel.
+   */
+  private void detach(CacheEntry<K, V> entry) {
+    index.remove(entry.key);
+    weightedSize -= entry.weight;
+    if (entry.segment == Segment.WINDOW) {
+      windowWeight -= entry.weight;
+    } else if (entry.segment == Segment.PROTECTED) {
+      protectedWeight -= entry.weight;
+    }
+    if (timerWheel != null) {
+      timerWheel.deschedule(entry);
+    }
+    entry.node = null;
+    modCount++;
+  }
+
+  private void scheduleExpiration(CacheEntry<K, V> entry) {
+    if (timerWheel == null) {
+      return;
+    }
+    var expirationTime = Long.MAX_VALUE;
+    if (expireAfterWriteNanos > 0) {
+      expirationTime = entry.writeTime + expireAfterWriteNanos;
+    }
+    if (expireAfterAccessNanos > 0) {
+      expirationTime = Math.min(expirationTime, entry.accessTime + expireAfterAccessNanos);
+    }
+    entry.expirationTime = expirationTime;
+    timerWheel.schedule(entry);
+  }
+
+  private boolean isExpired(CacheEntry<K, V> entry, long now) {
+    return timerWheel != null && entry.expirationTime - now <= 0;
+  }
+
+  private boolean isExpiring() {
+    return expireAfterWriteNanos > 0 || expireAfterAccessNanos > 0;
+  }
+
+  private DoublyLinkedList<CacheEntry<K, V>> segmentList(Segment segment) {
+    return switch (segment) {
+      case WINDOW -> window;
+      case PROBATION -> probation;
+      case PROTECTED -> protectedSegment;
+    };
+  }
+
+  private static long toNanos(Duration duration) {
+    if (duration == null) {
+      return 0;
+    }
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("The expiration time must be positive");
+    }
+    return duration.toNanos();
+  }
+
+  private enum Segment {
+    WINDOW, PROBATION, PROTECTED
+  }
+
+  private static final class CacheEntry<K, V> extends TimerWheel.Timer {
+
+    private final K key;
+    private V value;
+    private int weight;
+    private Segment segment;
+    private Node<CacheEntry<K, V>> node;
+    private long writeTime;
+    private long accessTime;
+
+    CacheEntry(K key, V value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  private class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private Segment segment = Segment.WINDOW;
+    private Iterator<CacheEntry<K, V>> iterator = window.iterator();
+    private CacheEntry<K, V> last;
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      while (!iterator.hasNext() && segment != Segment.PROTECTED) {
+        segment = segment == Segment.WINDOW ? Segment.PROBATION : Segment.PROTECTED;
+        iterator = segmentList(segment).iterator();
+      }
+      return iterator.hasNext();
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      checkForConcurrentModification();
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = iterator.next();
+      return new TableEntry(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      checkForConcurrentModification();
+      iterator.remove();
+      detach(last);
+      last = null;
+      expectedModCount = modCount;
+    }
+
+    private void checkForConcurrentModification() {
+      if (expectedModCount != modCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * An entry of the iteration, which writes its value changes through to the cache without
+   * reordering or evicting the entries.
+   */
+  private class TableEntry extends SimpleEntry<K, V> {
+
+    private final CacheEntry<K, V> entry;
+
+    TableEntry(CacheEntry<K, V> entry) {
+      super(entry.key, entry.value);
+      this.entry = entry;
+    }
+
+    @Override
+    public V setValue(V value) {
+      Objects.requireNonNull(value);
+      updateWeight(entry, weigher.applyAsInt(entry.key, value));
+      entry.value = value;
+      return super.setValue(value);
+    }
+  }
+}
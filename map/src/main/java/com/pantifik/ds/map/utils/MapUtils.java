@@ -25,7 +25,7 @@ public class MapUtils {
     return (int) Math.ceil((threshold / loadFactor));
   }
 
-  public static void requireGreaterThan(int lowerBound, int value) {
+  public static void requireGreaterThan(long lowerBound, long value) {
     if (value <= lowerBound) {
       throw new IllegalArgumentException(
           String.format("Value greater than %s is required, but was %s",
@@ -1,4 +1,21 @@
 module ds.map {
+  requires ds.list;
+  requires ds.tree;
+  requires java.management;
   exports com.pantifik.ds.map;
+  exports com.pantifik.ds.map.avl_tree;
+  exports com.pantifik.ds.map.bloom;
+  exports com.pantifik.ds.map.capacity;
+  exports com.pantifik.ds.map.champ;
+  exports com.pantifik.ds.map.cuckoo;
+  exports com.pantifik.ds.map.hash;
+  exports com.pantifik.ds.map.lru;
+  exports com.pantifik.ds.map.off_heap;
+  exports com.pantifik.ds.map.open_addressing;
+  exports com.pantifik.ds.map.perfect_hash;
+  exports com.pantifik.ds.map.primitive;
   exports com.pantifik.ds.map.separate_chaining;
+  exports com.pantifik.ds.map.stats;
+  exports com.pantifik.ds.map.swiss_table;
+  exports com.pantifik.ds.map.tiny_lfu;
 }
\ No newline at end of file
@@ -6,12 +6,20 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import com.pantifik.ds.map.separate_chaining.SeparateChainingHashMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -21,6 +29,14 @@ public abstract class AbstractMapTest {
 
   protected abstract Map<Object, Object> createMapInstance();
 
+  protected boolean isNullValueSupported() {
+    return true;
+  }
+
+  protected boolean isIteratorFailFast() {
+    return true;
+  }
+
   @BeforeEach
   void startUp() {
     map = createMapInstance();
@@ -126,12 +142,14 @@ public abstract class AbstractMapTest {
 
   @Test
   void containsValue_whenNullAndPresent_shouldReturnTrue() {
+    assumeTrue(isNullValueSupported());
     map.put(1, null);
     assertTrue(map.containsValue(null));
   }
 
   @Test
   void containsValue_whenNullAndNotPresent_shouldReturnTrue() {
+    assumeTrue(isNullValueSupported());
     map.put(1, 1);
     map.put(1, 2);
     assertFalse(map.containsValue(null));
@@ -344,6 +362,27 @@ public abstract class AbstractMapTest {
     assertEquals(map.hashCode(), hashMap.hashCode());
   }
 
+  @Test
+  void equalsAndHashCode_whenSameEntriesAsJdkMap_shouldMatchJdkMap() {
+    var jdkMap = new HashMap<Object, Object>();
+    for (int i = 0; i < 100; i++) {
+      map.put(i, "value" + i);
+      jdkMap.put(i, "value" + i);
+    }
+    assertEquals(jdkMap, map);
+    assertEquals(map, jdkMap);
+    assertEquals(jdkMap.hashCode(), map.hashCode());
+    assertEquals(jdkMap.entrySet(), map.entrySet());
+    assertEquals(Map.entry(1, "value1"), map.entrySet()
+        .stream()
+        .filter(entry -> entry.getKey()
+            .equals(1))
+        .findAny()
+        .orElseThrow());
+    assertTrue(map.entrySet()
+        .contains(Map.entry(1, "value1")));
+  }
+
   @Test
   void hashCode_whenDifferentEntries_shouldReturnDifferentHashCode() {
     map.put(1, "first");
@@ -355,4 +394,227 @@ public abstract class AbstractMapTest {
     hashMap.put(4, "third");
     assertNotEquals(map.hashCode(), hashMap.hashCode());
   }
-}
\ No newline at end of file
+
+  @Test
+  void keySet_whenMapChanges_shouldReflectChanges() {
+    var keySet = map.keySet();
+    map.put(1, 1);
+    map.put(2, 2);
+    assertEquals(2, keySet.size());
+    assertTrue(keySet.contains(2));
+    map.remove(2);
+    assertFalse(keySet.contains(2));
+    assertEquals(1, keySet.size());
+  }
+
+  @Test
+  void keySet_whenKeyRemoved_shouldRemoveEntryFromMap() {
+    map.put(1, 1);
+    map.put(2, 2);
+    assertTrue(map.keySet()
+        .remove(1));
+    assertFalse(map.keySet()
+        .remove(1));
+    assertFalse(map.containsKey(1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void entrySet_whenEntryRemoved_shouldRemoveEntryFromMapOnlyIfValueMatches() {
+    map.put(1, "first");
+    assertFalse(map.entrySet()
+        .remove(new AbstractMap.SimpleEntry<>(1, "second")));
+    assertTrue(map.entrySet()
+        .remove(new AbstractMap.SimpleEntry<>(1, "first")));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void iterator_whenEveryOtherEntryRemoved_shouldVisitEachEntryOnce() {
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, i);
+    }
+    var visited = new HashSet<>();
+    var iterator = map.keySet()
+        .iterator();
+    while (iterator.hasNext()) {
+      var key = (Integer) iterator.next();
+      assertTrue(visited.add(key));
+      if (key % 2 == 0) {
+        iterator.remove();
+      }
+    }
+    assertEquals(1000, visited.size());
+    assertEquals(500, map.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i % 2 != 0, map.containsKey(i));
+    }
+  }
+
+  @Test
+  void iterator_whenRemovedTwice_shouldThrowException() {
+    map.put(1, 1);
+    var iterator = map.values()
+        .iterator();
+    iterator.next();
+    iterator.remove();
+    assertThrows(IllegalStateException.class, iterator::remove);
+  }
+
+  @Test
+  void iterator_whenExhausted_shouldThrowException() {
+    map.put(1, 1);
+    var iterator = map.entrySet()
+        .iterator();
+    iterator.next();
+    assertFalse(iterator.hasNext());
+    assertThrows(NoSuchElementException.class, iterator::next);
+  }
+
+  @Test
+  void iterator_whenMapModified_shouldThrowException() {
+    assumeTrue(isIteratorFailFast());
+    map.put(1, 1);
+    map.put(2, 2);
+    var iterator = map.keySet()
+        .iterator();
+    iterator.next();
+    map.put(3, 3);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+
+  @Test
+  void getOrDefault_whenKeyMappedToNull_shouldReturnNull() {
+    assumeTrue(isNullValueSupported());
+    map.put(1, null);
+    assertNull(map.getOrDefault(1, "default"));
+    assertEquals("default", map.getOrDefault(2, "default"));
+  }
+
+  @Test
+  void putIfAbsent_whenKeyPresent_shouldKeepValueUnlessNull() {
+    assumeTrue(isNullValueSupported());
+    assertNull(map.putIfAbsent(1, "first"));
+    assertEquals("first", map.putIfAbsent(1, "second"));
+    map.put(2, null);
+    assertNull(map.putIfAbsent(2, "second"));
+    assertEquals("first", map.get(1));
+    assertEquals("second", map.get(2));
+  }
+
+  @Test
+  void computeIfAbsent_whenFunctionReturnsNull_shouldNotAddEntry() {
+    assertEquals("first", map.computeIfAbsent(1, key -> "first"));
+    assertEquals("first", map.computeIfAbsent(1, key -> "second"));
+    assertNull(map.computeIfAbsent(2, key -> null));
+    assertFalse(map.containsKey(2));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void computeIfPresent_whenFunctionReturnsNull_shouldRemoveEntry() {
+    map.put(1, 1);
+    assertNull(map.computeIfPresent(2, (key, value) -> 2));
+    assertEquals(2, map.computeIfPresent(1, (key, value) -> (Integer) value + 1));
+    assertNull(map.computeIfPresent(1, (key, value) -> null));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void compute_shouldAddReplaceAndRemoveEntries() {
+    assertEquals(1, map.compute(1, (key, value) -> value == null ? 1 : (Integer) value + 1));
+    assertEquals(2, map.compute(1, (key, value) -> value == null ? 1 : (Integer) value + 1));
+    assertNull(map.compute(1, (key, value) -> null));
+    assertNull(map.compute(2, (key, value) -> null));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void merge_whenCountingKeys_shouldSumValues() {
+    for (int i = 0; i < 300; i++) {
+      map.merge(i % 100, 1, (a, b) -> (Integer) a + (Integer) b);
+    }
+    assertEquals(100, map.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(3, map.get(i));
+    }
+  }
+
+  @Test
+  void merge_whenFunctionReturnsNull_shouldRemoveEntry() {
+    assumeTrue(isNullValueSupported());
+    map.put(1, 1);
+    map.put(2, null);
+    assertNull(map.merge(1, 1, (a, b) -> null));
+    assertEquals(2, map.merge(2, 2, (a, b) -> null));
+    assertFalse(map.containsKey(1));
+    assertEquals(2, map.get(2));
+  }
+
+  @Test
+  void merge_whenNullValue_shouldThrowException() {
+    assertThrows(NullPointerException.class, () -> map.merge(1, null, (a, b) -> b));
+  }
+
+  @Test
+  void spliterator_whenSplitRepeatedly_shouldVisitEachEntryOnce() {
+    for (int i = 0; i < 500; i++) {
+      map.put(i, i);
+    }
+    var visited = new HashSet<>();
+    var spliterators = new ArrayList<Spliterator<Object>>();
+    spliterators.add(map.keySet()
+        .spliterator());
+    for (int depth = 0; depth < 4; depth++) {
+      var split = new ArrayList<Spliterator<Object>>();
+      for (var spliterator : spliterators) {
+        var prefix = spliterator.trySplit();
+        if (prefix != null) {
+          split.add(prefix);
+        }
+        split.add(spliterator);
+      }
+      spliterators = split;
+    }
+    for (var spliterator : spliterators) {
+      assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT));
+      spliterator.forEachRemaining(key -> assertTrue(visited.add(key)));
+    }
+    assertEquals(500, visited.size());
+  }
+
+  @Test
+  void parallelStream_shouldCollectAllEntries() {
+    for (int i = 0; i < 500; i++) {
+      map.put(i, i * 2);
+    }
+    var collected = map.entrySet()
+        .parallelStream()
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    assertEquals(map, collected);
+    assertEquals(500, map.values()
+        .parallelStream()
+        .count());
+  }
+
+  @Test
+  void bulkOperations_shouldProcessAllEntriesSequentiallyAndInParallel() {
+    var bulkMap = (AbstractMap<Object, Object>) map;
+    for (int i = 1; i <= 500; i++) {
+      map.put(i, i);
+    }
+    for (long threshold : new long[]{1, Long.MAX_VALUE}) {
+      var sum = new LongAdder();
+      bulkMap.forEach(threshold, (key, value) -> sum.add((Integer) value));
+      assertEquals(125_250, sum.sum());
+      assertEquals(125_250, bulkMap.<Integer>reduce(threshold,
+          (key, value) -> (Integer) key % 2 == 0 ? (Integer) value : null, Integer::sum)
+          + bulkMap.<Integer>reduce(threshold,
+          (key, value) -> (Integer) key % 2 != 0 ? (Integer) value : null, Integer::sum));
+      assertEquals("found", bulkMap.search(threshold,
+          (key, value) -> key.equals(250) ? "found" : null));
+      assertNull(bulkMap.search(threshold, (key, value) -> null));
+      assertNull(bulkMap.reduce(threshold, (key, value) -> null, (a, b) -> a));
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.pantifik.ds.map.avl_tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.AbstractMapTest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class AVLTreeMapTest extends AbstractMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new AVLTreeMap<>();
+  }
+
+  @Test
+  void iterator_shouldReturnKeysInAscendingOrder() {
+    var treeMap = new AVLTreeMap<Integer, Integer>();
+    var random = new Random(1);
+    var expected = new TreeMap<Integer, Integer>();
+    for (int i = 0; i < 1000; i++) {
+      var key = random.nextInt();
+      treeMap.put(key, i);
+      expected.put(key, i);
+    }
+    assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(treeMap.keySet()));
+    assertEquals(new ArrayList<>(expected.descendingKeySet()),
+        new ArrayList<>(treeMap.descendingKeySet()));
+  }
+
+  @Test
+  void put_shouldKeepTreeBalanced() {
+    var treeMap = new AVLTreeMap<Integer, Integer>();
+    for (int i = 0; i < 100_000; i++) {
+      treeMap.put(i, i);
+    }
+    assertTrue(treeMap.getHeight() <= 1.45 * Math.log(100_000) / Math.log(2));
+  }
+
+  @Test
+  void comparator_shouldOrderKeys() {
+    var treeMap = new AVLTreeMap<String, Integer>(Comparator.reverseOrder());
+    treeMap.put("a", 1);
+    treeMap.put("c", 3);
+    treeMap.put("b", 2);
+    assertEquals(List.of("c", "b", "a"), new ArrayList<>(treeMap.keySet()));
+    assertEquals("c", treeMap.firstKey());
+    assertEquals("b", treeMap.higherKey("c"));
+    assertEquals(Comparator.reverseOrder(), treeMap.comparator());
+  }
+
+  @Test
+  void navigation_shouldFindNearestKeys() {
+    var treeMap = createTimeSeries();
+    assertEquals(20, treeMap.floorKey(25));
+    assertEquals(20, treeMap.floorKey(20));
+    assertEquals(10, treeMap.lowerKey(20));
+    assertEquals(30, treeMap.ceilingKey(25));
+    assertEquals(20, treeMap.ceilingKey(20));
+    assertEquals(30, treeMap.higherKey(20));
+    assertNull(treeMap.lowerKey(0));
+    assertNull(treeMap.floorKey(-1));
+    assertNull(treeMap.higherKey(90));
+    assertEquals(Map.entry(30, "30"), treeMap.ceilingEntry(21));
+    assertEquals(0, treeMap.firstKey());
+    assertEquals(90, treeMap.lastKey());
+    assertThrows(NullPointerException.class, () -> treeMap.floorKey(null));
+  }
+
+  @Test
+  void navigationEntry_shouldNotWriteThrough() {
+    var treeMap = createTimeSeries();
+    assertThrows(UnsupportedOperationException.class, () -> treeMap.firstEntry()
+        .setValue("x"));
+  }
+
+  @Test
+  void firstKey_whenEmpty_shouldThrowException() {
+    var treeMap = new AVLTreeMap<Integer, Integer>();
+    assertThrows(NoSuchElementException.class, treeMap::firstKey);
+    assertThrows(NoSuchElementException.class, treeMap::lastKey);
+    assertNull(treeMap.firstEntry());
+    assertNull(treeMap.pollLastEntry());
+  }
+
+  @Test
+  void pollFirstEntryAndPollLastEntry_shouldRemoveEntries() {
+    var treeMap = createTimeSeries();
+    assertEquals(Map.entry(0, "0"), treeMap.pollFirstEntry());
+    assertEquals(Map.entry(90, "90"), treeMap.pollLastEntry());
+    assertEquals(8, treeMap.size());
+    assertEquals(10, treeMap.firstKey());
+    assertEquals(80, treeMap.lastKey());
+  }
+
+  @Test
+  void subMap_shouldViewRange() {
+    var treeMap = createTimeSeries();
+    var subMap = treeMap.subMap(20, true, 50, false);
+    assertEquals(List.of(20, 30, 40), new ArrayList<>(subMap.keySet()));
+    assertEquals(3, subMap.size());
+    assertEquals(20, subMap.firstKey());
+    assertEquals(40, subMap.lastKey());
+    assertEquals(40, subMap.floorKey(70));
+    assertEquals(20, subMap.ceilingKey(0));
+    assertNull(subMap.higherKey(40));
+    assertFalse(subMap.containsKey(50));
+    assertNull(subMap.get(10));
+    assertEquals(List.of(30, 40), new ArrayList<>(subMap.tailMap(25)
+        .keySet()));
+  }
+
+  @Test
+  void subMap_shouldWriteThrough() {
+    var treeMap = createTimeSeries();
+    var subMap = treeMap.subMap(20, true, 50, false);
+    subMap.put(25, "25");
+    assertEquals("25", treeMap.get(25));
+    subMap.remove(30);
+    assertFalse(treeMap.containsKey(30));
+    treeMap.put(45, "45");
+    assertEquals(List.of(20, 25, 40, 45), new ArrayList<>(subMap.keySet()));
+    subMap.clear();
+    assertEquals(List.of(0, 10, 50, 60, 70, 80, 90), new ArrayList<>(treeMap.keySet()));
+  }
+
+  @Test
+  void subMap_whenKeyOutOfRange_shouldThrowException() {
+    var treeMap = createTimeSeries();
+    var subMap = treeMap.subMap(20, true, 50, false);
+    assertThrows(IllegalArgumentException.class, () -> subMap.put(50, "50"));
+    assertThrows(IllegalArgumentException.class, () -> subMap.subMap(10, 30));
+    assertThrows(IllegalArgumentException.class, () -> subMap.headMap(50, true));
+    assertThrows(IllegalArgumentException.class, () -> treeMap.subMap(50, 20));
+    assertEquals(List.of(20, 30, 40), new ArrayList<>(subMap.headMap(50)
+        .keySet()));
+  }
+
+  @Test
+  void headMapAndTailMap_shouldHonorInclusiveness() {
+    var treeMap = createTimeSeries();
+    assertEquals(List.of(0, 10), new ArrayList<>(treeMap.headMap(20)
+        .keySet()));
+    assertEquals(List.of(0, 10, 20), new ArrayList<>(treeMap.headMap(20, true)
+        .keySet()));
+    assertEquals(List.of(80, 90), new ArrayList<>(treeMap.tailMap(80)
+        .keySet()));
+    assertEquals(List.of(90), new ArrayList<>(treeMap.tailMap(80, false)
+        .keySet()));
+  }
+
+  @Test
+  void descendingMap_shouldReverseNavigation() {
+    var treeMap = createTimeSeries();
+    var descending = treeMap.descendingMap();
+    assertEquals(90, descending.firstKey());
+    assertEquals(30, descending.higherKey(40));
+    assertEquals(50, descending.lowerKey(40));
+    assertEquals(40, descending.ceilingKey(45));
+    var range = descending.subMap(60, true, 30, false);
+    assertEquals(List.of(60, 50, 40), new ArrayList<>(range.keySet()));
+    assertEquals(List.of(40, 50, 60), new ArrayList<>(range.descendingMap()
+        .keySet()));
+    assertEquals(List.of(90, 80), new ArrayList<>(descending.headMap(70)
+        .keySet()));
+    assertEquals(Map.entry(90, "90"), descending.pollFirstEntry());
+    assertEquals(80, treeMap.lastKey());
+  }
+
+  @Test
+  void navigableKeySet_shouldNavigateKeys() {
+    var treeMap = createTimeSeries();
+    var keys = treeMap.navigableKeySet();
+    assertEquals(30, keys.ceiling(21));
+    assertEquals(List.of(40, 30, 20), new ArrayList<>(keys.subSet(20, true, 40, true)
+        .descendingSet()));
+    assertEquals(0, keys.pollFirst());
+    assertTrue(keys.remove(10));
+    assertFalse(treeMap.containsKey(10));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void rangeOperations_shouldMatchTreeMap(long seed) {
+    var random = new Random(seed);
+    var treeMap = new AVLTreeMap<Integer, Integer>();
+    var expected = new TreeMap<Integer, Integer>();
+    for (int i = 0; i < 2000; i++) {
+      var key = random.nextInt(500);
+      if (random.nextInt(4) == 0) {
+        assertEquals(expected.remove(key), treeMap.remove(key));
+      } else {
+        assertEquals(expected.put(key, i), treeMap.put(key, i));
+      }
+    }
+    for (int i = 0; i < 200; i++) {
+      var from = random.nextInt(520) - 10;
+      var to = from + random.nextInt(100);
+      var fromInclusive = random.nextBoolean();
+      var toInclusive = random.nextBoolean();
+      NavigableMap<Integer, Integer> expectedRange = expected.subMap(from, fromInclusive, to,
+          toInclusive);
+      NavigableMap<Integer, Integer> range = treeMap.subMap(from, fromInclusive, to,
+          toInclusive);
+      if (random.nextBoolean()) {
+        expectedRange = expectedRange.descendingMap();
+        range = range.descendingMap();
+      }
+      assertEquals(new ArrayList<>(expectedRange.entrySet()), new ArrayList<>(range.entrySet()));
+      var probe = random.nextInt(520) - 10;
+      assertEquals(expectedRange.floorKey(probe), range.floorKey(probe));
+      assertEquals(expectedRange.lowerKey(probe), range.lowerKey(probe));
+      assertEquals(expectedRange.ceilingKey(probe), range.ceilingKey(probe));
+      assertEquals(expectedRange.higherKey(probe), range.higherKey(probe));
+    }
+  }
+
+  @Test
+  void iteratorRemove_shouldContinueFromNextEntry() {
+    var treeMap = createTimeSeries();
+    var iterator = treeMap.subMap(10, 80)
+        .keySet()
+        .iterator();
+    var visited = new ArrayList<Integer>();
+    while (iterator.hasNext()) {
+      var key = iterator.next();
+      visited.add(key);
+      if (key % 20 == 0) {
+        iterator.remove();
+      }
+    }
+    assertEquals(List.of(10, 20, 30, 40, 50, 60, 70), visited);
+    assertEquals(List.of(0, 10, 30, 50, 70, 80, 90), new ArrayList<>(treeMap.keySet()));
+  }
+
+  private static AVLTreeMap<Integer, String> createTimeSeries() {
+    var treeMap = new AVLTreeMap<Integer, String>();
+    for (int i = 0; i < 100; i += 10) {
+      treeMap.put(i, String.valueOf(i));
+    }
+    return treeMap;
+  }
+}
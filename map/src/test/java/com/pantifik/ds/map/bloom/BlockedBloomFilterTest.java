@@ -0,0 +1,66 @@
+package com.pantifik.ds.map.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class BlockedBloomFilterTest {
+
+  @ParameterizedTest
+  @CsvSource({"0, 10, 512", "51, 10, 512", "52, 10, 1024", "1000, 10, 10240", "1000, 1, 1024"})
+  void constructor_shouldRoundBitsUpToWholeBlocks(int expectedCount, int bitsPerHash,
+      long bitCount) {
+    assertEquals(bitCount, new BlockedBloomFilter(expectedCount, bitsPerHash).getBitCount());
+  }
+
+  @ParameterizedTest
+  @CsvSource({"-1, 10", "10, 0"})
+  void constructor_whenArgumentsInvalid_shouldThrowException(int expectedCount,
+      int bitsPerHash) {
+    assertThrows(IllegalArgumentException.class,
+        () -> new BlockedBloomFilter(expectedCount, bitsPerHash));
+  }
+
+  @Test
+  void mightContain_whenAdded_shouldReturnTrue() {
+    var filter = new BlockedBloomFilter(10_000, 10);
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(i * 31);
+    }
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain(i * 31));
+    }
+    assertEquals(10_000, filter.getCount());
+  }
+
+  @Test
+  void mightContain_whenNeverAdded_shouldRejectMostHashes() {
+    var filter = new BlockedBloomFilter(10_000, 10);
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(i);
+    }
+    var falsePositives = 0;
+    for (int i = 10_000; i < 110_000; i++) {
+      if (filter.mightContain(i)) {
+        falsePositives++;
+      }
+    }
+    var rate = falsePositives / 100_000.0;
+    assertTrue(rate < 0.03, "False positive rate " + rate);
+    assertTrue(filter.expectedFalsePositiveRate() < 0.03);
+  }
+
+  @Test
+  void clear_shouldRemoveAllHashes() {
+    var filter = new BlockedBloomFilter(100, 10);
+    filter.add(42);
+    filter.clear();
+    assertFalse(filter.mightContain(42));
+    assertEquals(0, filter.getCount());
+    assertEquals(0, filter.expectedFalsePositiveRate());
+  }
+}
@@ -0,0 +1,29 @@
+package com.pantifik.ds.map.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IndexReducerTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 7, 13, 16, 26, 97, 1000, 1 << 20, 1610612741, Integer.MAX_VALUE})
+  void reduce_whenAnyHash_shouldMatchModulo(int capacity) {
+    var reducer = IndexReducer.forCapacity(capacity);
+    var random = new Random(capacity);
+    for (int i = 0; i < 10_000; i++) {
+      var hash = random.nextInt();
+      assertEquals((hash & 0x7FFFFFFF) % capacity, reducer.reduce(hash));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 1610612740, 1610612741})
+  void reduce_whenEdgeHash_shouldMatchModulo(int hash) {
+    for (var capacity : new int[] {3, 13, 29, 1543, 805306457, 1610612741, Integer.MAX_VALUE}) {
+      assertEquals((hash & 0x7FFFFFFF) % capacity, IndexReducer.forCapacity(capacity)
+          .reduce(hash));
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.pantifik.ds.map.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PowerOfTwoCapacityPolicyTest {
+
+  private final PowerOfTwoCapacityPolicy policy = new PowerOfTwoCapacityPolicy();
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 0, (1 << 30) + 1})
+  void nextCapacity_whenCapacityIsOutOfRange_shouldThrowException(int capacity) {
+    assertThrows(IllegalArgumentException.class, () -> policy.nextCapacity(capacity));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 1", "13, 16", "16, 16", "1000, 1024"})
+  void nextCapacity_whenValidCapacity_shouldReturnNextPowerOfTwo(int capacity, int expected) {
+    assertEquals(expected, policy.nextCapacity(capacity));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 0, 17, 1023, Integer.MIN_VALUE})
+  void createReducer_whenHashGiven_shouldMaskLowBits(int hash) {
+    assertEquals(hash & 15, policy.createReducer(16)
+        .reduce(hash));
+  }
+}
@@ -0,0 +1,61 @@
+package com.pantifik.ds.map.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PrimeCapacityPolicyTest {
+
+  private final PrimeCapacityPolicy policy = new PrimeCapacityPolicy();
+
+  @ParameterizedTest
+  @ValueSource(ints = {-10, -1, 0, 1104691374, Integer.MAX_VALUE})
+  void nextCapacity_whenCapacityIsOutOfRange_shouldThrowException(int capacity) {
+    assertThrows(IllegalArgumentException.class, () -> policy.nextCapacity(capacity));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 2", "4, 5", "13, 13", "14, 29", "26, 29", "1000, 1049", "1104691373, 1104691373"})
+  void nextCapacity_whenValidCapacity_shouldReturnNextPrimeOfLadder(int capacity, int expected) {
+    assertEquals(expected, policy.nextCapacity(capacity));
+  }
+
+  @Test
+  void nextCapacity_whenDoubled_shouldClimbLadderBySmallestPrimes() {
+    var capacity = policy.nextCapacity(13);
+    while (capacity < 552345671) {
+      var next = policy.nextCapacity(capacity * 2);
+      assertTrue(isPrime(next));
+      for (int candidate = capacity * 2; candidate < next; candidate++) {
+        assertFalse(isPrime(candidate));
+      }
+      capacity = next;
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({"2, 3", "3, 5", "5, 7", "7, 13"})
+  void nextCapacity_whenSmallCapacity_shouldReturnNextSmallPrime(int capacity, int expected) {
+    assertEquals(expected, policy.nextCapacity(capacity + 1));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"4, 7", "5, 7", "13, 13"})
+  void nextCapacity_whenPrimeDividesNumber_shouldSkipIt(int capacity, int expected) {
+    assertEquals(expected, new PrimeCapacityPolicy(5).nextCapacity(capacity));
+  }
+
+  private static boolean isPrime(int number) {
+    for (int i = 2; i * i <= number; i++) {
+      if (number % i == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,140 @@
+package com.pantifik.ds.map.champ;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ChampMapTest {
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void withAndWithout_shouldMatchReferenceMap(long seed) {
+    var random = new Random(seed);
+    var expected = new HashMap<Integer, Integer>();
+    var map = ChampMap.<Integer, Integer>empty();
+    for (int i = 0; i < 20_000; i++) {
+      var key = random.nextInt(2000) * (random.nextBoolean() ? 1 : 1 << 20);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.without(key);
+      } else {
+        expected.put(key, i);
+        map = map.with(key, i);
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    assertEquals(expected, map);
+    assertEquals(map, expected);
+    assertEquals(expected.hashCode(), map.hashCode());
+  }
+
+  @Test
+  void with_shouldLeavePreviousVersionUnchanged() {
+    var first = ChampMap.copyOf(Map.of(1, "a", 2, "b"));
+    var second = first.with(3, "c")
+        .with(1, "z");
+    var third = second.without(2);
+    assertEquals(Map.of(1, "a", 2, "b"), first);
+    assertEquals(Map.of(1, "z", 2, "b", 3, "c"), second);
+    assertEquals(Map.of(1, "z", 3, "c"), third);
+  }
+
+  @Test
+  void with_whenSameValue_shouldReturnSameMap() {
+    var value = "a";
+    var map = ChampMap.<Integer, String>empty()
+        .with(1, value);
+    assertSame(map, map.with(1, value));
+    assertSame(map, map.without(2));
+  }
+
+  @Test
+  void with_whenKeysShareHashCode_shouldKeepAllEntries() {
+    var map = ChampMap.<String, Integer>empty()
+        .with("Aa", 1)
+        .with("BB", 2)
+        .with("AaAa", 3)
+        .with("BBBB", 4)
+        .with("AaBB", 5);
+    assertEquals(Map.of("Aa", 1, "BB", 2, "AaAa", 3, "BBBB", 4, "AaBB", 5), map);
+    map = map.without("BB")
+        .without("AaAa")
+        .without("BBBB");
+    assertEquals(Map.of("Aa", 1, "AaBB", 5), map);
+    assertFalse(map.containsKey("BB"));
+  }
+
+  @Test
+  void without_shouldRestoreCanonicalShape() {
+    var builder = ChampMap.<Integer, Integer>builder();
+    for (int i = 0; i < 100_000; i++) {
+      builder.put(i, i);
+    }
+    var map = builder.build();
+    assertTrue(map.getDepth() > 1);
+    for (int i = 1; i < 100_000; i++) {
+      map = map.without(i);
+    }
+    assertEquals(Map.of(0, 0), map);
+    assertEquals(1, map.getDepth());
+    assertTrue(map.without(0)
+        .isEmpty());
+  }
+
+  @Test
+  void builder_whenUsedAfterBuild_shouldNotAffectBuiltMap() {
+    var builder = ChampMap.copyOf(Map.of(1, 1))
+        .toBuilder();
+    builder.put(2, 2)
+        .put(3, 3);
+    var built = builder.build();
+    builder.remove(1)
+        .put(2, 20)
+        .put(4, 4);
+    assertEquals(Map.of(1, 1, 2, 2, 3, 3), built);
+    assertEquals(Map.of(2, 20, 3, 3, 4, 4), builder.build());
+    assertEquals(3, builder.size());
+  }
+
+  @Test
+  void get_whenNullValue_shouldTellItFromMissingKey() {
+    var map = ChampMap.<Integer, Integer>empty()
+        .with(1, null);
+    assertTrue(map.containsKey(1));
+    assertNull(map.getOrDefault(1, 0));
+    assertEquals(0, map.getOrDefault(2, 0));
+  }
+
+  @Test
+  void nullKey_shouldThrowException() {
+    var map = ChampMap.<Integer, Integer>empty();
+    assertThrows(NullPointerException.class, () -> map.with(null, 1));
+    assertThrows(NullPointerException.class, () -> map.without(null));
+    assertThrows(NullPointerException.class, () -> map.get(null));
+    assertThrows(NullPointerException.class, () -> ChampMap.builder()
+        .put(null, 1));
+  }
+
+  @Test
+  void modification_shouldThrowException() {
+    var map = ChampMap.copyOf(Map.of(1, 1));
+    assertThrows(UnsupportedOperationException.class, () -> map.put(2, 2));
+    assertThrows(UnsupportedOperationException.class, () -> map.remove(1));
+    assertThrows(UnsupportedOperationException.class, map::clear);
+    var iterator = map.entrySet()
+        .iterator();
+    var entry = iterator.next();
+    assertThrows(UnsupportedOperationException.class, () -> entry.setValue(0));
+    assertThrows(UnsupportedOperationException.class, iterator::remove);
+    assertFalse(iterator.hasNext());
+  }
+}
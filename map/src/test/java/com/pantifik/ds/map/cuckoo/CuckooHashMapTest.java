@@ -0,0 +1,189 @@
+package com.pantifik.ds.map.cuckoo;
+
+import static com.pantifik.ds.map.cuckoo.CuckooHashMap.SLOTS_PER_BUCKET;
+import static com.pantifik.ds.map.cuckoo.CuckooHashMap.STASH_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.AbstractMapTest;
+import com.pantifik.ds.map.open_addressing.OpenAddressingHashMap;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import com.pantifik.ds.map.separate_chaining.SeparateChainingHashMap;
+import com.pantifik.ds.map.stats.Instrumented;
+import com.pantifik.ds.map.stats.StatsRecorder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CuckooHashMapTest extends AbstractMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new CuckooHashMap<>();
+  }
+
+  @Test
+  void defaultConstructor_shouldCreateEmptyMap() {
+    assertTrue(map.isEmpty());
+  }
+
+  @ParameterizedTest
+  @CsvSource({"-1, 0.5f", "10, 0.05f", "10, 1.1f"})
+  void constructorCapacityLoadFactor_whenInvalidParams_shouldThrowException(
+      int capacity, float loadFactor) {
+    assertThrows(IllegalArgumentException.class,
+        () -> new CuckooHashMap<>(capacity, loadFactor));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0, 4", "3, 4", "5, 8", "100, 128"})
+  void constructorWithCapacity_shouldRoundCapacityUpToPowerOfTwoBuckets(int capacity,
+      int expected) {
+    assertEquals(expected, new CuckooHashMap<>(capacity).getCapacity());
+  }
+
+  @Test
+  void put_whenCapacityExceeded_shouldResizeTable() {
+    var hashMap = new CuckooHashMap<Integer, Integer>(0, 1f);
+    for (int i = 0; i < 10_000; i++) {
+      hashMap.put(i, i);
+    }
+    assertEquals(10_000, hashMap.size());
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+  }
+
+  @Test
+  void put_whenManyPutRemoveCycles_shouldKeepEntriesReachable() {
+    for (int cycle = 0; cycle < 50; cycle++) {
+      for (int i = 0; i < 100; i++) {
+        map.put(cycle * 100 + i, i);
+      }
+      for (int i = 0; i < 100; i += 2) {
+        assertEquals(i, map.remove(cycle * 100 + i));
+      }
+    }
+    assertEquals(50 * 50, map.size());
+    for (int cycle = 0; cycle < 50; cycle++) {
+      for (int i = 0; i < 100; i++) {
+        if (i % 2 == 0) {
+          assertNull(map.get(cycle * 100 + i));
+        } else {
+          assertEquals(i, map.get(cycle * 100 + i));
+        }
+      }
+    }
+  }
+
+  @Test
+  void put_whenKeysShareBothBuckets_shouldStashOverflowingKeys() {
+    var hashMap = new CuckooHashMap<CollidingKey, Integer>();
+    for (int i = 0; i < 20; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    assertEquals(20, hashMap.size());
+    assertEquals(12, hashMap.getStashSize());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(i, hashMap.get(new CollidingKey(i)));
+    }
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, hashMap.remove(new CollidingKey(i)));
+    }
+    assertEquals(2, hashMap.getStashSize());
+    for (int i = 10; i < 20; i++) {
+      assertEquals(i, hashMap.get(new CollidingKey(i)));
+    }
+  }
+
+  @Test
+  void getStats_shouldMeasureBucketsAndStash() {
+    var hashMap = new CuckooHashMap<CollidingKey, Integer>();
+    for (int i = 0; i < 20; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    var chains = hashMap.getStats()
+        .chainLengthHistogram();
+    assertEquals(hashMap.getCapacity() / SLOTS_PER_BUCKET + 1, Arrays.stream(chains)
+        .sum());
+    assertEquals(1, chains[12]);
+    var entries = 0;
+    for (int length = 0; length < chains.length; length++) {
+      entries += length * chains[length];
+    }
+    assertEquals(20, entries);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1000, 100_000})
+  void getStats_whenSameKeysAsOtherMaps_shouldBoundMaxProbeCount(int count) {
+    var random = new Random(count);
+    var keys = IntStream.range(0, count)
+        .mapToObj(i -> random.nextInt())
+        .toList();
+    var misses = IntStream.range(0, count)
+        .mapToObj(i -> random.nextInt())
+        .toList();
+    var cuckoo = measureMaxProbeCount(new CuckooHashMap<>(), keys, misses);
+    var openAddressing = measureMaxProbeCount(new OpenAddressingHashMap<>(ProbingType.LINEAR),
+        keys, misses);
+    var separateChaining = measureMaxProbeCount(new SeparateChainingHashMap<>(), keys, misses);
+    assertTrue(cuckoo <= 2 * SLOTS_PER_BUCKET + STASH_SIZE);
+    assertTrue(cuckoo < openAddressing);
+    assertTrue(separateChaining <= cuckoo);
+  }
+
+  @Test
+  void getStats_whenKeysHaveEqualHashCodes_shouldProbeWholeStash() {
+    var keys = IntStream.range(0, 100)
+        .mapToObj(CollidingKey::new)
+        .toList();
+    var cuckooMap = new CuckooHashMap<CollidingKey, CollidingKey>();
+    var cuckoo = measureMaxProbeCount(cuckooMap, keys, List.of());
+    var openAddressing = measureMaxProbeCount(new OpenAddressingHashMap<>(ProbingType.LINEAR),
+        keys, List.of());
+    var separateChaining = measureMaxProbeCount(new SeparateChainingHashMap<>(), keys, List.of());
+    assertEquals(keys.size() - 2 * SLOTS_PER_BUCKET, cuckooMap.getStashSize());
+    assertEquals(StatsRecorder.HISTOGRAM_LENGTH - 1, cuckoo);
+    assertEquals(StatsRecorder.HISTOGRAM_LENGTH - 1, openAddressing);
+    assertTrue(separateChaining < cuckoo);
+  }
+
+  /**
+   * Puts the keys into the map and looks them and the missing keys up with the statistics
+   * enabled.
+   *
+   * @return the longest recorded probe, which is {@link StatsRecorder#HISTOGRAM_LENGTH} - 1 for
+   *     all the longer ones.
+   */
+  private static <T, M extends Map<T, T> & Instrumented> int measureMaxProbeCount(M map,
+      List<T> keys, List<T> misses) {
+    keys.forEach(key -> map.put(key, key));
+    map.setStatsEnabled(true);
+    keys.forEach(map::containsKey);
+    misses.forEach(map::containsKey);
+    var stats = map.getRecordedStats();
+    var max = 0;
+    for (int i = 0; i < StatsRecorder.HISTOGRAM_LENGTH; i++) {
+      if (stats.hitProbeHistogram()[i] > 0 || stats.missProbeHistogram()[i] > 0) {
+        max = i;
+      }
+    }
+    return max;
+  }
+
+  private record CollidingKey(int id) {
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+}
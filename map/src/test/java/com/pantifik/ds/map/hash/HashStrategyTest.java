@@ -0,0 +1,59 @@
+package com.pantifik.ds.map.hash;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HashStrategyTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 0, 1, 42, Integer.MIN_VALUE})
+  void identity_whenKeyGiven_shouldReturnHashCode(int key) {
+    assertEquals(Integer.hashCode(key), new IdentityHashStrategy().hash(key));
+  }
+
+  @Test
+  void identity_whenNullKey_shouldReturnZero() {
+    assertEquals(0, new IdentityHashStrategy().hash(null));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0, 0", "1, 1364076727", "2, 821347078"})
+  void murmur3_whenKeyGiven_shouldApplyFinalizer(int key, int expected) {
+    assertEquals(expected, new Murmur3HashStrategy().hash(key));
+  }
+
+  @Test
+  void murmur3_whenSequentialKeys_shouldSpreadLowBits() {
+    var strategy = new Murmur3HashStrategy();
+    var buckets = new HashSet<Integer>();
+    for (int key = 0; key < 64; key++) {
+      buckets.add(strategy.hash(key << 8) & 63);
+    }
+    assertTrue(buckets.size() > 32);
+  }
+
+  @Test
+  void seeded_whenSameSeed_shouldReturnSameHash() {
+    assertEquals(new SeededHashStrategy(7).hash("key"), new SeededHashStrategy(7).hash("key"));
+  }
+
+  @Test
+  void seeded_whenDifferentSeeds_shouldReturnDifferentHashes() {
+    assertNotEquals(new SeededHashStrategy(7).hash("key"), new SeededHashStrategy(8).hash("key"));
+  }
+
+  @Test
+  void seeded_whenDefaultConstructor_shouldPickRandomSeeds() {
+    var seeds = new HashSet<Integer>();
+    for (int i = 0; i < 10; i++) {
+      seeds.add(new SeededHashStrategy().getSeed());
+    }
+    assertTrue(seeds.size() > 1);
+  }
+}
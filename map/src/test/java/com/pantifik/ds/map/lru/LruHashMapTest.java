@@ -0,0 +1,132 @@
+package com.pantifik.ds.map.lru;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.AbstractMapTest;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LruHashMapTest extends AbstractMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new LruHashMap<>(1000);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 0})
+  void constructor_whenInvalidMaxSize_shouldThrowException(int maxSize) {
+    assertThrows(IllegalArgumentException.class, () -> new LruHashMap<>(maxSize));
+  }
+
+  @Test
+  void constructor_whenNullListener_shouldThrowException() {
+    assertThrows(NullPointerException.class, () -> new LruHashMap<>(1, null));
+  }
+
+  @Test
+  void put_whenMaxSizeExceeded_shouldEvictLeastRecentlyUsedEntry() {
+    var lruMap = new LruHashMap<Integer, Integer>(3);
+    for (int i = 0; i < 10; i++) {
+      lruMap.put(i, i);
+    }
+    assertEquals(3, lruMap.size());
+    assertEquals(List.of(7, 8, 9), new ArrayList<>(lruMap.keySet()));
+  }
+
+  @Test
+  void get_whenKeyPresent_shouldMoveEntryToMostRecentlyUsed() {
+    var lruMap = new LruHashMap<Integer, Integer>(3);
+    lruMap.put(1, 1);
+    lruMap.put(2, 2);
+    lruMap.put(3, 3);
+    lruMap.get(1);
+    lruMap.put(4, 4);
+    assertFalse(lruMap.containsKey(2));
+    assertEquals(List.of(3, 1, 4), new ArrayList<>(lruMap.keySet()));
+  }
+
+  @Test
+  void get_whenIterating_shouldFailIteration() {
+    var lruMap = new LruHashMap<Integer, Integer>(10);
+    for (int i = 0; i < 5; i++) {
+      lruMap.put(i, i);
+    }
+    var iterator = lruMap.keySet()
+        .iterator();
+    assertEquals(0, iterator.next());
+    lruMap.get(1);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+
+  @Test
+  void iteratorRemove_shouldKeepIterating() {
+    var lruMap = new LruHashMap<Integer, Integer>(10);
+    for (int i = 0; i < 5; i++) {
+      lruMap.put(i, i);
+    }
+    var keys = new ArrayList<Integer>();
+    for (var iterator = lruMap.keySet()
+        .iterator(); iterator.hasNext(); ) {
+      var key = iterator.next();
+      keys.add(key);
+      if (key % 2 == 0) {
+        iterator.remove();
+      }
+    }
+    assertEquals(List.of(0, 1, 2, 3, 4), keys);
+    assertEquals(List.of(1, 3), new ArrayList<>(lruMap.keySet()));
+  }
+
+  @Test
+  void put_whenKeyPresent_shouldReplaceValueAndMoveEntryToMostRecentlyUsed() {
+    var lruMap = new LruHashMap<Integer, String>(2);
+    lruMap.put(1, "a");
+    lruMap.put(2, "b");
+    assertEquals("a", lruMap.put(1, "c"));
+    lruMap.put(3, "d");
+    assertEquals(Map.of(1, "c", 3, "d"), lruMap);
+  }
+
+  @Test
+  void containsKey_shouldNotChangeAccessOrder() {
+    var lruMap = new LruHashMap<Integer, Integer>(2);
+    lruMap.put(1, 1);
+    lruMap.put(2, 2);
+    assertTrue(lruMap.containsKey(1));
+    lruMap.put(3, 3);
+    assertFalse(lruMap.containsKey(1));
+  }
+
+  @Test
+  void put_whenEntryEvicted_shouldNotifyListener() {
+    var evicted = new ArrayList<String>();
+    var lruMap = new LruHashMap<Integer, String>(2, (key, value) -> evicted.add(key + value));
+    lruMap.put(1, "a");
+    lruMap.put(2, "b");
+    lruMap.remove(1);
+    lruMap.put(3, "c");
+    lruMap.put(4, "d");
+    lruMap.get(3);
+    lruMap.put(5, "e");
+    assertEquals(List.of("2b", "4d"), evicted);
+  }
+
+  @Test
+  void clear_shouldKeepMaxSize() {
+    var lruMap = new LruHashMap<Integer, Integer>(2);
+    lruMap.put(1, 1);
+    lruMap.clear();
+    for (int i = 0; i < 5; i++) {
+      lruMap.put(i, i);
+    }
+    assertEquals(Map.of(3, 3, 4, 4), lruMap);
+  }
+}
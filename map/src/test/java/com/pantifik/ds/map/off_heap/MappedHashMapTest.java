@@ -0,0 +1,201 @@
+package com.pantifik.ds.map.off_heap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class MappedHashMapTest {
+
+  @TempDir
+  Path directory;
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void open_whenFileExists_shouldReopenEntries(ProbingType probingType) throws IOException {
+    var path = directory.resolve("map.bin");
+    try (var map = MappedHashMap.open(path, 8, 4, probingType)) {
+      for (int i = 0; i < 5_000; i++) {
+        map.put(key(i), value(i));
+      }
+      for (int i = 0; i < 5_000; i += 3) {
+        map.remove(key(i));
+      }
+    }
+    try (var map = MappedHashMap.open(path, 8, 4, probingType)) {
+      assertEquals(3_333, map.size());
+      var value = new byte[4];
+      for (int i = 0; i < 5_000; i++) {
+        assertEquals(i % 3 != 0, map.get(key(i), value));
+        if (i % 3 != 0) {
+          assertArrayEquals(value(i), value);
+        }
+      }
+      assertTrue(map.put(key(0), value(0)));
+    }
+  }
+
+  @Test
+  void open_whenReopened_shouldNotRehash() throws IOException {
+    var path = directory.resolve("map.bin");
+    int capacity;
+    try (var map = MappedHashMap.open(path, 8, 4, 13, .5f, ProbingType.QUADRATIC)) {
+      for (int i = 0; i < 1_000; i++) {
+        map.put(key(i), value(i));
+      }
+      capacity = map.getCapacity();
+    }
+    try (var map = MappedHashMap.open(path, 8, 4, 13, .9f, ProbingType.QUADRATIC)) {
+      assertEquals(capacity, map.getCapacity());
+      assertEquals(Files.size(path), MappedHashMap.HEADER_BYTES + map.getOffHeapBytes());
+    }
+  }
+
+  @Test
+  void put_whenResized_shouldReplaceFileAtomically() throws IOException {
+    var path = directory.resolve("map.bin");
+    try (var map = MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)) {
+      var initialSize = Files.size(path);
+      for (int i = 0; i < 1_000; i++) {
+        map.put(key(i), value(i));
+      }
+      assertTrue(Files.size(path) > initialSize);
+      assertFalse(Files.exists(directory.resolve("map.bin.resize")));
+      map.force();
+    }
+  }
+
+  @Test
+  void open_whenShadowFileLeftOver_shouldIgnoreIt() throws IOException {
+    var path = directory.resolve("map.bin");
+    try (var map = MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)) {
+      map.put(key(1), value(1));
+    }
+    Files.write(directory.resolve("map.bin.resize"), new byte[]{1, 2, 3});
+    try (var map = MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)) {
+      assertTrue(map.containsKey(key(1)));
+      for (int i = 0; i < 1_000; i++) {
+        map.put(key(i), value(i));
+      }
+      assertEquals(1_000, map.size());
+    }
+  }
+
+  @Test
+  void put_whenTableSpansSegments_shouldKeepAllReachable() throws IOException {
+    var path = directory.resolve("map.bin");
+    try (var map = MappedHashMap.open(path, 8, 4, 13, .75f, ProbingType.QUADRATIC, 256)) {
+      for (int i = 0; i < 1_000; i++) {
+        map.put(key(i), value(i));
+      }
+      assertTrue(map.getSegmentCount() > 1);
+    }
+    try (var map = MappedHashMap.open(path, 8, 4, 13, .75f, ProbingType.QUADRATIC, 256)) {
+      var value = new byte[4];
+      for (int i = 0; i < 1_000; i++) {
+        assertTrue(map.get(key(i), value));
+        assertArrayEquals(value(i), value);
+      }
+    }
+  }
+
+  @Test
+  void clear_shouldPersistEmptyMap() throws IOException {
+    var path = directory.resolve("map.bin");
+    try (var map = MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)) {
+      for (int i = 0; i < 100; i++) {
+        map.put(key(i), value(i));
+      }
+      map.clear();
+    }
+    try (var map = MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)) {
+      assertTrue(map.isEmpty());
+      assertFalse(map.containsKey(key(1)));
+    }
+  }
+
+  @Test
+  void open_whenLayoutDiffers_shouldThrowException() throws IOException {
+    var path = directory.resolve("map.bin");
+    MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)
+        .close();
+    assertThrows(IllegalArgumentException.class,
+        () -> MappedHashMap.open(path, 8, 8, ProbingType.LINEAR));
+    assertThrows(IllegalArgumentException.class,
+        () -> MappedHashMap.open(path, 8, 4, ProbingType.QUADRATIC));
+  }
+
+  @Test
+  void open_whenNotMapFile_shouldThrowException() throws IOException {
+    var path = directory.resolve("other.bin");
+    Files.write(path, new byte[MappedHashMap.HEADER_BYTES]);
+    assertThrows(IOException.class, () -> MappedHashMap.open(path, 8, 4, ProbingType.LINEAR));
+    Files.write(path, new byte[3]);
+    assertThrows(IOException.class, () -> MappedHashMap.open(path, 8, 4, ProbingType.LINEAR));
+  }
+
+  @Test
+  void open_whenFileTruncated_shouldThrowException() throws IOException {
+    var path = directory.resolve("map.bin");
+    try (var map = MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)) {
+      for (int i = 0; i < 100; i++) {
+        map.put(key(i), value(i));
+      }
+    }
+    var length = Files.size(path);
+    try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.truncate(length - 1);
+    }
+    assertThrows(IOException.class, () -> MappedHashMap.open(path, 8, 4, ProbingType.LINEAR));
+    assertEquals(length - 1, Files.size(path));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"24, 1000", "24, 0", "28, -1", "28, 100000", "32, -1", "32, 100000"})
+  void open_whenHeaderCorrupt_shouldThrowException(int offset, int corruptValue)
+      throws IOException {
+    var path = directory.resolve("map.bin");
+    try (var map = MappedHashMap.open(path, 8, 4, ProbingType.LINEAR)) {
+      map.put(key(1), value(1));
+    }
+    try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(Integer.BYTES)
+          .putInt(0, corruptValue), offset);
+    }
+    assertThrows(IOException.class, () -> MappedHashMap.open(path, 8, 4, ProbingType.LINEAR));
+  }
+
+  @Test
+  void close_shouldMakeMapUnusable() throws IOException {
+    var map = MappedHashMap.open(directory.resolve("map.bin"), 8, 4, ProbingType.LINEAR);
+    map.close();
+    assertThrows(IllegalStateException.class, () -> map.containsKey(key(1)));
+    assertThrows(IllegalStateException.class, map::force);
+    map.close();
+  }
+
+  private static byte[] key(int i) {
+    return ByteBuffer.allocate(8)
+        .putLong(i * 0x9E3779B97F4A7C15L)
+        .array();
+  }
+
+  private static byte[] value(int i) {
+    return ByteBuffer.allocate(4)
+        .putInt(i)
+        .array();
+  }
+}
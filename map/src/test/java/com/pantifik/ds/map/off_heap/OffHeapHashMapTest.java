@@ -0,0 +1,144 @@
+package com.pantifik.ds.map.off_heap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class OffHeapHashMapTest {
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void put_whenManyEntries_shouldKeepAllReachable(ProbingType probingType) {
+    try (var map = new OffHeapHashMap(12, 4, probingType)) {
+      for (int i = 0; i < 10_000; i++) {
+        assertTrue(map.put(key(i), value(i)));
+      }
+      assertEquals(10_000, map.size());
+      var value = new byte[4];
+      for (int i = 0; i < 10_000; i++) {
+        assertTrue(map.get(key(i), value));
+        assertArrayEquals(value(i), value);
+      }
+      assertFalse(map.get(key(-1), value));
+      assertFalse(map.put(key(1), value(7)));
+      assertTrue(map.get(key(1), value));
+      assertArrayEquals(value(7), value);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void remove_whenManyPutRemoveCycles_shouldKeepEntriesReachable(ProbingType probingType) {
+    try (var map = new OffHeapHashMap(12, 4, probingType)) {
+      for (int i = 0; i < 10_000; i++) {
+        map.put(key(i), value(i));
+        if (i % 2 == 0) {
+          assertTrue(map.remove(key(i)));
+        }
+      }
+      assertEquals(5_000, map.size());
+      for (int i = 0; i < 10_000; i++) {
+        assertEquals(i % 2 != 0, map.containsKey(key(i)));
+      }
+      assertFalse(map.remove(key(0)));
+    }
+  }
+
+  @Test
+  void put_whenTableSpansSegments_shouldKeepAllReachable() {
+    try (var map = new OffHeapHashMap(3, 2, 13, .75f, ProbingType.QUADRATIC, 64)) {
+      for (int i = 0; i < 1000; i++) {
+        map.put(new byte[]{(byte) i, (byte) (i >> 8), 1}, new byte[]{(byte) i, 0});
+      }
+      assertTrue(map.getSegmentCount() > 1);
+      var value = new byte[2];
+      for (int i = 0; i < 1000; i++) {
+        assertTrue(map.get(new byte[]{(byte) i, (byte) (i >> 8), 1}, value));
+        assertEquals((byte) i, value[0]);
+      }
+    }
+  }
+
+  @Test
+  void forEach_shouldVisitAllEntries() {
+    try (var map = new OffHeapHashMap(12, 4, ProbingType.LINEAR)) {
+      var expected = new HashMap<ByteBuffer, ByteBuffer>();
+      for (int i = 0; i < 100; i++) {
+        map.put(key(i), value(i));
+        expected.put(ByteBuffer.wrap(key(i)), ByteBuffer.wrap(value(i)));
+      }
+      var visited = new HashMap<ByteBuffer, ByteBuffer>();
+      map.forEach((key, value) -> visited.put(ByteBuffer.wrap(key.clone()),
+          ByteBuffer.wrap(value.clone())));
+      assertEquals(expected, visited);
+    }
+  }
+
+  @Test
+  void clear_shouldRemoveAllEntries() {
+    try (var map = new OffHeapHashMap(12, 4, ProbingType.LINEAR)) {
+      for (int i = 0; i < 100; i++) {
+        map.put(key(i), value(i));
+      }
+      map.clear();
+      assertTrue(map.isEmpty());
+      assertFalse(map.containsKey(key(1)));
+      assertTrue(map.put(key(1), value(1)));
+    }
+  }
+
+  @Test
+  void put_whenWrongSize_shouldThrowException() {
+    try (var map = new OffHeapHashMap(12, 4, ProbingType.LINEAR)) {
+      assertThrows(IllegalArgumentException.class, () -> map.put(new byte[11], new byte[4]));
+      assertThrows(IllegalArgumentException.class, () -> map.put(new byte[12], new byte[5]));
+      assertThrows(IllegalArgumentException.class, () -> map.get(new byte[12], new byte[3]));
+    }
+  }
+
+  @Test
+  void constructor_whenInvalidArguments_shouldThrowException() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new OffHeapHashMap(0, 4, ProbingType.LINEAR));
+    assertThrows(IllegalArgumentException.class,
+        () -> new OffHeapHashMap(4, -1, ProbingType.LINEAR));
+    assertThrows(IllegalArgumentException.class,
+        () -> new OffHeapHashMap(4, 4, 13, 2f, ProbingType.LINEAR));
+    assertThrows(IllegalArgumentException.class,
+        () -> new OffHeapHashMap(4, 4, ProbingType.ROBIN_HOOD));
+  }
+
+  @Test
+  void close_shouldMakeMapUnusable() {
+    var map = new OffHeapHashMap(12, 4, ProbingType.LINEAR);
+    map.put(key(1), value(1));
+    assertTrue(map.getOffHeapBytes() > 0);
+    map.close();
+    assertTrue(map.isClosed());
+    assertThrows(IllegalStateException.class, () -> map.containsKey(key(1)));
+    assertThrows(IllegalStateException.class, () -> map.put(key(1), value(1)));
+    assertThrows(IllegalStateException.class, map::clear);
+    map.close();
+  }
+
+  private static byte[] key(int i) {
+    return ByteBuffer.allocate(12)
+        .putInt(i)
+        .putLong(~(long) i)
+        .array();
+  }
+
+  private static byte[] value(int i) {
+    return ByteBuffer.allocate(4)
+        .putInt(i * 3)
+        .array();
+  }
+}
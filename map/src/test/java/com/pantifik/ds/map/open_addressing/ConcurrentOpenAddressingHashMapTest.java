@@ -0,0 +1,161 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.AbstractMapTest;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentOpenAddressingHashMapTest extends AbstractMapTest {
+
+  private static final int THREADS = 8;
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new ConcurrentOpenAddressingHashMap<>();
+  }
+
+  @Override
+  protected boolean isNullValueSupported() {
+    return false;
+  }
+
+  @Override
+  protected boolean isIteratorFailFast() {
+    return false;
+  }
+
+  @Test
+  void put_whenNullValue_shouldThrowException() {
+    assertThrows(NullPointerException.class, () -> map.put(1, null));
+  }
+
+  @Test
+  void put_whenCapacityExceeded_shouldResizeTable() {
+    var hashMap = new ConcurrentOpenAddressingHashMap<Integer, Integer>(2);
+    for (int i = 0; i < 1000; i++) {
+      hashMap.put(i, i);
+    }
+    assertTrue(hashMap.getCapacity() >= 1024);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+  }
+
+  @Test
+  void put_whenRemovedKeysFillTable_shouldCopyWithoutGrowing() {
+    var hashMap = new ConcurrentOpenAddressingHashMap<Integer, Integer>(64);
+    for (int i = 0; i < 10_000; i++) {
+      hashMap.put(i, i);
+      hashMap.remove(i);
+    }
+    assertTrue(hashMap.isEmpty());
+    assertEquals(64, hashMap.getCapacity());
+  }
+
+  @Test
+  void replace_whenExpectedValueDiffers_shouldKeepValue() {
+    map.put(1, "first");
+    assertFalse(map.replace(1, "second", "third"));
+    assertTrue(map.replace(1, "first", "second"));
+    assertEquals("second", map.replace(1, "third"));
+    assertNull(map.replace(2, "third"));
+    assertFalse(map.remove(1, "second"));
+    assertTrue(map.remove(1, "third"));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void put_whenManyThreadsPutDistinctKeys_shouldKeepAllKeys() throws Exception {
+    var hashMap = new ConcurrentOpenAddressingHashMap<Integer, Integer>(2);
+    runConcurrently(thread -> {
+      for (int i = thread; i < 200_000; i += THREADS) {
+        hashMap.put(i, i);
+      }
+    });
+    assertEquals(200_000, hashMap.size());
+    for (int i = 0; i < 200_000; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+  }
+
+  @Test
+  void merge_whenManyThreadsCountSameKeys_shouldNotLoseUpdates() throws Exception {
+    var hashMap = new ConcurrentOpenAddressingHashMap<Integer, Integer>(2);
+    runConcurrently(thread -> {
+      for (int i = 0; i < 20_000; i++) {
+        hashMap.merge(i % 1000, 1, Integer::sum);
+      }
+    });
+    assertEquals(1000, hashMap.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(20 * THREADS, hashMap.get(i));
+    }
+  }
+
+  @Test
+  void get_whileOtherThreadsResizeAndRemove_shouldFindStableKeys() throws Exception {
+    var hashMap = new ConcurrentOpenAddressingHashMap<Integer, Integer>(2);
+    for (int i = 0; i < 1000; i++) {
+      hashMap.put(i, i);
+    }
+    var missed = new AtomicBoolean();
+    runConcurrently(thread -> {
+      if (thread % 2 == 0) {
+        for (int i = 1000 + THREADS + thread; i < 100_000; i += THREADS) {
+          hashMap.put(i, i);
+          hashMap.remove(i - THREADS);
+        }
+      } else {
+        for (int round = 0; round < 100; round++) {
+          for (int i = 0; i < 1000; i++) {
+            if (!Integer.valueOf(i).equals(hashMap.get(i))) {
+              missed.set(true);
+            }
+          }
+        }
+      }
+    });
+    assertFalse(missed.get());
+  }
+
+  private void runConcurrently(ThreadTask task) throws Exception {
+    var executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      var start = new CountDownLatch(1);
+      var tasks = new ArrayList<Callable<Void>>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        var threadNr = thread;
+        tasks.add(() -> {
+          start.await();
+          task.run(threadNr);
+          return null;
+        });
+      }
+      var futures = tasks.stream()
+          .map(executor::submit)
+          .toList();
+      start.countDown();
+      for (var future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface ThreadTask {
+
+    void run(int thread);
+  }
+}
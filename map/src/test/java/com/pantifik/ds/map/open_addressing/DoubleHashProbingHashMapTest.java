@@ -0,0 +1,19 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class DoubleHashProbingHashMapTest extends OpenAddressingHashMapTest {
+
+  @Override
+  protected ProbingType createProbingInstance() {
+    return ProbingType.DOUBLE_HASH;
+  }
+
+  @Test
+  void constructor_whenCapacityIsNotPowerOfTwo_shouldRoundCapacityUp() {
+    var hashMap = new OpenAddressingHashMap<>(13, .75f, createProbingInstance());
+    assertEquals(16, hashMap.getCapacity());
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.HashSet;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DoubleHashProbingTest {
+
+  private final DoubleHashProbing probing = new DoubleHashProbing();
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, -2, -3})
+  void probe_whenNegativeParam_shouldThrowException(int index) {
+    assertThrows(IllegalArgumentException.class, () -> probing.probe(index));
+    assertThrows(IllegalArgumentException.class, () -> probing.probe(42, index));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3, 100})
+  void probe_whenNoHash_shouldReturnUnitStride(int index) {
+    assertEquals(index, probing.probe(index));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3, -7, 12345, Integer.MAX_VALUE, Integer.MIN_VALUE})
+  void probe_whenHashGiven_shouldUseOddStride(int hash) {
+    int stride = probing.calculateStride(hash);
+    assertEquals(1, stride & 1);
+    assertEquals(3 * stride, probing.probe(hash, 3));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0, 64", "1, 64", "2, 128", "12345, 1024"})
+  void probe_whenPowerOfTwoCapacity_shouldVisitEverySlot(int hash, int capacity) {
+    var visited = new HashSet<Integer>();
+    for (int i = 0; i < capacity; i++) {
+      visited.add((hash + probing.probe(hash, i)) & (capacity - 1));
+    }
+    assertEquals(capacity, visited.size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-10, -1, 0, 1})
+  void nextValidCapacity_whenCurrentCapacityLessThan2_shouldThrowException(int capacity) {
+    assertThrows(IllegalArgumentException.class, () -> probing.nextValidCapacity(capacity));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"2, 2", "3, 4", "13, 16", "16, 16", "26, 32"})
+  void nextValidCapacity_whenValidParam_shouldReturnNextPowerOfTwo(int capacity, int expected) {
+    assertEquals(expected, probing.nextValidCapacity(capacity));
+  }
+}
@@ -0,0 +1,17 @@
+package com.pantifik.ds.map.open_addressing;
+
+import com.pantifik.ds.map.ResizeMode;
+
+public class IncrementalRobinHoodProbingHashMapTest extends OpenAddressingHashMapTest {
+
+  @Override
+  protected ProbingType createProbingInstance() {
+    return ProbingType.ROBIN_HOOD;
+  }
+
+  @Override
+  protected ResizeMode createResizeMode() {
+    return ResizeMode.INCREMENTAL;
+  }
+
+}
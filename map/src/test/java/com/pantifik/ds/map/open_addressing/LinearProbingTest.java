@@ -58,4 +58,11 @@ class LinearProbingTest {
     LinearProbing lp = new LinearProbing(7, 13);
     assertEquals(expected, lp.nextValidCapacity(capacity));
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest
+  @CsvSource({"4, 7", "5, 7", "24, 29"})
+  void nextValidCapacity_whenNextPrimeDividesConstant_shouldSkipIt(int capacity, int expected) {
+    LinearProbing lp = new LinearProbing(5, 13);
+    assertEquals(expected, lp.nextValidCapacity(capacity));
+  }
+}
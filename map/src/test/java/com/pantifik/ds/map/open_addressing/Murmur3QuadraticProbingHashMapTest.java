@@ -0,0 +1,20 @@
+package com.pantifik.ds.map.open_addressing;
+
+import com.pantifik.ds.map.ResizeMode;
+import com.pantifik.ds.map.hash.Murmur3HashStrategy;
+import java.util.Map;
+
+public class Murmur3QuadraticProbingHashMapTest extends OpenAddressingHashMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new OpenAddressingHashMap<>(16, .75f, createProbingInstance(), ResizeMode.BLOCKING,
+        new Murmur3HashStrategy());
+  }
+
+  @Override
+  protected ProbingType createProbingInstance() {
+    return ProbingType.QUADRATIC;
+  }
+
+}
@@ -1,7 +1,14 @@
 package com.pantifik.ds.map.open_addressing;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.pantifik.ds.map.AbstractMapTest;
+import com.pantifik.ds.map.ResizeMode;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -9,11 +16,15 @@ abstract class OpenAddressingHashMapTest extends AbstractMapTest {
 
   @Override
   protected Map<Object, Object> createMapInstance() {
-    return new OpenAddressingHashMap<>(createProbingInstance());
+    return new OpenAddressingHashMap<>(13, .75f, createProbingInstance(), createResizeMode());
   }
 
   protected abstract ProbingType createProbingInstance();
 
+  protected ResizeMode createResizeMode() {
+    return ResizeMode.BLOCKING;
+  }
+
   @Test
   void put_whenCapacityExceeded_shouldResizeTable() {
     map.put(1, "1");
@@ -32,4 +43,139 @@ abstract class OpenAddressingHashMapTest extends AbstractMapTest {
     map.put(1f, "10");
     assertEquals(14, map.size());
   }
-}
\ No newline at end of file
+
+  @Test
+  void put_whenResizedIncrementally_shouldKeepEntriesReachableDuringMigration() {
+    var hashMap = new OpenAddressingHashMap<Integer, Integer>(64, .75f, createProbingInstance(),
+        ResizeMode.INCREMENTAL);
+    var key = 0;
+    while (!hashMap.isMigrating()) {
+      hashMap.put(key, key);
+      key++;
+    }
+    for (int i = 0; i < key; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+    assertEquals(0, hashMap.remove(0));
+    assertEquals(1, hashMap.put(1, 10));
+    while (hashMap.isMigrating()) {
+      hashMap.put(key, key);
+      key++;
+    }
+    assertEquals(key - 1, hashMap.size());
+    assertNull(hashMap.get(0));
+    assertEquals(10, hashMap.get(1));
+    for (int i = 2; i < key; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+    assertTrue(hashMap.getCapacity() > 64);
+  }
+
+  @Test
+  void getStats_whenEnabled_shouldRecordProbesAndResizes() {
+    var hashMap = new OpenAddressingHashMap<Integer, Integer>(13, .75f, createProbingInstance(),
+        createResizeMode());
+    hashMap.setStatsEnabled(true);
+    for (int i = 0; i < 100; i++) {
+      hashMap.put(i, i);
+    }
+    for (int i = 0; i < 150; i++) {
+      hashMap.get(i);
+    }
+    var stats = hashMap.getStats();
+    assertEquals(100, Arrays.stream(stats.hitProbeHistogram())
+        .sum());
+    assertEquals(0, stats.hitProbeHistogram()[0]);
+    assertEquals(50, Arrays.stream(stats.missProbeHistogram())
+        .sum());
+    assertTrue(stats.resizeCount() > 0);
+    assertEquals(100, stats.size());
+    assertEquals(hashMap.getCapacity(), stats.capacity());
+    assertTrue(Arrays.stream(stats.chainLengthHistogram())
+        .sum() > 0);
+  }
+
+  @Test
+  void getStats_whenDisabled_shouldOnlyMeasureTable() {
+    var hashMap = new OpenAddressingHashMap<Integer, Integer>(13, .75f, createProbingInstance(),
+        createResizeMode());
+    for (int i = 0; i < 100; i++) {
+      hashMap.put(i, i);
+      hashMap.get(i);
+    }
+    var stats = hashMap.getStats();
+    assertFalse(hashMap.isStatsEnabled());
+    assertEquals(0, Arrays.stream(stats.hitProbeHistogram())
+        .sum());
+    assertEquals(0, stats.resizeCount());
+    assertEquals(100.0 / hashMap.getCapacity(), stats.loadFactor());
+  }
+
+  @Test
+  void remove_whenKeyRemoved_shouldNotExposeDeletedEntries() {
+    map.put(1, 1);
+    map.put(2, 2);
+    map.remove(1);
+    assertEquals(1, map.entrySet()
+        .size());
+    assertFalse(map.containsValue(null));
+    assertFalse(map.containsKey("DELETED"));
+  }
+
+  @Test
+  void put_whenManyPutRemoveCycles_shouldKeepEntriesReachable() {
+    for (int cycle = 0; cycle < 50; cycle++) {
+      for (int i = 0; i < 100; i++) {
+        map.put(cycle * 100 + i, i);
+      }
+      for (int i = 0; i < 100; i += 2) {
+        assertEquals(i, map.remove(cycle * 100 + i));
+      }
+    }
+    assertEquals(50 * 50, map.size());
+    for (int cycle = 0; cycle < 50; cycle++) {
+      for (int i = 0; i < 100; i++) {
+        if (i % 2 == 0) {
+          assertNull(map.get(cycle * 100 + i));
+        } else {
+          assertEquals(i, map.get(cycle * 100 + i));
+        }
+      }
+    }
+  }
+
+  @Test
+  void entrySet_whenEntryValueSet_shouldUpdateMap() {
+    map.put(1, "first");
+    map.entrySet()
+        .iterator()
+        .next()
+        .setValue("second");
+    assertEquals("second", map.get(1));
+  }
+
+  @Test
+  void compute_whenFunctionModifiesMap_shouldThrowException() {
+    map.put(1, 1);
+    assertThrows(ConcurrentModificationException.class,
+        () -> map.compute(2, (key, value) -> map.put(3, 3)));
+  }
+
+  @Test
+  void compute_whenFunctionKeepsSizeButMovesEntries_shouldThrowException() {
+    for (int i = 0; i < 8; i++) {
+      map.put(i, i);
+    }
+    assertThrows(ConcurrentModificationException.class, () -> map.compute(50, (key, value) -> {
+      map.put(102, 102);
+      map.remove(0);
+      return 1;
+    }));
+    assertEquals(8, map.size());
+    assertEquals(8, map.entrySet()
+        .stream()
+        .count());
+    assertEquals(102, map.get(102));
+    assertNull(map.get(50));
+  }
+}
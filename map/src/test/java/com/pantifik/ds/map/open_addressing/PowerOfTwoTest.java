@@ -0,0 +1,42 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PowerOfTwoTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {-10, -1, 0})
+  void isPowerOfTwo_whenNumberIsLessThanOne_shouldThrowException(int number) {
+    assertThrows(IllegalArgumentException.class, () -> PowerOfTwo.isPowerOfTwo(number));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 4, 8, 1024, 1 << 30})
+  void isPowerOfTwo_whenNumberIsPowerOfTwo_shouldReturnTrue(int number) {
+    assertTrue(PowerOfTwo.isPowerOfTwo(number));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {3, 5, 6, 7, 12, 13, 1023, Integer.MAX_VALUE})
+  void isPowerOfTwo_whenNumberIsNotPowerOfTwo_shouldReturnFalse(int number) {
+    assertFalse(PowerOfTwo.isPowerOfTwo(number));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-10, -1, 0, (1 << 30) + 1})
+  void nextPowerOfTwo_whenNumberIsOutOfRange_shouldThrowException(int number) {
+    assertThrows(IllegalArgumentException.class, () -> PowerOfTwo.nextPowerOfTwo(number));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 1", "2, 2", "3, 4", "5, 8", "1000, 1024", "1073741824, 1073741824"})
+  void nextPowerOfTwo_whenValidNumber_shouldReturnNextPowerOfTwo(int number, int expected) {
+    assertEquals(expected, PowerOfTwo.nextPowerOfTwo(number));
+  }
+}
@@ -0,0 +1,47 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.HashSet;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class QuadraticProbingTest {
+
+  private final QuadraticProbing probing = new QuadraticProbing();
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, -2, -3})
+  void probe_whenNegativeParam_shouldThrowException(int index) {
+    assertThrows(IllegalArgumentException.class, () -> probing.probe(index));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0, 0", "1, 1", "2, 3", "3, 6", "4, 10", "100, 5050"})
+  void probe_whenValidParams_shouldReturnTriangularNumber(int index, int expected) {
+    assertEquals(expected, probing.probe(index));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {2, 8, 64, 1024})
+  void probe_whenPowerOfTwoCapacity_shouldVisitEverySlot(int capacity) {
+    var visited = new HashSet<Integer>();
+    for (int i = 0; i < capacity; i++) {
+      visited.add(probing.probe(i) & (capacity - 1));
+    }
+    assertEquals(capacity, visited.size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-10, -1, 0, 1})
+  void nextValidCapacity_whenCurrentCapacityLessThan2_shouldThrowException(int capacity) {
+    assertThrows(IllegalArgumentException.class, () -> probing.nextValidCapacity(capacity));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"2, 2", "3, 4", "13, 16", "16, 16", "26, 32"})
+  void nextValidCapacity_whenValidParam_shouldReturnNextPowerOfTwo(int capacity, int expected) {
+    assertEquals(expected, probing.nextValidCapacity(capacity));
+  }
+}
@@ -0,0 +1,10 @@
+package com.pantifik.ds.map.open_addressing;
+
+public class RobinHoodProbingHashMapTest extends OpenAddressingHashMapTest {
+
+  @Override
+  protected ProbingType createProbingInstance() {
+    return ProbingType.ROBIN_HOOD;
+  }
+
+}
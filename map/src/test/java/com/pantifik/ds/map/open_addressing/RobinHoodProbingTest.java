@@ -0,0 +1,42 @@
+package com.pantifik.ds.map.open_addressing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RobinHoodProbingTest {
+
+  private final RobinHoodProbing probing = new RobinHoodProbing();
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, -2, -3})
+  void probe_whenNegativeParam_shouldThrowException(int index) {
+    assertThrows(IllegalArgumentException.class, () -> probing.probe(index));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3, 4, 5, 100, 123})
+  void probe_whenValidParams_shouldReturnUnitStride(int index) {
+    assertEquals(index, probing.probe(index));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-10, -1, 0, 1})
+  void nextValidCapacity_whenCurrentCapacityLessThan2_shouldThrowException(int capacity) {
+    assertThrows(IllegalArgumentException.class, () -> probing.nextValidCapacity(capacity));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {2, 4, 13, 24, 100})
+  void nextValidCapacity_whenValidParam_shouldReturnCurrentCapacity(int capacity) {
+    assertEquals(capacity, probing.nextValidCapacity(capacity));
+  }
+
+  @Test
+  void isDistanceOrdered_shouldReturnTrue() {
+    assertTrue(probing.isDistanceOrdered());
+  }
+}
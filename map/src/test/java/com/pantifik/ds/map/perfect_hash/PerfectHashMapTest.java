@@ -0,0 +1,146 @@
+package com.pantifik.ds.map.perfect_hash;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.open_addressing.OpenAddressingHashMap;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PerfectHashMapTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3, 5, 17, 100, 1000, 50_000})
+  void copyOf_shouldContainAllEntries(int size) {
+    var source = new OpenAddressingHashMap<Integer, String>(ProbingType.LINEAR);
+    for (int i = 0; i < size; i++) {
+      source.put(i * 31, String.valueOf(i));
+    }
+    var map = PerfectHashMap.copyOf(source);
+    assertEquals(size, map.size());
+    assertEquals(size == 0, map.isEmpty());
+    for (int i = 0; i < size; i++) {
+      assertEquals(String.valueOf(i), map.get(i * 31));
+      assertTrue(map.containsKey(i * 31));
+    }
+    assertFalse(map.containsKey(-1));
+    assertNull(map.get(-1));
+    assertEquals(source, map);
+    assertEquals(source.hashCode(), map.hashCode());
+  }
+
+  @Test
+  void copyOf_whenKeysShareHashCode_shouldContainAllEntries() {
+    var source = new HashMap<String, Integer>();
+    source.put("Aa", 1);
+    source.put("BB", 2);
+    source.put("AaAa", 3);
+    source.put("BBBB", 4);
+    source.put("AaBB", 5);
+    source.put("BBAa", 6);
+    source.put("other", 7);
+    var map = PerfectHashMap.copyOf(source);
+    assertEquals(source, map);
+    for (var entry : source.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+    assertFalse(map.containsKey("AaAb"));
+  }
+
+  @Test
+  void get_whenManyKeysShareHashCodes_shouldCompareOnlyKeysOfSameHash() {
+    var source = new HashMap<CountingKey, Integer>();
+    for (int i = 0; i < 3000; i++) {
+      source.put(new CountingKey(i, i / 3), i);
+    }
+    var map = PerfectHashMap.copyOf(source);
+    assertEquals(source, map);
+    for (int i = 0; i < 3000; i++) {
+      assertEquals(i, map.get(new CountingKey(i, i / 3)));
+    }
+    CountingKey.equalsCalls = 0;
+    for (int i = 3000; i < 6000; i++) {
+      assertNull(map.get(new CountingKey(i, i)));
+    }
+    assertEquals(0, CountingKey.equalsCalls);
+    assertFalse(map.containsKey(new CountingKey(-1, 10)));
+    assertTrue(CountingKey.equalsCalls <= 3);
+  }
+
+  @Test
+  void copyOf_whenNullValue_shouldKeepIt() {
+    var source = new HashMap<Integer, Integer>();
+    source.put(1, null);
+    var map = PerfectHashMap.copyOf(source);
+    assertTrue(map.containsKey(1));
+    assertTrue(map.containsValue(null));
+    assertEquals(0, map.getOrDefault(2, 0));
+    assertNull(map.getOrDefault(1, 0));
+  }
+
+  @Test
+  void copyOf_whenNullKey_shouldThrowException() {
+    var source = new HashMap<Integer, Integer>();
+    source.put(null, 1);
+    assertThrows(NullPointerException.class, () -> PerfectHashMap.copyOf(source));
+    assertThrows(NullPointerException.class, () -> PerfectHashMap.copyOf(null));
+  }
+
+  @Test
+  void get_whenNullKey_shouldThrowException() {
+    var map = PerfectHashMap.copyOf(Map.of(1, 1));
+    assertThrows(NullPointerException.class, () -> map.get(null));
+    assertThrows(NullPointerException.class, () -> map.containsKey(null));
+  }
+
+  @Test
+  void containsValue_shouldSearchAllValues() {
+    var map = PerfectHashMap.copyOf(Map.of(1, "a", 2, "b"));
+    assertTrue(map.containsValue("b"));
+    assertFalse(map.containsValue("c"));
+  }
+
+  @Test
+  void modification_shouldThrowException() {
+    var map = PerfectHashMap.copyOf(Map.of(1, 1, 2, 2));
+    assertThrows(UnsupportedOperationException.class, () -> map.put(3, 3));
+    assertThrows(UnsupportedOperationException.class, () -> map.remove(1));
+    assertThrows(UnsupportedOperationException.class, map::clear);
+    assertThrows(UnsupportedOperationException.class, () -> map.merge(1, 1, Integer::sum));
+    var iterator = map.entrySet()
+        .iterator();
+    var entry = iterator.next();
+    assertThrows(UnsupportedOperationException.class, () -> entry.setValue(0));
+    assertThrows(UnsupportedOperationException.class, iterator::remove);
+    assertEquals(Map.of(1, 1, 2, 2), map);
+  }
+
+  private static final class CountingKey {
+
+    private static int equalsCalls;
+    private final int id;
+    private final int hash;
+
+    CountingKey(int id, int hash) {
+      this.id = id;
+      this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      equalsCalls++;
+      return o instanceof CountingKey key && key.id == id;
+    }
+  }
+}
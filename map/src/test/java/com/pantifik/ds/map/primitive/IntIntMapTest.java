@@ -0,0 +1,102 @@
+package com.pantifik.ds.map.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class IntIntMapTest {
+
+  @Test
+  void constructor_whenDistanceOrderedProbing_shouldThrowException() {
+    assertThrows(IllegalArgumentException.class, () -> new IntIntMap(ProbingType.ROBIN_HOOD));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void put_whenKeyIsZeroOrNegative_shouldStoreKey(ProbingType probingType) {
+    var map = new IntIntMap(probingType);
+    assertFalse(map.containsKey(0));
+    assertTrue(map.put(0, 10));
+    assertTrue(map.put(-1, 20));
+    assertTrue(map.put(Integer.MIN_VALUE, 30));
+    assertEquals(10, map.getOrDefault(0, -1));
+    assertEquals(20, map.getOrDefault(-1, -1));
+    assertEquals(30, map.getOrDefault(Integer.MIN_VALUE, -1));
+    assertEquals(3, map.size());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void put_whenKeyPresent_shouldReplaceValue(ProbingType probingType) {
+    var map = new IntIntMap(probingType);
+    assertTrue(map.put(1, 1));
+    assertFalse(map.put(1, 2));
+    assertEquals(2, map.getOrDefault(1, -1));
+    assertEquals(1, map.size());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void put_whenManyKeys_shouldResizeAndKeepAllKeys(ProbingType probingType) {
+    var map = new IntIntMap(probingType);
+    for (int i = 0; i < 10_000; i++) {
+      map.put(i, i * 2);
+    }
+    assertEquals(10_000, map.size());
+    assertTrue(map.getCapacity() > 10_000);
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(i * 2, map.getOrDefault(i, -1));
+    }
+    assertEquals(-1, map.getOrDefault(10_000, -1));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void remove_whenManyPutRemoveCycles_shouldKeepEntriesReachable(ProbingType probingType) {
+    var map = new IntIntMap(probingType);
+    for (int i = 0; i < 10_000; i++) {
+      map.put(i, i);
+      if (i % 3 != 0) {
+        assertTrue(map.remove(i));
+      }
+    }
+    assertFalse(map.remove(1));
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(i % 3 == 0, map.containsKey(i));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void forEach_shouldVisitEveryEntry(ProbingType probingType) {
+    var map = new IntIntMap(probingType);
+    for (int i = -50; i < 50; i++) {
+      map.put(i, -i);
+    }
+    map.remove(7);
+    Map<Integer, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertEquals(99, visited.size());
+    visited.forEach((key, value) -> assertEquals(-key, value));
+  }
+
+  @Test
+  void clear_shouldEmptyTheMap() {
+    var map = new IntIntMap(ProbingType.QUADRATIC);
+    for (int i = 0; i < 100; i++) {
+      map.put(i, i);
+    }
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(1));
+    map.put(1, 1);
+    assertEquals(1, map.getOrDefault(1, -1));
+  }
+}
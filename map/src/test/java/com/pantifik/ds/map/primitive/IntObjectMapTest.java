@@ -0,0 +1,56 @@
+package com.pantifik.ds.map.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class IntObjectMapTest {
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void put_shouldReturnPreviousValue(ProbingType probingType) {
+    var map = new IntObjectMap<String>(probingType);
+    assertNull(map.put(0, "first"));
+    assertEquals("first", map.put(0, "second"));
+    assertEquals("second", map.get(0));
+    assertNull(map.get(1));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void put_whenValueIsNull_shouldContainKey(ProbingType probingType) {
+    var map = new IntObjectMap<String>(probingType);
+    map.put(5, null);
+    assertTrue(map.containsKey(5));
+    assertNull(map.get(5));
+    assertEquals(1, map.size());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void remove_whenKeyPresent_shouldReturnRemovedValue(ProbingType probingType) {
+    var map = new IntObjectMap<String>(probingType);
+    for (int i = 0; i < 1_000; i++) {
+      map.put(i, String.valueOf(i));
+    }
+    for (int i = 0; i < 1_000; i += 2) {
+      assertEquals(String.valueOf(i), map.remove(i));
+    }
+    assertNull(map.remove(0));
+    assertEquals(500, map.size());
+    for (int i = 0; i < 1_000; i++) {
+      assertEquals(i % 2 != 0, map.containsKey(i));
+    }
+    var count = new int[1];
+    map.forEach((key, value) -> {
+      assertEquals(String.valueOf(key), value);
+      count[0]++;
+    });
+    assertEquals(500, count[0]);
+    assertFalse(map.isEmpty());
+  }
+}
@@ -0,0 +1,41 @@
+package com.pantifik.ds.map.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.open_addressing.ProbingType;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class LongLongMapTest {
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void put_whenKeysDifferInHighBits_shouldKeepKeysApart(ProbingType probingType) {
+    var map = new LongLongMap(probingType);
+    assertTrue(map.put(0L, 1L));
+    assertTrue(map.put(1L << 32, 2L));
+    assertTrue(map.put(Long.MIN_VALUE, 3L));
+    assertEquals(1L, map.getOrDefault(0L, -1L));
+    assertEquals(2L, map.getOrDefault(1L << 32, -1L));
+    assertEquals(3L, map.getOrDefault(Long.MIN_VALUE, -1L));
+    assertEquals(-1L, map.getOrDefault(1L, -1L));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ProbingType.class, names = {"LINEAR", "QUADRATIC", "DOUBLE_HASH"})
+  void remove_whenManyPutRemoveCycles_shouldKeepEntriesReachable(ProbingType probingType) {
+    var map = new LongLongMap(probingType);
+    for (long i = 0; i < 10_000; i++) {
+      map.put(i << 20, i);
+      if (i % 2 == 0) {
+        assertTrue(map.remove(i << 20));
+      }
+    }
+    assertEquals(5_000, map.size());
+    for (long i = 0; i < 10_000; i++) {
+      assertEquals(i % 2 != 0, map.containsKey(i << 20));
+    }
+    assertFalse(map.remove(0L));
+  }
+}
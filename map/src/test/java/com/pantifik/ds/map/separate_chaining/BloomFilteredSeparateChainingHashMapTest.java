@@ -0,0 +1,14 @@
+package com.pantifik.ds.map.separate_chaining;
+
+import com.pantifik.ds.map.ResizeMode;
+import java.util.Map;
+
+class BloomFilteredSeparateChainingHashMapTest extends SeparateChainingHashMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    var hashMap = new SeparateChainingHashMap<>(0, .75f, ResizeMode.INCREMENTAL);
+    hashMap.setBloomFilterEnabled(true);
+    return hashMap;
+  }
+}
@@ -0,0 +1,12 @@
+package com.pantifik.ds.map.separate_chaining;
+
+import com.pantifik.ds.map.ResizeMode;
+import java.util.Map;
+
+class IncrementalSeparateChainingHashMapTest extends SeparateChainingHashMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new SeparateChainingHashMap<>(13, .75f, ResizeMode.INCREMENTAL);
+  }
+}
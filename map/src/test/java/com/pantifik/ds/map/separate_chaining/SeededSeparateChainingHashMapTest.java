@@ -0,0 +1,15 @@
+package com.pantifik.ds.map.separate_chaining;
+
+import com.pantifik.ds.map.ResizeMode;
+import com.pantifik.ds.map.capacity.PowerOfTwoCapacityPolicy;
+import com.pantifik.ds.map.hash.SeededHashStrategy;
+import java.util.Map;
+
+class SeededSeparateChainingHashMapTest extends SeparateChainingHashMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new SeparateChainingHashMap<>(16, .75f, ResizeMode.BLOCKING,
+        new PowerOfTwoCapacityPolicy(), new SeededHashStrategy());
+  }
+}
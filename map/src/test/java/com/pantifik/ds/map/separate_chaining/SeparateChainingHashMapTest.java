@@ -1,9 +1,16 @@
 package com.pantifik.ds.map.separate_chaining;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.pantifik.ds.map.AbstractMapTest;
+import com.pantifik.ds.map.ResizeMode;
+import com.pantifik.ds.map.capacity.PowerOfTwoCapacityPolicy;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -61,4 +68,387 @@ class SeparateChainingHashMapTest extends AbstractMapTest {
     map.put(1f, "10");
     assertEquals(10, map.size());
   }
-}
\ No newline at end of file
+
+  @Test
+  void put_whenResizedIncrementally_shouldKeepEntriesReachableDuringMigration() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>(64, .75f,
+        ResizeMode.INCREMENTAL);
+    var key = 0;
+    while (!hashMap.isMigrating()) {
+      hashMap.put(key, key);
+      key++;
+    }
+    for (int i = 0; i < key; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+    assertEquals(0, hashMap.remove(0));
+    assertEquals(1, hashMap.put(1, 10));
+    while (hashMap.isMigrating()) {
+      hashMap.put(key, key);
+      key++;
+    }
+    assertEquals(key - 1, hashMap.size());
+    assertNull(hashMap.get(0));
+    assertEquals(10, hashMap.get(1));
+    for (int i = 2; i < key; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+  }
+
+  @Test
+  void put_whenPowerOfTwoCapacityPolicy_shouldKeepEntriesReachable() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>(10, .75f, ResizeMode.BLOCKING,
+        new PowerOfTwoCapacityPolicy());
+    for (int i = -500; i < 500; i++) {
+      hashMap.put(i, i);
+    }
+    assertEquals(1000, hashMap.size());
+    for (int i = -500; i < 500; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+  }
+
+  @Test
+  void getStats_whenEnabled_shouldRecordProbesAndMeasureChains() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>();
+    hashMap.setStatsEnabled(true);
+    for (int i = 0; i < 100; i++) {
+      hashMap.put(i, i);
+    }
+    for (int i = 0; i < 150; i++) {
+      hashMap.containsKey(i);
+    }
+    var stats = hashMap.getStats();
+    assertEquals(100, Arrays.stream(stats.hitProbeHistogram())
+        .sum());
+    assertEquals(0, stats.hitProbeHistogram()[0]);
+    assertEquals(50, Arrays.stream(stats.missProbeHistogram())
+        .sum());
+    assertTrue(stats.resizeCount() > 0);
+    assertEquals(0, stats.tombstoneCount());
+    var chains = stats.chainLengthHistogram();
+    assertEquals(stats.capacity(), Arrays.stream(chains)
+        .sum());
+    var entries = 0;
+    for (int length = 0; length < chains.length; length++) {
+      entries += length * chains[length];
+    }
+    assertEquals(100, entries);
+  }
+
+  @Test
+  void setStatsEnabled_whenDisabled_shouldStopRecording() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>();
+    hashMap.setStatsEnabled(true);
+    hashMap.get(1);
+    hashMap.setStatsEnabled(false);
+    hashMap.get(1);
+    assertFalse(hashMap.isStatsEnabled());
+    assertEquals(0, Arrays.stream(hashMap.getStats()
+            .missProbeHistogram())
+        .sum());
+  }
+
+  @Test
+  void getBloomFilterStats_whenEnabled_shouldRejectMostMisses() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>();
+    for (int i = 0; i < 500; i++) {
+      hashMap.put(i, i);
+    }
+    hashMap.setBloomFilterEnabled(true);
+    for (int i = 500; i < 1000; i++) {
+      hashMap.put(i, i);
+    }
+    for (int i = 0; i < 2000; i++) {
+      assertEquals(i < 1000, hashMap.containsKey(i));
+    }
+    var stats = hashMap.getBloomFilterStats();
+    assertEquals(2000, stats.lookupCount());
+    assertEquals(1000, stats.rejectedCount() + stats.falsePositiveCount());
+    assertTrue(stats.falsePositiveRate() < 0.05);
+    assertEquals(0, stats.staleCount());
+  }
+
+  @Test
+  void setBloomFilterEnabled_whenKeysRemoved_shouldRebuildFilterLazily() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>(0, .75f,
+        ResizeMode.INCREMENTAL);
+    hashMap.setBloomFilterEnabled(true);
+    for (int i = 0; i < 1000; i++) {
+      hashMap.put(i, i);
+    }
+    for (int i = 0; i < 400; i++) {
+      hashMap.remove(i);
+    }
+    assertEquals(400, hashMap.getBloomFilterStats()
+        .staleCount());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i >= 400 ? i : null, hashMap.get(i));
+    }
+    var stats = hashMap.getBloomFilterStats();
+    assertEquals(0, stats.staleCount());
+    assertEquals(600, stats.hashCount());
+  }
+
+  @Test
+  void setBloomFilterEnabled_whenDisabled_shouldRejectStatsRequest() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>();
+    hashMap.setBloomFilterEnabled(true);
+    hashMap.put(1, 1);
+    hashMap.setBloomFilterEnabled(false);
+    assertFalse(hashMap.isBloomFilterEnabled());
+    assertEquals(1, hashMap.get(1));
+    assertThrows(IllegalStateException.class, hashMap::getBloomFilterStats);
+  }
+
+  @Test
+  void clear_whenBloomFilterEnabled_shouldResetFilter() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>();
+    hashMap.setBloomFilterEnabled(true);
+    hashMap.put(1, 1);
+    hashMap.clear();
+    assertNull(hashMap.get(1));
+    assertEquals(1, hashMap.getBloomFilterStats()
+        .rejectedCount());
+    hashMap.put(1, 1);
+    assertEquals(1, hashMap.get(1));
+  }
+
+  @Test
+  void put_whenBucketGrowsPastThreshold_shouldTreeifyBucket() {
+    var hashMap = new SeparateChainingHashMap<CollidingKey, Integer>(64);
+    for (int i = 0; i <= SeparateChainingHashMap.TREEIFY_THRESHOLD; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    assertTrue(hashMap.isTreeified(new CollidingKey(0)));
+  }
+
+  @Test
+  void put_whenTableIsSmall_shouldNotTreeifyBucket() {
+    var hashMap = new SeparateChainingHashMap<CollidingKey, Integer>(13, 1f);
+    for (int i = 0; i <= SeparateChainingHashMap.TREEIFY_THRESHOLD; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    assertFalse(hashMap.isTreeified(new CollidingKey(0)));
+  }
+
+  @Test
+  void remove_whenTreeBucketShrinksBelowThreshold_shouldUntreeifyBucket() {
+    var hashMap = new SeparateChainingHashMap<CollidingKey, Integer>(64);
+    for (int i = 0; i < 20; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    for (int i = 0; i < 15; i++) {
+      assertEquals(i, hashMap.remove(new CollidingKey(i)));
+    }
+    assertFalse(hashMap.isTreeified(new CollidingKey(15)));
+    for (int i = 15; i < 20; i++) {
+      assertEquals(i, hashMap.get(new CollidingKey(i)));
+    }
+  }
+
+  @Test
+  void iterator_whenTreeBucketEmptiedThroughIterator_shouldVisitEachKeyOnce() {
+    var hashMap = new SeparateChainingHashMap<CollidingKey, Integer>(64);
+    for (int i = 0; i < 20; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    var visited = 0;
+    var iterator = hashMap.keySet()
+        .iterator();
+    while (iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      visited++;
+    }
+    assertEquals(20, visited);
+    assertTrue(hashMap.isEmpty());
+  }
+
+  @Test
+  void get_whenComparableKeysCollide_shouldFindAllKeys() {
+    var hashMap = new SeparateChainingHashMap<CollidingKey, Integer>(64);
+    for (int i = 0; i < 1000; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, hashMap.get(new CollidingKey(i)));
+    }
+    assertNull(hashMap.get(new CollidingKey(1000)));
+  }
+
+  @Test
+  void get_whenNotComparableKeysCollide_shouldFindAllKeys() {
+    var hashMap = new SeparateChainingHashMap<NotComparableKey, Integer>(64);
+    for (int i = 0; i < 100; i++) {
+      hashMap.put(new NotComparableKey(i), i);
+    }
+    for (int i = 0; i < 100; i += 2) {
+      assertEquals(i, hashMap.remove(new NotComparableKey(i)));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i % 2 == 0 ? null : i, hashMap.get(new NotComparableKey(i)));
+    }
+    assertEquals(50, hashMap.size());
+  }
+
+  @Test
+  void get_whenEqualKeysOfDifferentClassesCollide_shouldFindKeys() {
+    var hashMap = new SeparateChainingHashMap<Key, Integer>(64);
+    var expected = new HashMap<Key, Integer>();
+    for (int i = 0; i < 12; i++) {
+      hashMap.put(new Key(i), i);
+      expected.put(new Key(i), i);
+    }
+    assertTrue(hashMap.isTreeified(new Key(0)));
+    for (int i = 0; i < 12; i++) {
+      assertTrue(hashMap.containsKey(new SubKey(i)));
+    }
+    assertEquals(3, hashMap.put(new SubKey(3), 30));
+    expected.put(new SubKey(3), 30);
+    assertEquals(expected, hashMap);
+    assertEquals(4, hashMap.remove(new SubKey(4)));
+    assertNull(hashMap.get(new Key(4)));
+    assertNull(hashMap.get(new SubKey(12)));
+  }
+
+  @Test
+  void get_whenTreeBucketMixesKeyClasses_shouldFindKeysOfBothClasses() {
+    var hashMap = new SeparateChainingHashMap<Key, Integer>(64);
+    for (int i = 0; i < 20; i++) {
+      hashMap.put(i % 2 == 0 ? new Key(i) : new SubKey(i), i);
+    }
+    assertTrue(hashMap.isTreeified(new Key(0)));
+    for (int i = 0; i < 20; i++) {
+      assertEquals(i, hashMap.get(new Key(i)));
+      assertEquals(i, hashMap.get(new SubKey(i)));
+    }
+    assertEquals(20, hashMap.size());
+  }
+
+  @Test
+  void compute_whenFunctionModifiesMap_shouldThrowException() {
+    map.put(1, 1);
+    assertThrows(ConcurrentModificationException.class,
+        () -> map.compute(2, (key, value) -> map.put(3, 3)));
+  }
+
+  @Test
+  void compute_whenFunctionReplacesEntry_shouldThrowException() {
+    for (int i = 0; i < 8; i++) {
+      map.put(i, i);
+    }
+    assertThrows(ConcurrentModificationException.class, () -> map.compute(3, (key, value) -> {
+      map.remove(3);
+      map.put(3, 100);
+      return 7;
+    }));
+    assertEquals(100, map.get(3));
+    assertEquals(8, map.size());
+  }
+
+  @Test
+  void merge_whenFunctionReplacesEntry_shouldThrowException() {
+    for (int i = 0; i < 8; i++) {
+      map.put(i, i);
+    }
+    assertThrows(ConcurrentModificationException.class, () -> map.merge(3, 1, (a, b) -> {
+      map.remove(3);
+      map.put(3, 100);
+      return 7;
+    }));
+    assertEquals(100, map.get(3));
+  }
+
+  @Test
+  void compute_whenFunctionRebuildsTreeBucket_shouldThrowException() {
+    var hashMap = new SeparateChainingHashMap<CollidingKey, Integer>(64);
+    for (int i = 0; i < SeparateChainingHashMap.TREEIFY_THRESHOLD + 1; i++) {
+      hashMap.put(new CollidingKey(i), i);
+    }
+    assertThrows(ConcurrentModificationException.class,
+        () -> hashMap.compute(new CollidingKey(0), (key, value) -> {
+          for (int i = 1; i < 5; i++) {
+            hashMap.remove(new CollidingKey(i));
+          }
+          for (int i = 1; i < 5; i++) {
+            hashMap.put(new CollidingKey(i + 100), i);
+          }
+          return 7;
+        }));
+    assertEquals(SeparateChainingHashMap.TREEIFY_THRESHOLD + 1, hashMap.size());
+    assertEquals(0, hashMap.get(new CollidingKey(0)));
+  }
+
+  @Test
+  void compute_whenFunctionMigratesEntry_shouldThrowException() {
+    var hashMap = new SeparateChainingHashMap<Integer, Integer>(64, .75f,
+        ResizeMode.INCREMENTAL);
+    var key = 0;
+    while (!hashMap.isMigrating()) {
+      hashMap.put(key, key);
+      key++;
+    }
+    var last = key - 1;
+    assertThrows(ConcurrentModificationException.class, () -> hashMap.compute(last, (k, v) -> {
+      while (hashMap.isMigrating()) {
+        hashMap.remove(0);
+        hashMap.put(0, 0);
+      }
+      return 7;
+    }));
+    assertEquals(last, hashMap.get(last));
+  }
+
+  private record CollidingKey(int id) implements Comparable<CollidingKey> {
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+
+    @Override
+    public int compareTo(CollidingKey other) {
+      return Integer.compare(id, other.id);
+    }
+  }
+
+  private static class Key implements Comparable<Key> {
+
+    private final int id;
+
+    Key(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key key && key.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(Key other) {
+      return Integer.compare(id, other.id);
+    }
+  }
+
+  private static class SubKey extends Key {
+
+    SubKey(int id) {
+      super(id);
+    }
+  }
+
+  private record NotComparableKey(int id) {
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.pantifik.ds.map.separate_chaining;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TreeBucketTest {
+
+  private TreeBucket<Object, Object> bucket;
+
+  @BeforeEach
+  void startUp() {
+    bucket = new TreeBucket<>();
+  }
+
+  @Test
+  void add_shouldIncreaseSize() {
+    bucket.add(new Node<>(1, 1, 1));
+    bucket.add(new Node<>(2, 2, 1));
+    assertEquals(2, bucket.size());
+  }
+
+  @Test
+  void find_whenKeysHaveDifferentTypesAndSameHash_shouldFindEachKey() {
+    bucket.add(new Node<>(1, "int", 7));
+    bucket.add(new Node<>(1L, "long", 7));
+    bucket.add(new Node<>("1", "string", 7));
+    assertEquals("int", bucket.find(1, 7)
+        .getValue());
+    assertEquals("long", bucket.find(1L, 7)
+        .getValue());
+    assertEquals("string", bucket.find("1", 7)
+        .getValue());
+  }
+
+  @Test
+  void find_whenKeyNotPresent_shouldReturnNull() {
+    bucket.add(new Node<>(1, 1, 7));
+    assertNull(bucket.find(2, 7));
+    assertNull(bucket.find(1, 8));
+  }
+
+  @Test
+  void remove_whenKeyPresent_shouldReturnRemovedNode() {
+    bucket.add(new Node<>(1, "first", 7));
+    bucket.add(new Node<>(2, "second", 7));
+    assertEquals("first", bucket.remove(1, 7)
+        .getValue());
+    assertEquals(1, bucket.size());
+    assertNull(bucket.find(1, 7));
+  }
+
+  @Test
+  void stream_shouldStreamNodesInTreeOrder() {
+    bucket.add(new Node<>(3, 3, 7));
+    bucket.add(new Node<>(1, 1, 7));
+    bucket.add(new Node<>(2, 2, 5));
+    assertEquals(List.of(2, 1, 3), bucket.stream()
+        .map(Node::getKey)
+        .toList());
+  }
+}
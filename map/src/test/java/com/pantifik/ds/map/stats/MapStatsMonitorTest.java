@@ -0,0 +1,90 @@
+package com.pantifik.ds.map.stats;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.separate_chaining.SeparateChainingHashMap;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.Attribute;
+import javax.management.AttributeNotFoundException;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import org.junit.jupiter.api.Test;
+
+class MapStatsMonitorTest {
+
+  @Test
+  void register_shouldExposeStatsAsAttributes() throws JMException {
+    var map = new SeparateChainingHashMap<Integer, Integer>();
+    var objectName = MapStatsMonitor.register("register", map);
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      server.setAttribute(objectName, new Attribute("StatsEnabled", true));
+      assertTrue(map.isStatsEnabled());
+      map.put(1, 1);
+      map.get(1);
+      assertEquals(1, server.getAttribute(objectName, "Size"));
+      assertEquals(map.getStats()
+          .capacity(), server.getAttribute(objectName, "Capacity"));
+      assertArrayEquals(map.getStats()
+          .hitProbeHistogram(), (long[]) server.getAttribute(objectName, "HitProbeHistogram"));
+      assertEquals(1.0, server.getAttribute(objectName, "MeanHitProbeLength"));
+      assertArrayEquals(map.getStats()
+              .chainLengthHistogram(),
+          (long[]) server.invoke(objectName, "measureChainLengthHistogram", null, null));
+      assertThrows(AttributeNotFoundException.class,
+          () -> server.getAttribute(objectName, "ChainLengthHistogram"));
+    } finally {
+      MapStatsMonitor.unregister(objectName);
+    }
+    assertFalse(ManagementFactory.getPlatformMBeanServer()
+        .isRegistered(objectName));
+  }
+
+  @Test
+  void register_whenNameTaken_shouldThrowException() throws JMException {
+    var objectName = MapStatsMonitor.register("taken", new SeparateChainingHashMap<>());
+    try {
+      assertThrows(InstanceAlreadyExistsException.class,
+          () -> MapStatsMonitor.register("taken", new SeparateChainingHashMap<>()));
+    } finally {
+      MapStatsMonitor.unregister(objectName);
+    }
+  }
+
+  @Test
+  void getRecordedStats_shouldMatchFullSnapshotExceptChainLengths() {
+    var map = new SeparateChainingHashMap<Integer, Integer>();
+    map.setStatsEnabled(true);
+    for (int i = 0; i < 100; i++) {
+      map.put(i, i);
+      map.get(i);
+      map.get(-i - 1);
+    }
+    var recorded = map.getRecordedStats();
+    var full = map.getStats();
+    assertEquals(full.size(), recorded.size());
+    assertEquals(full.capacity(), recorded.capacity());
+    assertEquals(full.resizeCount(), recorded.resizeCount());
+    assertArrayEquals(full.hitProbeHistogram(), recorded.hitProbeHistogram());
+    assertArrayEquals(full.missProbeHistogram(), recorded.missProbeHistogram());
+    assertEquals(0, Arrays.stream(recorded.chainLengthHistogram())
+        .sum());
+  }
+
+  @Test
+  void createObjectName_shouldQuoteName() throws JMException {
+    assertEquals("com.pantifik.ds.map:type=MapStats,name=\"a,b\"",
+        MapStatsMonitor.createObjectName("a,b")
+            .toString());
+  }
+
+  @Test
+  void mean_shouldCountLastIndexAsItsLength() {
+    assertEquals(0, MapStats.mean(new long[4]));
+    assertEquals(2.0, MapStats.mean(new long[]{0, 2, 0, 2}));
+  }
+}
@@ -0,0 +1,92 @@
+package com.pantifik.ds.map.swiss_table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.AbstractMapTest;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SwissTableHashMapTest extends AbstractMapTest {
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new SwissTableHashMap<>();
+  }
+
+  @Test
+  void defaultConstructor_shouldCreateEmptyMap() {
+    assertTrue(map.isEmpty());
+  }
+
+  @ParameterizedTest
+  @CsvSource({"-1, 0.5f", "10, 0.05f", "10, 0.9f", "10, 1f"})
+  void constructorCapacityLoadFactor_whenInvalidParams_shouldThrowException(
+      int capacity, float loadFactor) {
+    assertThrows(IllegalArgumentException.class,
+        () -> new SwissTableHashMap<>(capacity, loadFactor));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0, 8", "5, 8", "9, 16", "100, 128"})
+  void constructorWithCapacity_shouldRoundCapacityUpToPowerOfTwoGroups(int capacity,
+      int expected) {
+    assertEquals(expected, new SwissTableHashMap<>(capacity).getCapacity());
+  }
+
+  @Test
+  void put_whenCapacityExceeded_shouldResizeTable() {
+    var hashMap = new SwissTableHashMap<Integer, Integer>(0);
+    for (int i = 0; i < 1000; i++) {
+      hashMap.put(i, i);
+    }
+    assertEquals(1000, hashMap.size());
+    assertTrue(hashMap.getCapacity() * .875f >= 1000);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, hashMap.get(i));
+    }
+  }
+
+  @Test
+  void put_whenManyPutRemoveCycles_shouldKeepEntriesReachable() {
+    for (int cycle = 0; cycle < 50; cycle++) {
+      for (int i = 0; i < 100; i++) {
+        map.put(cycle * 100 + i, i);
+      }
+      for (int i = 0; i < 100; i += 2) {
+        assertEquals(i, map.remove(cycle * 100 + i));
+      }
+    }
+    assertEquals(50 * 50, map.size());
+    for (int cycle = 0; cycle < 50; cycle++) {
+      for (int i = 0; i < 100; i++) {
+        if (i % 2 == 0) {
+          assertNull(map.get(cycle * 100 + i));
+        } else {
+          assertEquals(i, map.get(cycle * 100 + i));
+        }
+      }
+    }
+  }
+
+  @Test
+  void matchFingerprint_shouldSetHighBitOfMatchingBytes() {
+    long word = 0x8005FE0580800580L;
+    assertEquals(0x0080008000008000L, SwissTableHashMap.matchFingerprint(word, 5));
+  }
+
+  @Test
+  void matchEmpty_shouldSetHighBitOfEmptyBytes() {
+    long word = 0x8005FE0580800580L;
+    assertEquals(0x8000000080800080L, SwissTableHashMap.matchEmpty(word));
+  }
+
+  @Test
+  void matchEmptyOrDeleted_shouldSetHighBitOfEmptyAndDeletedBytes() {
+    long word = 0x8005FE0580800580L;
+    assertEquals(0x8000800080800080L, SwissTableHashMap.matchEmptyOrDeleted(word));
+  }
+}
@@ -0,0 +1,61 @@
+package com.pantifik.ds.map.tiny_lfu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class FrequencySketchTest {
+
+  @ParameterizedTest
+  @CsvSource({"0, 160", "16, 160", "17, 320", "1000, 10240"})
+  void constructor_shouldRoundTableLengthUpToPowerOfTwo(long expectedSize, int sampleSize) {
+    assertEquals(sampleSize, new FrequencySketch(expectedSize).getSampleSize());
+  }
+
+  @Test
+  void frequency_whenNeverIncremented_shouldReturnZero() {
+    assertEquals(0, new FrequencySketch(64).frequency("key"));
+  }
+
+  @Test
+  void increment_shouldCountOccurrences() {
+    var sketch = new FrequencySketch(64);
+    for (int i = 0; i < 5; i++) {
+      sketch.increment("key");
+    }
+    assertEquals(5, sketch.frequency("key"));
+  }
+
+  @Test
+  void increment_whenSaturated_shouldStopAtMaxFrequency() {
+    var sketch = new FrequencySketch(64);
+    for (int i = 0; i < 100; i++) {
+      sketch.increment(1);
+    }
+    assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(1));
+  }
+
+  @Test
+  void increment_whenSampleFull_shouldAgeCounters() {
+    var sketch = new FrequencySketch(16);
+    for (int i = 0; i < FrequencySketch.MAX_FREQUENCY; i++) {
+      sketch.increment(-1);
+    }
+    for (int i = 0; i < 10 * sketch.getSampleSize(); i++) {
+      sketch.increment(i);
+    }
+    assertTrue(sketch.frequency(-1) < FrequencySketch.MAX_FREQUENCY);
+  }
+
+  @Test
+  void reset_shouldHalveCounters() {
+    var sketch = new FrequencySketch(64);
+    for (int i = 0; i < 9; i++) {
+      sketch.increment("key");
+    }
+    sketch.reset();
+    assertEquals(4, sketch.frequency("key"));
+  }
+}
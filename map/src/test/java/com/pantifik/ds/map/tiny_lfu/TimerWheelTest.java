@@ -0,0 +1,107 @@
+package com.pantifik.ds.map.tiny_lfu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TimerWheelTest {
+
+  private static final long TICK = 1L << TimerWheel.TICK_SHIFT;
+  private final List<TestTimer> expired = new ArrayList<>();
+
+  @Test
+  void advance_shouldExpireOnlyDueTimers() {
+    var wheel = new TimerWheel<TestTimer>(0);
+    var first = schedule(wheel, TICK / 2);
+    var second = schedule(wheel, 3 * TICK);
+    wheel.advance(TICK, expired::add);
+    assertEquals(List.of(first), expired);
+    wheel.advance(3 * TICK, expired::add);
+    assertEquals(List.of(first, second), expired);
+  }
+
+  @Test
+  void advance_whenTimerIsRoundsAhead_shouldKeepItUntilItsRound() {
+    var wheel = new TimerWheel<TestTimer>(0);
+    var timer = schedule(wheel, (TimerWheel.BUCKETS * 2 + 5) * TICK);
+    for (long tick = 1; tick < TimerWheel.BUCKETS * 2 + 5; tick++) {
+      wheel.advance(tick * TICK, expired::add);
+    }
+    assertTrue(expired.isEmpty());
+    wheel.advance((TimerWheel.BUCKETS * 2 + 5) * TICK, expired::add);
+    assertEquals(List.of(timer), expired);
+  }
+
+  @Test
+  void advance_whenTickHasNotPassed_shouldNotWalkTimers() {
+    var wheel = new TimerWheel<TestTimer>(0);
+    var timer = schedule(wheel, TICK / 4);
+    wheel.advance(TICK / 2, expired::add);
+    wheel.advance(TICK - 1, expired::add);
+    assertTrue(expired.isEmpty());
+    wheel.advance(TICK, expired::add);
+    assertEquals(List.of(timer), expired);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void advance_whenTimersSpanAllLevels_shouldExpireThemOnceTheirTickPassed(long seed) {
+    var random = new Random(seed);
+    var wheel = new TimerWheel<TestTimer>(0);
+    var timers = new ArrayList<TestTimer>();
+    for (int i = 0; i < 2000; i++) {
+      var shift = TimerWheel.TICK_SHIFT + random.nextInt(28);
+      timers.add(schedule(wheel, random.nextLong(1L << shift)));
+    }
+    long now = 0;
+    while (expired.size() < timers.size()) {
+      now += random.nextLong(1L << (TimerWheel.TICK_SHIFT + random.nextInt(26)));
+      wheel.advance(now, expired::add);
+      for (var timer : timers) {
+        var isExpired = expired.contains(timer);
+        assertTrue(!isExpired || timer.expirationTime <= now);
+        assertTrue(isExpired || timer.expirationTime >> TimerWheel.TICK_SHIFT
+            >= now >> TimerWheel.TICK_SHIFT);
+      }
+    }
+    assertEquals(timers.size(), new HashSet<>(expired).size());
+  }
+
+  @Test
+  void deschedule_shouldNotExpireTimer() {
+    var wheel = new TimerWheel<TestTimer>(0);
+    var timer = schedule(wheel, TICK);
+    wheel.deschedule(timer);
+    wheel.deschedule(timer);
+    wheel.advance(10 * TICK, expired::add);
+    assertTrue(expired.isEmpty());
+  }
+
+  @Test
+  void schedule_whenRescheduled_shouldMoveTimer() {
+    var wheel = new TimerWheel<TestTimer>(0);
+    var timer = schedule(wheel, TICK);
+    timer.expirationTime = 5 * TICK;
+    wheel.schedule(timer);
+    wheel.advance(2 * TICK, expired::add);
+    assertTrue(expired.isEmpty());
+    wheel.advance(5 * TICK, expired::add);
+    assertEquals(List.of(timer), expired);
+  }
+
+  private static TestTimer schedule(TimerWheel<TestTimer> wheel, long expirationTime) {
+    var timer = new TestTimer();
+    timer.expirationTime = expirationTime;
+    wheel.schedule(timer);
+    return timer;
+  }
+
+  private static final class TestTimer extends TimerWheel.Timer {
+  }
+}
@@ -0,0 +1,169 @@
+package com.pantifik.ds.map.tiny_lfu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.AbstractMapTest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TinyLfuCacheTest extends AbstractMapTest {
+
+  private final AtomicLong time = new AtomicLong();
+  private final List<String> evicted = new ArrayList<>();
+
+  @Override
+  protected Map<Object, Object> createMapInstance() {
+    return new TinyLfuCache<>(1000);
+  }
+
+  @Override
+  protected boolean isNullValueSupported() {
+    return false;
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {-1, 0})
+  void constructor_whenInvalidMaximumWeight_shouldThrowException(long maximumWeight) {
+    assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<>(maximumWeight));
+  }
+
+  @Test
+  void constructor_whenExpirationNotPositive_shouldThrowException() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new TinyLfuCache<>(10, (key, value) -> 1, Duration.ZERO, null));
+  }
+
+  @Test
+  void put_whenNullValue_shouldThrowException() {
+    assertThrows(NullPointerException.class, () -> map.put(1, null));
+  }
+
+  @Test
+  void put_whenMaximumExceeded_shouldKeepSizeBounded() {
+    var cache = new TinyLfuCache<Integer, Integer>(100);
+    for (int i = 0; i < 10_000; i++) {
+      cache.put(i, i);
+    }
+    assertEquals(100, cache.size());
+    assertEquals(100, cache.getWeightedSize());
+    assertEquals(9900, cache.stats().evictionCount());
+  }
+
+  @Test
+  void get_whenScansInterleaved_shouldKeepFrequentlyUsedKeys() {
+    var cache = new TinyLfuCache<Integer, Integer>(100);
+    for (int round = 0; round < 1000; round++) {
+      for (int i = 0; i < 20; i++) {
+        if (cache.get(i) == null) {
+          cache.put(i, i);
+        }
+      }
+      for (int i = 0; i < 100; i++) {
+        cache.put(1000 + round * 100 + i, i);
+      }
+    }
+    assertTrue(cache.stats().hitRate() > .9);
+  }
+
+  @Test
+  void put_whenWeigherGiven_shouldBoundTotalWeight() {
+    var cache = new TinyLfuCache<Integer, String>(10, (key, value) -> value.length());
+    cache.put(1, "aaaa");
+    cache.put(2, "bbbb");
+    cache.put(3, "cccc");
+    assertTrue(cache.getWeightedSize() <= 10);
+    assertEquals(2, cache.size());
+    cache.put(4, "dddddddddddd");
+    assertFalse(cache.containsKey(4));
+    assertTrue(cache.getWeightedSize() <= 10);
+  }
+
+  @Test
+  void put_whenWeigherReturnsNegative_shouldThrowException() {
+    var cache = new TinyLfuCache<Integer, Integer>(10, (key, value) -> -1);
+    assertThrows(IllegalArgumentException.class, () -> cache.put(1, 1));
+  }
+
+  @Test
+  void get_whenExpiredAfterWrite_shouldRemoveEntryAndNotifyListener() {
+    var cache = createExpiringCache(Duration.ofSeconds(10), null);
+    cache.put(1, "a");
+    time.addAndGet(Duration.ofSeconds(5).toNanos());
+    assertEquals("a", cache.get(1));
+    time.addAndGet(Duration.ofSeconds(6).toNanos());
+    assertFalse(cache.containsKey(1));
+    assertNull(cache.get(1));
+    assertTrue(cache.isEmpty());
+    assertEquals(List.of("1a"), evicted);
+  }
+
+  @Test
+  void get_whenExpiredWithinCurrentTick_shouldRemoveEntry() {
+    var cache = createExpiringCache(Duration.ofMillis(100), null);
+    cache.put(1, "a");
+    time.addAndGet(Duration.ofMillis(150)
+        .toNanos());
+    assertNull(cache.get(1));
+    assertEquals(List.of("1a"), evicted);
+    assertNull(cache.put(1, "b"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void get_whenAccessedBeforeExpiration_shouldExtendExpireAfterAccess() {
+    var cache = createExpiringCache(null, Duration.ofSeconds(10));
+    cache.put(1, "a");
+    cache.put(2, "b");
+    for (int i = 0; i < 10; i++) {
+      time.addAndGet(Duration.ofSeconds(5).toNanos());
+      assertEquals("a", cache.get(1));
+    }
+    assertEquals(List.of("2b"), evicted);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void cleanUp_whenExpiredOverManyRounds_shouldRemoveAllEntries() {
+    var cache = createExpiringCache(Duration.ofMinutes(5), null);
+    for (int i = 0; i < 100; i++) {
+      cache.put(i, "v");
+      time.addAndGet(Duration.ofSeconds(3).toNanos());
+    }
+    time.addAndGet(Duration.ofMinutes(3).toNanos());
+    cache.cleanUp();
+    assertEquals(39, cache.size());
+    time.addAndGet(Duration.ofHours(1).toNanos());
+    cache.cleanUp();
+    assertTrue(cache.isEmpty());
+    assertEquals(0, cache.getWeightedSize());
+  }
+
+  @Test
+  void stats_shouldCountHitsAndMisses() {
+    var cache = new TinyLfuCache<Integer, Integer>(10);
+    cache.put(1, 1);
+    cache.get(1);
+    cache.get(1);
+    cache.get(2);
+    var stats = cache.stats();
+    assertEquals(2, stats.hitCount());
+    assertEquals(1, stats.missCount());
+    assertEquals(3, stats.requestCount());
+    assertEquals(2.0 / 3, stats.hitRate());
+  }
+
+  private TinyLfuCache<Integer, String> createExpiringCache(Duration expireAfterWrite,
+      Duration expireAfterAccess) {
+    return new TinyLfuCache<>(100, (key, value) -> 1, expireAfterWrite, expireAfterAccess,
+        time::get, (key, value) -> evicted.add(key + value));
+  }
+}
@@ -1,5 +1,10 @@
 package com.pantifik.ds.set.hashset;
 
+import com.pantifik.ds.map.hash.HashStrategy;
+import com.pantifik.ds.map.hash.IdentityHashStrategy;
+import com.pantifik.ds.map.stats.Instrumented;
+import com.pantifik.ds.map.stats.MapStats;
+import com.pantifik.ds.map.stats.StatsRecorder;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
@@ -16,16 +21,18 @@ import java.util.StringJoiner;
  * @param <E>
  *     the type of the elements in the set.
  */
-public class HashSet<E> implements Set<E> {
+public class HashSet<E> implements Set<E>, Instrumented {
 
   public static final int RESIZE_FACTOR = 2;
   private static final int DEFAULT_CAPACITY = 13;
   private static final float DEFAULT_LOAD_FACTOR = .75f;
   private final float loadFactor;
+  private final HashStrategy hashStrategy;
   private LinkedList<E>[] table;
   private int capacity;
   private int threshold;
   private int size;
+  private volatile StatsRecorder stats;
 
   /**
    * Creates a hash set instance with default capacity and load factor.
@@ -56,10 +63,29 @@ public class HashSet<E> implements Set<E> {
    * @throws IllegalArgumentException
    *     if capacity is less than 0 or load factor is not in range [0.1, 1].
    */
-  @SuppressWarnings("unchecked")
   public HashSet(int capacity, float loadFactor) {
+    this(capacity, loadFactor, new IdentityHashStrategy());
+  }
+
+  /**
+   * Created a hash table instance with given capacity, load factor and hash strategy.
+   *
+   * @param capacity
+   *     - the initial capacity.
+   * @param loadFactor
+   *     - the load factor.
+   * @param hashStrategy
+   *     - the strategy calculating the hashes of the elements.
+   * @throws IllegalArgumentException
+   *     if capacity is less than 0 or load factor is not in range [0.1, 1].
+   * @throws NullPointerException
+   *     if the hash strategy is null.
+   */
+  @SuppressWarnings("unchecked")
+  public HashSet(int capacity, float loadFactor, HashStrategy hashStrategy) {
     validateCapacity(capacity);
     validateLoadFactor(loadFactor);
+    this.hashStrategy = Objects.requireNonNull(hashStrategy);
     this.loadFactor = loadFactor;
     this.capacity = capacity;
     this.threshold = calculateThreshold(capacity, loadFactor);
@@ -96,6 +122,10 @@ public class HashSet<E> implements Set<E> {
   public boolean contains(Object o) {
     int index = calculateIndex(o);
     LinkedList<E> list = table[index];
+    StatsRecorder recorder = stats;
+    if (recorder != null) {
+      recordLookup(recorder, list, o);
+    }
     if (list == null) {
       return false;
     }
@@ -209,6 +239,38 @@ public class HashSet<E> implements Set<E> {
     table = new LinkedList[capacity];
   }
 
+  @Override
+  public void setStatsEnabled(boolean enabled) {
+    stats = enabled ? new StatsRecorder() : null;
+  }
+
+  @Override
+  public boolean isStatsEnabled() {
+    return stats != null;
+  }
+
+  /**
+   * Takes a snapshot of the statistics, whose probe lengths count the elements of a bucket
+   * compared by a lookup.
+   *
+   * @return the statistics.
+   */
+  @Override
+  public MapStats getStats() {
+    StatsRecorder recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    long[] histogram = StatsRecorder.newHistogram();
+    for (LinkedList<E> list : table) {
+      StatsRecorder.addToHistogram(histogram, list == null ? 0 : list.size());
+    }
+    return recorder.snapshot(size, capacity, 0, histogram);
+  }
+
+  @Override
+  public MapStats getRecordedStats() {
+    StatsRecorder recorder = Objects.requireNonNullElseGet(stats, StatsRecorder::new);
+    return recorder.snapshot(size, capacity, 0, StatsRecorder.newHistogram());
+  }
+
   @Override
   public String toString() {
     StringJoiner joiner = new StringJoiner(",", "[", "]");
@@ -270,11 +332,25 @@ public class HashSet<E> implements Set<E> {
     }
     listAtIndex.add(e);
     if (++size > threshold) {
+      StatsRecorder recorder = stats;
+      long start = recorder != null ? System.nanoTime() : 0;
       resizeTable();
+      if (recorder != null) {
+        recorder.recordResize(System.nanoTime() - start);
+      }
     }
     return true;
   }
 
+  private void recordLookup(StatsRecorder recorder, LinkedList<E> list, Object o) {
+    int position = list == null ? -1 : list.indexOf(o);
+    if (position >= 0) {
+      recorder.recordHit(position + 1);
+    } else {
+      recorder.recordMiss(list == null ? 0 : list.size());
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private void resizeTable() {
     capacity *= RESIZE_FACTOR;
@@ -297,7 +373,7 @@ public class HashSet<E> implements Set<E> {
   }
 
   private int generateHash(Object object) {
-    return Objects.hashCode(object);
+    return hashStrategy.hash(object);
   }
 
   private void validateLoadFactor(float loadFactor) {
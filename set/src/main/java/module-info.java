@@ -1,3 +1,4 @@
 module ds.set {
+  requires ds.map;
   exports com.pantifik.ds.set.hashset;
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.pantifik.ds.set.hashset;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.pantifik.ds.map.hash.Murmur3HashStrategy;
+import com.pantifik.ds.map.hash.SeededHashStrategy;
 import com.pantifik.ds.set.SetTest;
 import java.util.Arrays;
 import java.util.Collection;
@@ -49,6 +52,64 @@ class HashSetTest extends SetTest {
     assertTrue(set.isEmpty());
   }
 
+  @Test
+  void constructor_whenNullHashStrategy_shouldThrowException() {
+    assertThrows(NullPointerException.class, () -> new HashSet<>(5, 0.5f, null));
+  }
+
+  @Test
+  void add_whenSpreadingHashStrategies_shouldKeepAllElements() {
+    for (var strategy : List.of(new Murmur3HashStrategy(), new SeededHashStrategy())) {
+      var hashSet = new HashSet<Integer>(16, 0.75f, strategy);
+      for (int i = 0; i < 1000; i++) {
+        assertTrue(hashSet.add(i << 16));
+      }
+      assertEquals(1000, hashSet.size());
+      for (int i = 0; i < 1000; i++) {
+        assertTrue(hashSet.contains(i << 16));
+      }
+    }
+  }
+
+  @Test
+  void getStats_whenEnabled_shouldRecordProbesAndMeasureBuckets() {
+    var hashSet = new HashSet<Integer>(4, 0.75f);
+    hashSet.setStatsEnabled(true);
+    for (int i = 0; i < 100; i++) {
+      hashSet.add(i);
+    }
+    for (int i = 0; i < 150; i++) {
+      hashSet.contains(i);
+    }
+    var stats = hashSet.getStats();
+    assertEquals(100, stats.size());
+    assertEquals(100, Arrays.stream(stats.hitProbeHistogram())
+        .sum());
+    assertEquals(50, Arrays.stream(stats.missProbeHistogram())
+        .sum());
+    assertTrue(stats.resizeCount() > 0);
+    assertEquals(stats.capacity(), Arrays.stream(stats.chainLengthHistogram())
+        .sum());
+  }
+
+  @Test
+  void getRecordedStats_shouldMatchFullSnapshotExceptChainLengths() {
+    var hashSet = new HashSet<Integer>();
+    hashSet.setStatsEnabled(true);
+    for (int i = 0; i < 100; i++) {
+      hashSet.add(i);
+      hashSet.contains(i);
+    }
+    var full = hashSet.getStats();
+    var recorded = hashSet.getRecordedStats();
+    assertEquals(full.size(), recorded.size());
+    assertEquals(full.capacity(), recorded.capacity());
+    assertEquals(full.resizeCount(), recorded.resizeCount());
+    assertArrayEquals(full.hitProbeHistogram(), recorded.hitProbeHistogram());
+    assertEquals(0, Arrays.stream(recorded.chainLengthHistogram())
+        .sum());
+  }
+
   @Test
   void constructor_whenNullCollection_shouldThrowException() {
     assertThrows(NullPointerException.class, () -> new HashSet<>(null));
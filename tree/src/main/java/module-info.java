@@ -1,4 +1,6 @@
 module ds.tree {
+  exports com.pantifik.ds.tree.binary_search;
+  exports com.pantifik.ds.tree.binary_search.avl;
   exports com.pantifik.ds.tree.general;
   exports com.pantifik.ds.tree.general.impl;
   exports com.pantifik.ds.tree.heap;